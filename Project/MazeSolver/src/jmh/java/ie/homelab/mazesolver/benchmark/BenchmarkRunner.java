@@ -0,0 +1,60 @@
+package ie.homelab.mazesolver.benchmark;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark launcher.
+ *
+ * <p>Accepts the usual JMH command line options and always attaches the GC
+ * profiler, so every result includes {@code gc.alloc.rate} and
+ * {@code gc.alloc.rate.norm} (bytes allocated per operation).</p>
+ *
+ * @author derek
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Utility class constructor.
+     */
+    private BenchmarkRunner() {
+        // Static methods only.
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args JMH command line options, e.g. a benchmark name pattern.
+     * @throws CommandLineOptionException if the options cannot be parsed.
+     * @throws RunnerException if a benchmark fails.
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
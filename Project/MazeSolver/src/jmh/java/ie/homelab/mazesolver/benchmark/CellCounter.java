@@ -0,0 +1,40 @@
+package ie.homelab.mazesolver.benchmark;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per thread count of cells a benchmark generated or resolved, reported as a rate.
+ *
+ * <p>Shared by the generator and resolver benchmarks, each adding the cells
+ * of the maze it worked on per invocation.</p>
+ *
+ * @author derek
+ */
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+@State(Scope.Thread)
+public class CellCounter {
+
+    /**
+     * Cells generated or resolved.
+     */
+    public long cells;
+}
@@ -0,0 +1,79 @@
+package ie.homelab.mazesolver.benchmark;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.MazeGenerator;
+import ie.homelab.mazesolver.model.Maze;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Maze generation throughput, comparing generator modes.
+ *
+ * <p>The {@code cells} secondary result is generated cells per second.</p>
+ *
+ * <p>Each operation builds a new maze and generator, and every mode apart
+ * from STACK allocates its working arrays once per maze, so
+ * {@code gc.alloc.rate.norm} less the packed grid (a quarter byte per cell)
+ * is the peak working memory of the algorithm. STACK also allocates a Point
+ * per step, so its figure overstates its peak.</p>
+ *
+ * @author derek
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    /**
+     * Maze size.
+     */
+    @Param({"20", "100", "1000", "3000"})
+    private int mazeSize;
+
+    /**
+     * Generator mode.
+     */
+    @Param({"PRIMITIVE", "STACK", "TILED", "KRUSKAL", "PRIM", "ELLER", "WILSON", "BINARY_TREE"})
+    private MazeGenerator.Mode mode;
+
+    /**
+     * Generate a maze.
+     *
+     * @param counters Cell counter.
+     * @return Generated maze.
+     */
+    @Benchmark
+    public Maze generateMaze(final CellCounter counters) {
+        final Maze output = new Maze(mazeSize);
+        new MazeGenerator(output, mode);
+        counters.cells += (long) mazeSize * mazeSize;
+        return output;
+    }
+}
@@ -0,0 +1,131 @@
+package ie.homelab.mazesolver.benchmark;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.MazeGenerator;
+import ie.homelab.mazesolver.MazeResolver;
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parallel resolver scaling with worker count.
+ *
+ * <p>Resolves a generated maze and a grid with no inner walls. A perfect
+ * maze keeps BFS frontiers narrow, so most levels stay on the calling
+ * thread; the open grid has wide frontiers and shows the best case for
+ * parallel and bottom-up levels. Compare against parallelism 1 and against
+ * {@link ResolverBenchmark} BFS for the sequential baseline.</p>
+ *
+ * @author derek
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelResolverBenchmark {
+
+    /**
+     * Fixed maze seed so every run measures the same maze.
+     */
+    private static final long SEED = 2026L;
+
+    /**
+     * Maze size.
+     */
+    @Param({"1000", "3000"})
+    private int mazeSize;
+
+    /**
+     * Worker threads.
+     */
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    /**
+     * Grid layout.
+     */
+    @Param({"MAZE", "OPEN"})
+    private String layout;
+
+    /**
+     * Worker pool.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Resolver under test.
+     */
+    private MazeResolver resolver;
+
+    /**
+     * Build the grid to resolve.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Maze maze = new Maze(mazeSize, SEED);
+        if ("OPEN".equals(layout)) {
+            final MazeGrid grid = maze.getMazeGrid();
+            for (int i = 0; i < mazeSize * mazeSize; i++) {
+                if (grid.get(i) == Maze.WALL) {
+                    grid.set(i, Maze.PATH);
+                }
+            }
+        } else {
+            new MazeGenerator(maze);
+        }
+        pool = new ForkJoinPool(parallelism);
+        resolver = new MazeResolver(maze, pool);
+    }
+
+    /**
+     * Shut the worker pool down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Resolve the grid.
+     *
+     * @param counters Cell counter.
+     * @return Cells visited.
+     */
+    @Benchmark
+    public int resolveMaze(final CellCounter counters) {
+        resolver.resolveMaze();
+        counters.cells += (long) mazeSize * mazeSize;
+        return resolver.getVisitedCount();
+    }
+}
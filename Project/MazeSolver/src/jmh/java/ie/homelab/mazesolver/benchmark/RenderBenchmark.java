@@ -0,0 +1,82 @@
+package ie.homelab.mazesolver.benchmark;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.MazeGenerator;
+import ie.homelab.mazesolver.model.Maze;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Maze text rendering cost.
+ *
+ * @author derek
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+
+    /**
+     * Fixed maze seed so every run measures the same maze.
+     */
+    private static final long SEED = 2026L;
+
+    /**
+     * Maze size.
+     */
+    @Param({"20", "100", "1000", "3000"})
+    private int mazeSize;
+
+    /**
+     * Maze under test.
+     */
+    private Maze maze;
+
+    /**
+     * Generate the maze to render.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = new Maze(mazeSize, SEED);
+        new MazeGenerator(maze);
+    }
+
+    /**
+     * Render the maze with toString().
+     *
+     * @return Rendered maze.
+     */
+    @Benchmark
+    public String toStringMaze() {
+        return maze.toString();
+    }
+}
@@ -0,0 +1,228 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.Arrays;
+
+/**
+ * A* search from a point to the exit with a Manhattan distance heuristic.
+ *
+ * <p>The open set is a binary min-heap of primitive {@code long} keys, the
+ * estimated total in the high 32 bits and the cell index in the low 32 bits.
+ * Stale heap entries are skipped when popped rather than updated in place.
+ * Only the cells reached are cleared after a solve, and the heap is reused,
+ * so repeated queries create no garbage once the heap has grown.</p>
+ *
+ * @author derek
+ */
+public class AStarSolver implements PathSolver {
+
+    /**
+     * Initial heap capacity.
+     */
+    private static final int INITIAL_HEAP = 1024;
+    /**
+     * Bits holding the cell index in a heap key.
+     */
+    private static final int INDEX_BITS = 32;
+    /**
+     * Mask selecting the cell index from a heap key.
+     */
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Maze data object.
+     */
+    private final Maze maze;
+    /**
+     * Cost from start per cell, -1 when unreached.
+     */
+    private final int[] cost;
+    /**
+     * Cells reached by the current solve.
+     */
+    private final int[] touched;
+    /**
+     * Number of cells reached by the current solve.
+     */
+    private int touchedCount;
+    /**
+     * Binary heap of keys.
+     */
+    private long[] heap = new long[INITIAL_HEAP];
+    /**
+     * Number of keys in the heap.
+     */
+    private int heapSize;
+    /**
+     * Number of cells visited by the last solve.
+     */
+    private int visited;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param input Maze to search.
+     */
+    public AStarSolver(final Maze input) {
+        this.maze = input;
+        final int cells = input.getMazeSize() * input.getMazeSize();
+        this.cost = new int[cells];
+        this.touched = new int[cells];
+        Arrays.fill(cost, -1);
+    }
+
+    @Override
+    public int solve(final Point start) {
+        final MazeGrid grid = maze.getMazeGrid();
+        final int size = maze.getMazeSize();
+        final int exitX = maze.getExit().x();
+        final int exitY = maze.getExit().y();
+        final int startIndex = grid.index(start.x(), start.y());
+        final int exitIndex = grid.index(exitX, exitY);
+
+        int output = -1;
+        heapSize = 0;
+        touchedCount = 0;
+        if (grid.isOpen(startIndex)) {
+            reach(startIndex, 0, Math.abs(start.x() - exitX) + Math.abs(start.y() - exitY));
+        }
+
+        long key;
+        int current;
+        int next;
+        int x;
+        int y;
+        while (heapSize > 0 && output < 0) {
+            key = pop();
+            current = (int) (key & INDEX_MASK);
+            x = current % size;
+            y = current / size;
+            if ((int) (key >>> INDEX_BITS) - Math.abs(x - exitX) - Math.abs(y - exitY) > cost[current]) {
+                continue; // Stale entry, a cheaper route was already found.
+            }
+            if (current == exitIndex) {
+                output = cost[current];
+            } else {
+                next = cost[current] + 1;
+                if (y > 0) {
+                    relax(grid, current - size, next, Math.abs(x - exitX) + Math.abs(y - 1 - exitY));
+                }
+                if (y < size - 1) {
+                    relax(grid, current + size, next, Math.abs(x - exitX) + Math.abs(y + 1 - exitY));
+                }
+                if (x > 0) {
+                    relax(grid, current - 1, next, Math.abs(x - 1 - exitX) + Math.abs(y - exitY));
+                }
+                if (x < size - 1) {
+                    relax(grid, current + 1, next, Math.abs(x + 1 - exitX) + Math.abs(y - exitY));
+                }
+            }
+        }
+
+        visited = touchedCount;
+        for (int i = 0; i < touchedCount; i++) {
+            cost[touched[i]] = -1;
+        }
+        return output;
+    }
+
+    @Override
+    public int getVisitedCount() {
+        return visited;
+    }
+
+    /**
+     * Offer a cheaper cost for an open neighbour.
+     *
+     * @param grid Grid data.
+     * @param index Neighbour cell index.
+     * @param value Cost from start through the current cell.
+     * @param estimate Heuristic distance from the neighbour to the exit.
+     */
+    private void relax(final MazeGrid grid, final int index, final int value, final int estimate) {
+        if ((cost[index] < 0 || value < cost[index]) && grid.isOpen(index)) {
+            reach(index, value, estimate);
+        }
+    }
+
+    /**
+     * Record a cost for a cell and push it onto the heap.
+     *
+     * @param index Cell index.
+     * @param value Cost from start.
+     * @param estimate Heuristic distance to the exit.
+     */
+    private void reach(final int index, final int value, final int estimate) {
+        if (cost[index] < 0) {
+            touched[touchedCount++] = index;
+        }
+        cost[index] = value;
+        push(((long) (value + estimate) << INDEX_BITS) | index);
+    }
+
+    /**
+     * Push a key onto the heap.
+     *
+     * @param key Heap key.
+     */
+    private void push(final long key) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int child = heapSize++;
+        int parent;
+        while (child > 0) {
+            parent = (child - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[child] = heap[parent];
+            child = parent;
+        }
+        heap[child] = key;
+    }
+
+    /**
+     * Remove the smallest key from the heap.
+     *
+     * @return Smallest key.
+     */
+    private long pop() {
+        final long output = heap[0];
+        final long last = heap[--heapSize];
+        int parent = 0;
+        int child = 1;
+        while (child < heapSize) {
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[parent] = heap[child];
+            parent = child;
+            child = 2 * parent + 1;
+        }
+        heap[parent] = last;
+        return output;
+    }
+}
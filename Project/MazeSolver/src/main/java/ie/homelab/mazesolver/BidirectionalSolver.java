@@ -0,0 +1,242 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+
+/**
+ * Bidirectional breadth first search between a point and the exit.
+ *
+ * <p>Searches grow one level at a time from both ends, always expanding the
+ * smaller frontier, and stop once they meet. Both sides share one
+ * {@code int[]} of marks, positive for cells reached from the start and
+ * negative for cells reached from the exit, and one queue array filled from
+ * either end. Only the cells reached are cleared after a solve, so repeated
+ * queries cost the cells they visit rather than the size of the maze.</p>
+ *
+ * @author derek
+ */
+public class BidirectionalSolver implements PathSolver {
+
+    /**
+     * Maze data object.
+     */
+    private final Maze maze;
+    /**
+     * Marks per cell: 0 unvisited, d + 1 from start, -(d + 1) from exit.
+     */
+    private final int[] marks;
+    /**
+     * Start side queue from the front, exit side queue from the back.
+     */
+    private final int[] queue;
+    /**
+     * Start side queue head.
+     */
+    private int headA;
+    /**
+     * Start side queue tail.
+     */
+    private int tailA;
+    /**
+     * Exit side queue head, counting down.
+     */
+    private int headB;
+    /**
+     * Exit side queue tail, counting down.
+     */
+    private int tailB;
+    /**
+     * Best meeting distance found in the current level.
+     */
+    private int best;
+    /**
+     * Number of cells visited by the last solve.
+     */
+    private int visited;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param input Maze to search.
+     */
+    public BidirectionalSolver(final Maze input) {
+        this.maze = input;
+        final int cells = input.getMazeSize() * input.getMazeSize();
+        this.marks = new int[cells];
+        this.queue = new int[cells];
+    }
+
+    @Override
+    public int solve(final Point start) {
+        final MazeGrid grid = maze.getMazeGrid();
+        final int startIndex = grid.index(start.x(), start.y());
+        final int exitIndex = grid.index(maze.getExit().x(), maze.getExit().y());
+
+        int output = -1;
+        if (startIndex == exitIndex) {
+            output = 0;
+            visited = 1;
+        } else if (grid.isOpen(startIndex)) {
+            headA = 0;
+            tailA = 0;
+            headB = queue.length - 1;
+            tailB = queue.length - 1;
+            marks[startIndex] = 1;
+            queue[tailA++] = startIndex;
+            marks[exitIndex] = -1;
+            queue[tailB--] = exitIndex;
+            best = Integer.MAX_VALUE;
+
+            while (best == Integer.MAX_VALUE && headA < tailA && headB > tailB) {
+                if (tailA - headA <= headB - tailB) {
+                    expandStart(grid);
+                } else {
+                    expandExit(grid);
+                }
+            }
+            if (best != Integer.MAX_VALUE) {
+                output = best;
+            }
+            visited = tailA + (queue.length - 1 - tailB);
+            clear();
+        } else {
+            visited = 0;
+        }
+        return output;
+    }
+
+    @Override
+    public int getVisitedCount() {
+        return visited;
+    }
+
+    /**
+     * Expand one whole level of the start side frontier.
+     *
+     * @param grid Grid data.
+     */
+    private void expandStart(final MazeGrid grid) {
+        final int size = maze.getMazeSize();
+        final int levelEnd = tailA;
+        int current;
+        int x;
+        int y;
+        while (headA < levelEnd) {
+            current = queue[headA++];
+            x = current % size;
+            y = current / size;
+            if (y > 0) {
+                visitStart(grid, current, current - size);
+            }
+            if (y < size - 1) {
+                visitStart(grid, current, current + size);
+            }
+            if (x > 0) {
+                visitStart(grid, current, current - 1);
+            }
+            if (x < size - 1) {
+                visitStart(grid, current, current + 1);
+            }
+        }
+    }
+
+    /**
+     * Expand one whole level of the exit side frontier.
+     *
+     * @param grid Grid data.
+     */
+    private void expandExit(final MazeGrid grid) {
+        final int size = maze.getMazeSize();
+        final int levelEnd = tailB;
+        int current;
+        int x;
+        int y;
+        while (headB > levelEnd) {
+            current = queue[headB--];
+            x = current % size;
+            y = current / size;
+            if (y > 0) {
+                visitExit(grid, current, current - size);
+            }
+            if (y < size - 1) {
+                visitExit(grid, current, current + size);
+            }
+            if (x > 0) {
+                visitExit(grid, current, current - 1);
+            }
+            if (x < size - 1) {
+                visitExit(grid, current, current + 1);
+            }
+        }
+    }
+
+    /**
+     * Visit a neighbour from the start side.
+     *
+     * @param grid Grid data.
+     * @param from Cell being expanded.
+     * @param index Neighbour cell index.
+     */
+    private void visitStart(final MazeGrid grid, final int from, final int index) {
+        final int mark = marks[index];
+        if (mark == 0) {
+            if (grid.isOpen(index)) {
+                marks[index] = marks[from] + 1;
+                queue[tailA++] = index;
+            }
+        } else if (mark < 0) {
+            // Met the exit side: (start to from) + 1 + (index to exit).
+            best = Math.min(best, marks[from] - mark - 1);
+        }
+    }
+
+    /**
+     * Visit a neighbour from the exit side.
+     *
+     * @param grid Grid data.
+     * @param from Cell being expanded.
+     * @param index Neighbour cell index.
+     */
+    private void visitExit(final MazeGrid grid, final int from, final int index) {
+        final int mark = marks[index];
+        if (mark == 0) {
+            if (grid.isOpen(index)) {
+                marks[index] = marks[from] - 1;
+                queue[tailB--] = index;
+            }
+        } else if (mark > 0) {
+            // Met the start side: (start to index) + 1 + (from to exit).
+            best = Math.min(best, mark - marks[from] - 1);
+        }
+    }
+
+    /**
+     * Reset the marks of every cell reached by the last solve.
+     */
+    private void clear() {
+        for (int i = 0; i < tailA; i++) {
+            marks[queue[i]] = 0;
+        }
+        for (int i = queue.length - 1; i > tailB; i--) {
+            marks[queue[i]] = 0;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.SplittableRandom;
+
+/**
+ * Binary tree algorithm.
+ *
+ * <p>Every cell except the top left one opens a passage either up or left,
+ * chosen at random, so no state is kept at all. Mazes are strongly biased:
+ * the top row and left column are unbroken corridors and every cell has a
+ * straight-forward route toward the top left corner.</p>
+ *
+ * @author derek
+ */
+final class BinaryTreeGenerator extends LatticeGenerator {
+
+    @Override
+    void carve(final SplittableRandom random) {
+        int cell = 0;
+        for (int y = 0; y < latticeHeight; y++) {
+            for (int x = 0; x < latticeWidth; x++) {
+                if (cell == forcedTo) {
+                    // forcedFrom is the cell above or to the left.
+                    openEdge(cell, forcedFrom);
+                } else if (x > 0 && y > 0) {
+                    openEdge(cell, random.nextBoolean() ? cell - 1 : cell - latticeWidth);
+                } else if (x > 0) {
+                    openEdge(cell, cell - 1);
+                } else if (y > 0) {
+                    openEdge(cell, cell - latticeWidth);
+                }
+                cell++;
+            }
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.Arrays;
+
+/**
+ * Reachability and distances computed 64 cells at a time over bit rows.
+ *
+ * <p>Open cells are held as one bit per cell, each row padded to whole
+ * {@code long} words, cell x of row y being bit {@code x % 64} of word
+ * {@code y * wordsPerRow + x / 64}. Only words with new cells are worked on:</p>
+ * <ul>
+ * <li>{@link #fill(int, int)} floods the component of a cell. Each word
+ * taken from the work list is filled along its row with a Kogge-Stone
+ * occluded fill, six shift-and steps per direction, then the filled bits are
+ * passed to the words beside, above and below.</li>
+ * <li>{@link #resolve(int, int[])} finds breadth first distances a layer at
+ * a time. The frontier is a sparse set of words, and each layer is the
+ * frontier shifted one cell each way, masked by open and unvisited cells.</li>
+ * </ul>
+ *
+ * <p>Open grids and wide corridors fill in far fewer steps than a cell by
+ * cell search. A perfect maze, one cell wide, still gains from the bit row
+ * masks. The open cells are read when constructed, later changes to the
+ * grid are not seen.</p>
+ *
+ * @author derek
+ */
+public final class BitFloodFill {
+
+    /**
+     * Initial work list capacity.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+    /**
+     * Highest bit of a word.
+     */
+    private static final int TOP_BIT = Long.SIZE - 1;
+
+    /**
+     * Grid size.
+     */
+    private final int size;
+    /**
+     * Words per row.
+     */
+    private final int wordsPerRow;
+    /**
+     * Open cells.
+     */
+    private final long[] open;
+    /**
+     * Cells reached by the last fill or resolve.
+     */
+    private final long[] seen;
+    /**
+     * Frontier bits by word, zero outside the frontier.
+     */
+    private long[] frontier;
+    /**
+     * Next frontier bits by word.
+     */
+    private long[] next;
+    /**
+     * Words in the work list or frontier.
+     */
+    private int[] active = new int[INITIAL_CAPACITY];
+    /**
+     * Words in the next frontier.
+     */
+    private int[] nextActive = new int[INITIAL_CAPACITY];
+    /**
+     * Words in the work list, one bit per word.
+     */
+    private final long[] listed;
+    /**
+     * Number of layers of the last resolve.
+     */
+    private int layers;
+    /**
+     * Most cells in one layer of the last resolve.
+     */
+    private int layerPeak;
+
+    /**
+     * Parameterised constructor, reading the open cells of a grid.
+     *
+     * @param grid Grid data.
+     */
+    public BitFloodFill(final MazeGrid grid) {
+        this.size = grid.getSize();
+        this.wordsPerRow = (size + TOP_BIT) / Long.SIZE;
+        final int words = size * wordsPerRow;
+        this.open = new long[words];
+        this.seen = new long[words];
+        this.listed = new long[(words + TOP_BIT) / Long.SIZE];
+        for (int y = 0; y < size; y++) {
+            grid.openBits(y, open, y * wordsPerRow);
+        }
+    }
+
+    /**
+     * Flood fill the component of a cell.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Number of cells reached, 0 if the cell is a wall.
+     */
+    public long fill(final int x, final int y) {
+        flood(x, y, -1, -1);
+        long output = 0;
+        for (long word : seen) {
+            output += Long.bitCount(word);
+        }
+        return output;
+    }
+
+    /**
+     * Check a cell was reached by the last fill or resolve.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Reached true/false.
+     */
+    public boolean isFilled(final int x, final int y) {
+        return (seen[y * wordsPerRow + x / Long.SIZE] & 1L << x) != 0;
+    }
+
+    /**
+     * Check two cells are connected, stopping as soon as the second is reached.
+     *
+     * <p>Replaces the last fill, leaving it partial if the search stopped early.</p>
+     *
+     * @param a First cell.
+     * @param b Second cell.
+     * @return Connected true/false, false if either is a wall.
+     */
+    public boolean isConnected(final Point a, final Point b) {
+        return flood(a.x(), a.y(), b.x(), b.y()) && isFilled(b.x(), b.y());
+    }
+
+    /**
+     * Find breadth first distances from a cell, a layer at a time.
+     *
+     * @param source row-major index of the source cell.
+     * @param distance Filled with distances from source, -1 if unreachable, one per cell.
+     * @return Number of cells reached, including the source.
+     */
+    public int resolve(final int source, final int[] distance) {
+        return resolve(new int[] {source}, distance);
+    }
+
+    /**
+     * Find breadth first distances from the nearest of several cells, a layer at a time.
+     *
+     * <p>Every source starts in the first layer, so the cost is one search
+     * whatever the number of sources.</p>
+     *
+     * @param sources row-major indexes of the source cells.
+     * @param distance Filled with distances from the nearest source, -1 if unreachable, one per cell.
+     * @return Number of cells reached, including the sources.
+     */
+    public int resolve(final int[] sources, final int[] distance) {
+        Arrays.fill(distance, -1);
+        Arrays.fill(seen, 0L);
+        if (frontier == null) {
+            frontier = new long[open.length];
+            next = new long[open.length];
+        }
+        layers = 0;
+        layerPeak = 0;
+        int count = 0;
+        int sourceWord;
+        long sourceBit;
+        for (int source : sources) {
+            sourceWord = source / size * wordsPerRow + source % size / Long.SIZE;
+            sourceBit = 1L << (source % size);
+            if ((open[sourceWord] & sourceBit) != 0) {
+                if (frontier[sourceWord] == 0L) {
+                    if (count == active.length) {
+                        active = Arrays.copyOf(active, count * 2);
+                    }
+                    active[count++] = sourceWord;
+                }
+                seen[sourceWord] |= sourceBit;
+                frontier[sourceWord] |= sourceBit;
+            }
+        }
+
+        int output = 0;
+        int nextCount;
+        int word;
+        long bits;
+        int layerCells;
+        int[] swapWords;
+        long[] swapBits;
+        while (count > 0) {
+            nextCount = 0;
+            layerCells = 0;
+            for (int i = 0; i < count; i++) {
+                word = active[i];
+                bits = frontier[word];
+                frontier[word] = 0L;
+                layerCells += record(word, bits, distance);
+                final int column = word % wordsPerRow;
+                // Along the row, carrying across word ends, then the rows above and below.
+                nextCount = advance(word, bits << 1 | bits >>> 1, nextCount);
+                if (column > 0 && (bits & 1L) != 0) {
+                    nextCount = advance(word - 1, 1L << TOP_BIT, nextCount);
+                }
+                if (column < wordsPerRow - 1 && bits < 0) {
+                    nextCount = advance(word + 1, 1L, nextCount);
+                }
+                if (word >= wordsPerRow) {
+                    nextCount = advance(word - wordsPerRow, bits, nextCount);
+                }
+                if (word < open.length - wordsPerRow) {
+                    nextCount = advance(word + wordsPerRow, bits, nextCount);
+                }
+            }
+            swapWords = active;
+            active = nextActive;
+            nextActive = swapWords;
+            swapBits = frontier;
+            frontier = next;
+            next = swapBits;
+            count = nextCount;
+            layers++;
+            layerPeak = Math.max(layerPeak, layerCells);
+            output += layerCells;
+        }
+        return output;
+    }
+
+    /**
+     * Getter for the number of layers of the last resolve.
+     *
+     * @return Layers, one more than the largest distance, 0 if the source is a wall.
+     */
+    public int getLayerCount() {
+        return layers;
+    }
+
+    /**
+     * Getter for the most cells in one layer of the last resolve.
+     *
+     * @return Largest frontier in cells.
+     */
+    public int getLayerPeak() {
+        return layerPeak;
+    }
+
+    /**
+     * Count pairs of neighbouring open cells, a word at a time.
+     *
+     * @return Passages.
+     */
+    public long countPassages() {
+        long output = 0;
+        int column;
+        for (int word = 0; word < open.length; word++) {
+            column = word % wordsPerRow;
+            // Right neighbours within the word and across into the next, then the cells below.
+            output += Long.bitCount(open[word] & open[word] >>> 1);
+            if (column < wordsPerRow - 1 && open[word] < 0 && (open[word + 1] & 1L) != 0) {
+                output++;
+            }
+            if (word < open.length - wordsPerRow) {
+                output += Long.bitCount(open[word] & open[word + wordsPerRow]);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Flood fill from a cell, optionally stopping once a target is reached.
+     *
+     * @param x x coordinate of the source.
+     * @param y y coordinate of the source.
+     * @param targetX x coordinate of the target, -1 for none.
+     * @param targetY y coordinate of the target.
+     * @return Source open true/false.
+     */
+    private boolean flood(final int x, final int y, final int targetX, final int targetY) {
+        Arrays.fill(seen, 0L);
+        final int sourceWord = y * wordsPerRow + x / Long.SIZE;
+        final long sourceBit = 1L << x;
+        final boolean output = (open[sourceWord] & sourceBit) != 0;
+        if (output) {
+            final int targetWord = targetX < 0 ? -1 : targetY * wordsPerRow + targetX / Long.SIZE;
+            final long targetBit = 1L << targetX;
+            seen[sourceWord] = sourceBit;
+            int count = push(sourceWord, 0);
+            int word;
+            long filled;
+            while (count > 0 && (targetWord < 0 || (seen[targetWord] & targetBit) == 0)) {
+                word = active[--count];
+                listed[word / Long.SIZE] &= ~(1L << word);
+                filled = fillRow(seen[word], open[word]);
+                seen[word] = filled;
+                final int column = word % wordsPerRow;
+                if (column > 0 && (filled & 1L) != 0) {
+                    count = spread(word - 1, 1L << TOP_BIT, count);
+                }
+                if (column < wordsPerRow - 1 && filled < 0) {
+                    count = spread(word + 1, 1L, count);
+                }
+                if (word >= wordsPerRow) {
+                    count = spread(word - wordsPerRow, filled, count);
+                }
+                if (word < open.length - wordsPerRow) {
+                    count = spread(word + wordsPerRow, filled, count);
+                }
+            }
+            // Clear flags of words left unworked when stopping early.
+            Arrays.fill(listed, 0L);
+        }
+        return output;
+    }
+
+    /**
+     * Fill seed bits along their runs of open bits, both ways, with Kogge-Stone occluded fills.
+     *
+     * @param seeds Reached bits.
+     * @param mask Open bits.
+     * @return Every open bit joined to a seed along the word.
+     */
+    static long fillRow(final long seeds, final long mask) {
+        long up = seeds;
+        long down = seeds;
+        long upMask = mask;
+        long downMask = mask;
+        for (int shift = 1; shift < Long.SIZE; shift <<= 1) {
+            up |= upMask & up << shift;
+            upMask &= upMask << shift;
+            down |= downMask & down >>> shift;
+            downMask &= downMask >>> shift;
+        }
+        return up | down;
+    }
+
+    /**
+     * Mark newly reached open bits of a word and list the word for filling.
+     *
+     * @param word Word index.
+     * @param bits Bits reached from a neighbour.
+     * @param count Words in the work list.
+     * @return New number of words in the work list.
+     */
+    private int spread(final int word, final long bits, final int count) {
+        final long added = bits & open[word] & ~seen[word];
+        int output = count;
+        if (added != 0) {
+            seen[word] |= added;
+            if ((listed[word / Long.SIZE] & 1L << word) == 0) {
+                output = push(word, count);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Add a word to the work list.
+     *
+     * @param word Word index.
+     * @param count Words in the work list.
+     * @return New number of words in the work list.
+     */
+    private int push(final int word, final int count) {
+        if (count == active.length) {
+            active = Arrays.copyOf(active, count * 2);
+        }
+        active[count] = word;
+        listed[word / Long.SIZE] |= 1L << word;
+        return count + 1;
+    }
+
+    /**
+     * Add newly reached open bits of a word to the next frontier.
+     *
+     * @param word Word index.
+     * @param bits Bits reached from the frontier.
+     * @param count Words in the next frontier.
+     * @return New number of words in the next frontier.
+     */
+    private int advance(final int word, final long bits, final int count) {
+        final long added = bits & open[word] & ~seen[word];
+        int output = count;
+        if (added != 0) {
+            seen[word] |= added;
+            if (next[word] == 0L) {
+                if (count == nextActive.length) {
+                    nextActive = Arrays.copyOf(nextActive, count * 2);
+                }
+                nextActive[output++] = word;
+            }
+            next[word] |= added;
+        }
+        return output;
+    }
+
+    /**
+     * Record the distance of every frontier cell in a word.
+     *
+     * @param word Word index.
+     * @param bits Frontier bits.
+     * @param distance Distances by cell index.
+     * @return Number of cells recorded.
+     */
+    private int record(final int word, final long bits, final int[] distance) {
+        final int first = word / wordsPerRow * size + word % wordsPerRow * Long.SIZE;
+        long remaining = bits;
+        int output = 0;
+        while (remaining != 0) {
+            distance[first + Long.numberOfTrailingZeros(remaining)] = layers;
+            remaining &= remaining - 1;
+            output++;
+        }
+        return output;
+    }
+}
@@ -0,0 +1,41 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+/**
+ * Resolved distances from the nearest exit for every cell of a maze.
+ *
+ * @author derek
+ */
+public interface DistanceField {
+
+    /**
+     * Getter for maze size.
+     *
+     * @return Number of cells along one side of the maze.
+     */
+    int getMazeSize();
+
+    /**
+     * Get distance from the exit by cell index.
+     *
+     * @param index row-major cell index.
+     * @return Distance from cell to exit. Returns -1 if unreachable or not resolved.
+     */
+    int getDistance(int index);
+}
@@ -0,0 +1,250 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Resolved distances stored in a file.
+ *
+ * <p>A file is a fixed size little-endian header followed by one
+ * little-endian int per cell in row-major order, holding the distance from
+ * the exit plus one, so 0 is unreached and a freshly created sparse file
+ * needs no initialising:</p>
+ * <pre>
+ *  offset  size  field
+ *       0     4  magic "DIST"
+ *       4     4  format version
+ *       8     4  maze size
+ *      12     4  bytes per cell
+ *      16     4  exit x
+ *      20     4  exit y
+ *      24    40  reserved, zero
+ *      64        cells, size * size * 4 bytes
+ * </pre>
+ *
+ * <p>The cells are mapped read-only in row bands of up to 1GB, so queries
+ * page distances in from disk on demand. Implements {@link DistanceField}, so
+ * a file written by {@link ExternalResolver} can be queried through
+ * {@link DistanceOracle} or rendered by {@link MazeRenderer} just like an
+ * in-memory {@link MazeResolver}.</p>
+ *
+ * @author derek
+ */
+public final class DistanceFile implements DistanceField, Closeable {
+
+    /**
+     * File magic, "DIST" in ASCII.
+     */
+    public static final int MAGIC = 0x44495354;
+    /**
+     * File format version.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Header size in bytes.
+     */
+    public static final int HEADER_SIZE = 64;
+    /**
+     * Bytes per cell.
+     */
+    static final int CELL_BYTES = Integer.BYTES;
+    /**
+     * Header offset of the format version.
+     */
+    private static final int VERSION_OFFSET = 4;
+    /**
+     * Header offset of the maze size.
+     */
+    private static final int SIZE_OFFSET = 8;
+    /**
+     * Header offset of the bytes per cell.
+     */
+    private static final int CELL_BYTES_OFFSET = 12;
+    /**
+     * Header offset of the exit x coordinate.
+     */
+    private static final int EXIT_X_OFFSET = 16;
+    /**
+     * Header offset of the exit y coordinate.
+     */
+    private static final int EXIT_Y_OFFSET = 20;
+    /**
+     * Largest mapped band in bytes.
+     */
+    private static final int MAX_BAND_BYTES = 1 << 30;
+
+    /**
+     * Open file.
+     */
+    private final FileChannel channel;
+    /**
+     * Maze size.
+     */
+    private final int mazeSize;
+    /**
+     * Exit point.
+     */
+    private final Maze.Point exit;
+    /**
+     * Cells per mapped band.
+     */
+    private final int bandCells;
+    /**
+     * Mapped bands of cells.
+     */
+    private final MappedByteBuffer[] bands;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param channelValue Open file.
+     * @param header Validated header.
+     * @throws IOException if the cells cannot be mapped.
+     */
+    private DistanceFile(final FileChannel channelValue, final ByteBuffer header) throws IOException {
+        this.channel = channelValue;
+        this.mazeSize = header.getInt(SIZE_OFFSET);
+        this.exit = new Maze.Point(header.getInt(EXIT_X_OFFSET), header.getInt(EXIT_Y_OFFSET));
+        final int bandRows = Math.max(1, MAX_BAND_BYTES / (mazeSize * CELL_BYTES));
+        this.bandCells = bandRows * mazeSize;
+        final long cells = (long) mazeSize * mazeSize;
+        this.bands = new MappedByteBuffer[(int) ((cells + bandCells - 1) / bandCells)];
+        long first;
+        for (int i = 0; i < bands.length; i++) {
+            first = (long) i * bandCells;
+            bands[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * CELL_BYTES,
+                    Math.min(bandCells, cells - first) * CELL_BYTES);
+            bands[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Open a distance file read-only.
+     *
+     * @param path Distance file.
+     * @return Distances backed by the mapped file.
+     * @throws IOException if the file cannot be read or is not a distance file.
+     */
+    public static DistanceFile open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        DistanceFile output = null;
+        try {
+            output = new DistanceFile(channel, readHeader(channel));
+        } finally {
+            if (output == null) {
+                channel.close();
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public int getMazeSize() {
+        return mazeSize;
+    }
+
+    @Override
+    public int getDistance(final int index) {
+        return bands[index / bandCells].getInt(index % bandCells * CELL_BYTES) - 1;
+    }
+
+    /**
+     * Getter for the exit Point the distances were resolved from.
+     *
+     * @return exit Point.
+     */
+    public Maze.Point getExit() {
+        return exit;
+    }
+
+    /**
+     * Close the file. Mapped bands are released once unreachable.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Byte offset of a cell in a distance file.
+     *
+     * @param index row-major cell index.
+     * @return File offset.
+     */
+    static long offset(final long index) {
+        return HEADER_SIZE + index * CELL_BYTES;
+    }
+
+    /**
+     * Write the file header.
+     *
+     * @param channel Open file.
+     * @param mazeSize Maze size.
+     * @param exit Exit point.
+     * @throws IOException if the header cannot be written.
+     */
+    static void writeHeader(final FileChannel channel, final int mazeSize, final Maze.Point exit)
+            throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(mazeSize).putInt(CELL_BYTES);
+        header.putInt(exit.x()).putInt(exit.y());
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Read and validate the file header.
+     *
+     * @param channel Open file.
+     * @return Header bytes.
+     * @throws IOException if the header cannot be read or is not a distance header.
+     */
+    private static ByteBuffer readHeader(final FileChannel channel) throws IOException {
+        final ByteBuffer output = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (output.hasRemaining()) {
+            if (channel.read(output, output.position()) < 0) {
+                throw new IOException("Truncated distance file header");
+            }
+        }
+        if (output.getInt(0) != MAGIC) {
+            throw new IOException("Not a distance file");
+        }
+        if (output.getInt(VERSION_OFFSET) != VERSION || output.getInt(CELL_BYTES_OFFSET) != CELL_BYTES) {
+            throw new IOException("Unsupported distance file version " + output.getInt(VERSION_OFFSET));
+        }
+        final int mazeSize = output.getInt(SIZE_OFFSET);
+        if (mazeSize < 1 || mazeSize > Maze.MAX_GRID_SIZE
+                || channel.size() < offset((long) mazeSize * mazeSize)) {
+            throw new IOException("Corrupt distance file, size " + mazeSize);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,131 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Move;
+import java.util.stream.IntStream;
+
+/**
+ * Answers distance, next move and shortest path queries from a resolved
+ * distance field.
+ *
+ * <p>The field is computed once by a resolver; every query here is a handful
+ * of array lookups, so a single resolve can serve any number of queries
+ * without searching again. Queries create no objects, apart from the path
+ * stream itself.</p>
+ *
+ * @author derek
+ */
+public class DistanceOracle {
+
+    /**
+     * Resolved distances.
+     */
+    private final DistanceField field;
+    /**
+     * Maze size.
+     */
+    private final int size;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param fieldValue Resolved distances, e.g. a resolved MazeResolver.
+     */
+    public DistanceOracle(final DistanceField fieldValue) {
+        this.field = fieldValue;
+        this.size = fieldValue.getMazeSize();
+    }
+
+    /**
+     * Get distance to the exit.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Distance to exit, -1 if unreachable.
+     */
+    public int distance(final int x, final int y) {
+        return field.getDistance(y * size + x);
+    }
+
+    /**
+     * Get the next cell on a shortest path to the exit.
+     *
+     * @param index row-major cell index.
+     * @return Index of a neighbour one step closer to the exit, -1 at the exit or if unreachable.
+     */
+    public int nextIndex(final int index) {
+        int output = -1;
+        final int target = field.getDistance(index) - 1;
+        if (target >= 0) {
+            final int x = index % size;
+            final int y = index / size;
+            if (y > 0 && field.getDistance(index - size) == target) {
+                output = index - size;
+            } else if (x > 0 && field.getDistance(index - 1) == target) {
+                output = index - 1;
+            } else if (y < size - 1 && field.getDistance(index + size) == target) {
+                output = index + size;
+            } else if (x < size - 1 && field.getDistance(index + 1) == target) {
+                output = index + 1;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Get the next move on a shortest path to the exit.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Best move, null at the exit or if unreachable.
+     */
+    public Move nextMove(final int x, final int y) {
+        Move output = null;
+        final int index = y * size + x;
+        final int next = nextIndex(index);
+        if (next == index - size) {
+            output = Move.UP;
+        } else if (next == index - 1) {
+            output = Move.LEFT;
+        } else if (next == index + size) {
+            output = Move.DOWN;
+        } else if (next == index + 1) {
+            output = Move.RIGHT;
+        }
+        return output;
+    }
+
+    /**
+     * Stream a shortest path to the exit.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Row-major cell indexes from (x, y) to the exit inclusive, empty if unreachable.
+     */
+    public IntStream path(final int x, final int y) {
+        final int start = y * size + x;
+        final IntStream output;
+        if (field.getDistance(start) < 0) {
+            output = IntStream.empty();
+        } else {
+            output = IntStream.iterate(start, index -> index >= 0, this::nextIndex);
+        }
+        return output;
+    }
+}
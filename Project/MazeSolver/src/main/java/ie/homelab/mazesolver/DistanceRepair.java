@@ -0,0 +1,343 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.Arrays;
+
+/**
+ * Keeps resolved distances correct as single cells are opened or closed.
+ *
+ * <p>Distances must be shortest distances to the nearest exit, -1 where
+ * unreachable. An update touches only the cells whose distance changes and
+ * their neighbours, never the whole grid:</p>
+ * <ul>
+ * <li>opening a cell gives it one more than its closest neighbour and
+ * spreads the decrease breadth first, stopping at cells already as
+ * close;</li>
+ * <li>closing a cell first invalidates, level by level, every cell left
+ * with no neighbour one step closer to the exit, which is the subtree that
+ * only reached the exit through it; each invalidated cell is then seeded
+ * from its closest surviving neighbour and distances are rebuilt in order,
+ * merging the sorted seeds with a breadth first queue.</li>
+ * </ul>
+ *
+ * <p>Work lists grow to the largest update seen and are reused.</p>
+ *
+ * @author derek
+ */
+final class DistanceRepair {
+
+    /**
+     * Initial work list capacity.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+    /**
+     * Neighbours per cell.
+     */
+    private static final int DEGREE = 4;
+    /**
+     * Shift of a distance packed above a cell index.
+     */
+    private static final int KEY_SHIFT = 32;
+    /**
+     * Mask of a cell index packed below a distance.
+     */
+    private static final long CELL_MASK = 0xFFFF_FFFFL;
+
+    /**
+     * Grid data of the current update.
+     */
+    private MazeGrid grid;
+    /**
+     * Distances of the current update.
+     */
+    private int[] distance;
+    /**
+     * Cells to search, or to check for support.
+     */
+    private int[] work = new int[INITIAL_CAPACITY];
+    /**
+     * Cells invalidated by a close.
+     */
+    private int[] invalid = new int[INITIAL_CAPACITY];
+    /**
+     * Invalidated cells with their closest surviving neighbour, distance above cell.
+     */
+    private long[] seeds = new long[INITIAL_CAPACITY];
+    /**
+     * Cells to settle, distance above cell, in distance order.
+     */
+    private long[] pending = new long[INITIAL_CAPACITY];
+    /**
+     * Scratch space for the neighbours of a cell.
+     */
+    private final int[] neighbours = new int[DEGREE];
+    /**
+     * Change in the number of reachable cells made by the last update.
+     */
+    private int visitedChange;
+
+    /**
+     * Open a cell and lower the distances it shortens.
+     *
+     * @param gridValue Grid data.
+     * @param distanceValue Shortest distances, updated in place.
+     * @param index row-major cell index.
+     * @return Number of cells whose distance changed.
+     */
+    int open(final MazeGrid gridValue, final int[] distanceValue, final int index) {
+        this.grid = gridValue;
+        this.distance = distanceValue;
+        visitedChange = 0;
+        int output = 0;
+        if (!grid.isOpen(index)) {
+            grid.set(index, Maze.PATH);
+            final int closest = closestNeighbour(index);
+            if (closest >= 0) {
+                distance[index] = closest + 1;
+                output = 1;
+                visitedChange = 1;
+                int tail = 0;
+                work[tail++] = index;
+                int current;
+                int next;
+                int count;
+                for (int head = 0; head < tail; head++) {
+                    current = work[head];
+                    next = distance[current] + 1;
+                    count = openNeighbours(current);
+                    for (int i = 0; i < count; i++) {
+                        if (distance[neighbours[i]] < 0 || distance[neighbours[i]] > next) {
+                            if (distance[neighbours[i]] < 0) {
+                                visitedChange++;
+                            }
+                            distance[neighbours[i]] = next;
+                            output++;
+                            work = grow(work, tail);
+                            work[tail++] = neighbours[i];
+                        }
+                    }
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Close a cell and repair the distances that went through it.
+     *
+     * @param gridValue Grid data.
+     * @param distanceValue Shortest distances, updated in place.
+     * @param index row-major cell index, not an exit.
+     * @return Number of cells whose distance changed.
+     */
+    int close(final MazeGrid gridValue, final int[] distanceValue, final int index) {
+        this.grid = gridValue;
+        this.distance = distanceValue;
+        visitedChange = 0;
+        int output = 0;
+        if (grid.isOpen(index)) {
+            final int old = distance[index];
+            grid.set(index, Maze.WALL);
+            distance[index] = -1;
+            if (old >= 0) {
+                final int invalidCount = invalidate(index, old);
+                repair(invalidCount);
+                visitedChange = -1;
+                for (int i = 0; i < invalidCount; i++) {
+                    if (distance[invalid[i]] < 0) {
+                        visitedChange--;
+                    }
+                }
+                output = invalidCount + 1;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Getter for the change in reachable cells made by the last update.
+     *
+     * @return Cells newly reached, negative for cells cut off.
+     */
+    int getVisitedChange() {
+        return visitedChange;
+    }
+
+    /**
+     * Invalidate every cell left without a neighbour one step closer to the exit.
+     *
+     * @param closed Cell just closed.
+     * @param old Distance of the closed cell.
+     * @return Number of cells invalidated, their distances set to -1.
+     */
+    private int invalidate(final int closed, final int old) {
+        int tail = 0;
+        int count = openNeighbours(closed);
+        for (int i = 0; i < count; i++) {
+            if (distance[neighbours[i]] == old + 1) {
+                work = grow(work, tail);
+                work[tail++] = neighbours[i];
+            }
+        }
+
+        // The queue holds one level after another, so a cell is checked once every closer cell is final.
+        int output = 0;
+        int current;
+        int value;
+        boolean supported;
+        for (int head = 0; head < tail; head++) {
+            current = work[head];
+            value = distance[current];
+            if (value >= 0) {
+                count = openNeighbours(current);
+                supported = false;
+                for (int i = 0; i < count && !supported; i++) {
+                    supported = distance[neighbours[i]] == value - 1;
+                }
+                if (!supported) {
+                    invalid = grow(invalid, output);
+                    invalid[output++] = current;
+                    distance[current] = -1;
+                    for (int i = 0; i < count; i++) {
+                        if (distance[neighbours[i]] == value + 1) {
+                            work = grow(work, tail);
+                            work[tail++] = neighbours[i];
+                        }
+                    }
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Give invalidated cells their new distances, -1 if now unreachable.
+     *
+     * @param invalidCount Number of invalidated cells.
+     */
+    private void repair(final int invalidCount) {
+        int seedCount = 0;
+        int closest;
+        for (int i = 0; i < invalidCount; i++) {
+            closest = closestNeighbour(invalid[i]);
+            if (closest >= 0) {
+                seeds = grow(seeds, seedCount);
+                seeds[seedCount++] = (long) (closest + 1) << KEY_SHIFT | invalid[i];
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        // Settle cells in distance order, taking the closer of the next seed and the queue head.
+        int next = 0;
+        int head = 0;
+        int tail = 0;
+        long entry;
+        int current;
+        int value;
+        int count;
+        while (next < seedCount || head < tail) {
+            if (head < tail && (next == seedCount || pending[head] < seeds[next])) {
+                entry = pending[head++];
+            } else {
+                entry = seeds[next++];
+            }
+            current = (int) (entry & CELL_MASK);
+            if (distance[current] < 0) {
+                value = (int) (entry >>> KEY_SHIFT);
+                distance[current] = value;
+                count = openNeighbours(current);
+                // Open unreached neighbours of a reached cell can only be invalidated cells.
+                for (int i = 0; i < count; i++) {
+                    if (distance[neighbours[i]] < 0) {
+                        pending = grow(pending, tail);
+                        pending[tail++] = (long) (value + 1) << KEY_SHIFT | neighbours[i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the smallest distance among a cell's open neighbours.
+     *
+     * @param index row-major cell index.
+     * @return Smallest neighbour distance, -1 if no neighbour is reached.
+     */
+    private int closestNeighbour(final int index) {
+        final int count = openNeighbours(index);
+        int output = -1;
+        for (int i = 0; i < count; i++) {
+            if (distance[neighbours[i]] >= 0 && (output < 0 || distance[neighbours[i]] < output)) {
+                output = distance[neighbours[i]];
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Collect a cell's open neighbours into the scratch array.
+     *
+     * @param index row-major cell index.
+     * @return Number of open neighbours.
+     */
+    private int openNeighbours(final int index) {
+        final int size = grid.getSize();
+        final int x = index % size;
+        final int y = index / size;
+        int output = 0;
+        // below, above, left, right.
+        if (y > 0 && grid.isOpen(index - size)) {
+            neighbours[output++] = index - size;
+        }
+        if (y < size - 1 && grid.isOpen(index + size)) {
+            neighbours[output++] = index + size;
+        }
+        if (x > 0 && grid.isOpen(index - 1)) {
+            neighbours[output++] = index - 1;
+        }
+        if (x < size - 1 && grid.isOpen(index + 1)) {
+            neighbours[output++] = index + 1;
+        }
+        return output;
+    }
+
+    /**
+     * Make room for one more value in a work list.
+     *
+     * @param list Work list.
+     * @param used Values in use.
+     * @return The list, or a copy twice the size if full.
+     */
+    private static int[] grow(final int[] list, final int used) {
+        return used < list.length ? list : Arrays.copyOf(list, list.length * 2);
+    }
+
+    /**
+     * Make room for one more value in a work list.
+     *
+     * @param list Work list.
+     * @param used Values in use.
+     * @return The list, or a copy twice the size if full.
+     */
+    private static long[] grow(final long[] list, final int used) {
+        return used < list.length ? list : Arrays.copyOf(list, list.length * 2);
+    }
+}
@@ -0,0 +1,192 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.SplittableRandom;
+
+/**
+ * Eller's algorithm.
+ *
+ * <p>The maze is built one lattice row at a time, keeping only which cells
+ * of the current row are already joined through the rows above. Neighbours
+ * in different sets are joined at random, then every set carries on into the
+ * next row through at least one passage down, and the last row joins every
+ * remaining set. Sets are a union-find over the columns of the row, so the
+ * working memory is a few ints per column and rows are finished top to
+ * bottom, never revisited, which lets {@link MazeStreamer} write each row
+ * out as soon as it is done.</p>
+ *
+ * @author derek
+ */
+final class EllerGenerator extends LatticeGenerator {
+
+    @Override
+    void carve(final SplittableRandom random) {
+        rows(random, (latticeY, across, down) -> {
+            final int rowStart = latticeY * latticeWidth;
+            for (int x = 0; x < latticeWidth; x++) {
+                if (across[x]) {
+                    openEdge(rowStart + x, rowStart + x + 1);
+                }
+                if (down[x]) {
+                    openEdge(rowStart + x, rowStart + latticeWidth + x);
+                }
+            }
+        });
+    }
+
+    /**
+     * Build the lattice rows in order from the top.
+     *
+     * <p>Call after {@link #prepare}.</p>
+     *
+     * @param random Random source.
+     * @param listener Receives each finished row.
+     */
+    void rows(final SplittableRandom random, final RowListener listener) {
+        final int width = latticeWidth;
+        int[] sets = new int[width];
+        int[] next = new int[width];
+        // Per set root: a random member, members seen so far and first column below.
+        final int[] chosen = new int[width];
+        final int[] members = new int[width];
+        final int[] firstBelow = new int[width];
+        final boolean[] hasDown = new boolean[width];
+        final boolean[] across = new boolean[width];
+        final boolean[] down = new boolean[width];
+        final boolean forcedAcross = forcedFrom >= 0 && forcedTo != forcedFrom + width;
+        for (int x = 0; x < width; x++) {
+            sets[x] = x;
+        }
+
+        int rowStart;
+        int[] swap;
+        int root;
+        for (int y = 0; y < latticeHeight; y++) {
+            rowStart = y * width;
+            final boolean last = y == latticeHeight - 1;
+            for (int x = 0; x < width; x++) {
+                across[x] = false;
+                down[x] = false;
+            }
+            if (forcedAcross && forcedFrom / width == y) {
+                union(sets, forcedFrom - rowStart, forcedTo - rowStart);
+                across[forcedFrom - rowStart] = true;
+            }
+            for (int x = 0; x < width - 1; x++) {
+                if (find(sets, x) != find(sets, x + 1) && (last || random.nextBoolean())) {
+                    union(sets, x, x + 1);
+                    across[x] = true;
+                }
+            }
+            if (last) {
+                listener.row(y, across, down);
+                break;
+            }
+
+            // Passages down: at random, then one for any set left without.
+            for (int x = 0; x < width; x++) {
+                members[x] = 0;
+                hasDown[x] = false;
+                firstBelow[x] = -1;
+            }
+            for (int x = 0; x < width; x++) {
+                root = find(sets, x);
+                members[root]++;
+                if (random.nextInt(members[root]) == 0) {
+                    chosen[root] = x;
+                }
+                down[x] = random.nextBoolean() || !forcedAcross && forcedFrom == rowStart + x;
+                hasDown[root] |= down[x];
+            }
+            for (int x = 0; x < width; x++) {
+                root = find(sets, x);
+                if (!hasDown[root]) {
+                    down[chosen[root]] = true;
+                    hasDown[root] = true;
+                }
+            }
+            if (forcedAcross && forcedFrom / width == y + 1) {
+                // The forced edge below must join two different sets.
+                root = forcedFrom - rowStart - width;
+                if (down[root] && down[root + 1] && find(sets, root) == find(sets, root + 1)) {
+                    down[root + 1] = false;
+                }
+            }
+
+            for (int x = 0; x < width; x++) {
+                if (down[x]) {
+                    root = find(sets, x);
+                    if (firstBelow[root] < 0) {
+                        firstBelow[root] = x;
+                    }
+                    next[x] = firstBelow[root];
+                } else {
+                    next[x] = x;
+                }
+            }
+            listener.row(y, across, down);
+            swap = sets;
+            sets = next;
+            next = swap;
+        }
+    }
+
+    /**
+     * Receiver of finished lattice rows.
+     */
+    @FunctionalInterface
+    interface RowListener {
+
+        /**
+         * Accept a finished row.
+         *
+         * @param latticeY Lattice row.
+         * @param across Passage open to the right of each column. Only valid until the call returns.
+         * @param down Passage open below each column, none on the last row. Only valid until the call returns.
+         */
+        void row(int latticeY, boolean[] across, boolean[] down);
+    }
+
+    /**
+     * Find the set of a column, halving the path on the way.
+     *
+     * @param sets Union-find array over the columns of a row.
+     * @param column Lattice column.
+     * @return Root column.
+     */
+    private static int find(final int[] sets, final int column) {
+        int output = column;
+        while (sets[output] != output) {
+            sets[output] = sets[sets[output]];
+            output = sets[output];
+        }
+        return output;
+    }
+
+    /**
+     * Join the sets of two columns.
+     *
+     * @param sets Union-find array over the columns of a row.
+     * @param first Lattice column.
+     * @param second Lattice column.
+     */
+    private static void union(final int[] sets, final int first, final int second) {
+        sets[find(sets, second)] = find(sets, first);
+    }
+}
@@ -0,0 +1,484 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Breadth first search for mazes whose distances do not fit in memory.
+ *
+ * <p>Distances are written straight to a {@link DistanceFile}. The grid is
+ * split into bands of whole rows and only one band is held at a time, along
+ * with the row either side of it. Bands are swept top to bottom, then bottom
+ * to top, and so on:</p>
+ * <ul>
+ * <li>a loaded band is searched as far as it goes, lowering distances in
+ * place, so a cell reached again by a shorter route is searched again;</li>
+ * <li>cells lowered in the row after the band are searched by the next band
+ * of the same sweep;</li>
+ * <li>cells lowered in the row before the band are pushed on a
+ * {@link SpillStack}, which the next sweep, running the other way, pops in
+ * band order;</li>
+ * <li>sweeping stops once a sweep finds no work.</li>
+ * </ul>
+ *
+ * <p>A band is only loaded when it has work, so each sweep reads just the
+ * part of the file the search is passing through. Memory is bounded by the
+ * configured amount whatever the maze size: a quarter goes to the two spill
+ * stacks and the rest to the band, as a direct buffer of distances plus a
+ * heap work queue. Pair with a maze opened by
+ * {@link ie.homelab.mazesolver.model.MazeFile#open(Path)} to keep the grid
+ * off the heap as well.</p>
+ *
+ * @author derek
+ */
+public final class ExternalResolver {
+
+    /**
+     * Default memory for buffers, 64MB.
+     */
+    public static final long DEFAULT_MEMORY = 64L << 20;
+    /**
+     * Share of memory given to the spill stacks, as a divisor.
+     */
+    private static final int STACK_SHARE = 4;
+    /**
+     * Number of spill stacks.
+     */
+    private static final int STACK_COUNT = 2;
+    /**
+     * Fewest values held in memory by a spill stack.
+     */
+    private static final int MIN_STACK = 1024;
+    /**
+     * Rows loaded around a band, one either side.
+     */
+    private static final int HALO_ROWS = 2;
+    /**
+     * Bits per byte, for sizing the queued flags.
+     */
+    private static final int BITS_PER_BYTE = 8;
+
+    /**
+     * Maze data object.
+     */
+    private final Maze maze;
+    /**
+     * Distance file to write.
+     */
+    private final Path path;
+    /**
+     * Memory for buffers in bytes.
+     */
+    private final long memory;
+    /**
+     * Open distance file.
+     */
+    private FileChannel channel;
+    /**
+     * Grid data.
+     */
+    private MazeGrid grid;
+    /**
+     * Maze size.
+     */
+    private int size;
+    /**
+     * Rows per band.
+     */
+    private int bandRows;
+    /**
+     * First row held by the region buffer.
+     */
+    private int regionRow;
+    /**
+     * Distances plus one of the loaded band and the rows either side.
+     */
+    private ByteBuffer region;
+    /**
+     * Region changed since loaded.
+     */
+    private boolean dirty;
+    /**
+     * Cells of the loaded band waiting to be searched, a ring buffer.
+     */
+    private int[] queue;
+    /**
+     * Band cells in the queue, by offset from the band's first cell.
+     */
+    private BitSet queued;
+    /**
+     * Ring buffer read position.
+     */
+    private int queueHead;
+    /**
+     * Cells in the ring buffer.
+     */
+    private int queueCount;
+    /**
+     * Columns lowered in the row after the band, in sweep order.
+     */
+    private boolean[] carry;
+    /**
+     * Any column is carried.
+     */
+    private boolean carrying;
+    /**
+     * Number of bands loaded by the last resolve.
+     */
+    private long bandLoads;
+    /**
+     * Number of sweeps made by the last resolve.
+     */
+    private int sweeps;
+    /**
+     * Number of cells given a distance by the last resolve.
+     */
+    private int visited;
+
+    /**
+     * Parameterised constructor with the default memory.
+     *
+     * @param mazeValue Maze to resolve.
+     * @param pathValue Distance file to create or replace.
+     */
+    public ExternalResolver(final Maze mazeValue, final Path pathValue) {
+        this(mazeValue, pathValue, DEFAULT_MEMORY);
+    }
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param mazeValue Maze to resolve.
+     * @param pathValue Distance file to create or replace.
+     * @param memoryValue Memory for buffers in bytes.
+     */
+    public ExternalResolver(final Maze mazeValue, final Path pathValue, final long memoryValue) {
+        final long smallest = minimumMemory(mazeValue.getMazeSize());
+        if (memoryValue < smallest) {
+            throw new IllegalArgumentException("Memory too small for maze, need at least " + smallest + " bytes");
+        }
+        this.maze = mazeValue;
+        this.path = pathValue;
+        this.memory = memoryValue;
+    }
+
+    /**
+     * Resolve distances from the exit into the distance file.
+     *
+     * @return The distance file, open for queries.
+     * @throws IOException if the distance or spill files cannot be written.
+     */
+    public DistanceFile resolve() throws IOException {
+        grid = maze.getMazeGrid();
+        size = maze.getMazeSize();
+        final int stackCapacity = (int) Math.min(Integer.MAX_VALUE / Integer.BYTES,
+                Math.max(MIN_STACK, memory / STACK_SHARE / STACK_COUNT / Integer.BYTES));
+        setUpBand(memory - (long) stackCapacity * STACK_COUNT * Integer.BYTES);
+
+        final Path directory = path.toAbsolutePath().getParent();
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                SpillStack first = new SpillStack(directory, stackCapacity);
+                SpillStack second = new SpillStack(directory, stackCapacity)) {
+            channel = file;
+            // Extend to full size, unwritten cells read back as 0, unreached.
+            channel.write(ByteBuffer.allocate(1), DistanceFile.offset((long) size * size) - 1);
+            search(first, second);
+            DistanceFile.writeHeader(channel, size, maze.getExit());
+            channel.force(false);
+        } finally {
+            channel = null;
+            region = null;
+            queue = null;
+            queued = null;
+            carry = null;
+        }
+        return DistanceFile.open(path);
+    }
+
+    /**
+     * Getter for the number of cells visited by the last resolve.
+     *
+     * @return Cells given a distance.
+     */
+    public int getVisitedCount() {
+        return visited;
+    }
+
+    /**
+     * Getter for the number of bands loaded by the last resolve.
+     *
+     * @return Band loads.
+     */
+    public long getBandLoads() {
+        return bandLoads;
+    }
+
+    /**
+     * Getter for the number of sweeps made by the last resolve.
+     *
+     * @return Sweeps, including the last one that found no work.
+     */
+    public int getSweeps() {
+        return sweeps;
+    }
+
+    /**
+     * Least memory accepted for a maze, sized so the smallest spill stacks and a band of one row fit their shares.
+     *
+     * @param mazeSize Maze size.
+     * @return Memory in bytes.
+     */
+    static long minimumMemory(final int mazeSize) {
+        return STACK_SHARE * (STACK_COUNT * MIN_STACK * (long) Integer.BYTES + (1 + HALO_ROWS) * rowBytes(mazeSize));
+    }
+
+    /**
+     * Bytes of band memory per row.
+     *
+     * @param mazeSize Maze size.
+     * @return Distance, queue and queued flag bytes for one row.
+     */
+    private static long rowBytes(final int mazeSize) {
+        return (long) mazeSize * (DistanceFile.CELL_BYTES + Integer.BYTES) + mazeSize / BITS_PER_BYTE + 1;
+    }
+
+    /**
+     * Size the band and allocate its buffers.
+     *
+     * @param bandMemory Memory for the band in bytes.
+     */
+    private void setUpBand(final long bandMemory) {
+        final long maxRows = Integer.MAX_VALUE / ((long) size * DistanceFile.CELL_BYTES) - HALO_ROWS;
+        bandRows = (int) Math.max(1, Math.min(Math.min(size, maxRows), bandMemory / rowBytes(size) - HALO_ROWS));
+        final int bandCells = bandRows * size;
+        region = ByteBuffer.allocateDirect((bandRows + HALO_ROWS) * size * DistanceFile.CELL_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        queue = new int[bandCells];
+        queued = new BitSet(bandCells);
+        carry = new boolean[size];
+        carrying = false;
+        bandLoads = 0;
+        sweeps = 0;
+    }
+
+    /**
+     * Sweep bands back and forth until no work is left.
+     *
+     * @param first Spill stack, holding the exit.
+     * @param second Spill stack, empty.
+     * @throws IOException if paging distances or spilling fails.
+     */
+    private void search(final SpillStack first, final SpillStack second) throws IOException {
+        final int bandCount = (size + bandRows - 1) / bandRows;
+        final int exitIndex = grid.index(maze.getExit().x(), maze.getExit().y());
+        // Cells hold distance + 1, so the exit holds 1.
+        final ByteBuffer exitCell = ByteBuffer.allocate(DistanceFile.CELL_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        channel.write(exitCell.putInt(0, 1), DistanceFile.offset(exitIndex));
+        first.push(exitIndex);
+        visited = 1;
+
+        SpillStack pending = first;
+        SpillStack next = second;
+        SpillStack swap;
+        boolean down = true;
+        boolean working = true;
+        int band;
+        while (working) {
+            working = false;
+            sweeps++;
+            for (int i = 0; i < bandCount; i++) {
+                band = down ? i : bandCount - 1 - i;
+                if (carrying || !pending.isEmpty() && pending.peek() / size / bandRows == band) {
+                    searchBand(band, down, pending, next);
+                    working = true;
+                }
+            }
+            if (!pending.isEmpty()) {
+                throw new IllegalStateException("Cells left unsearched after sweep " + sweeps);
+            }
+            swap = pending;
+            pending = next;
+            next = swap;
+            down = !down;
+        }
+    }
+
+    /**
+     * Load a band and search it until its queue is empty.
+     *
+     * @param band Band number.
+     * @param down Sweeping top to bottom true/false.
+     * @param pending Cells to search from the last sweep.
+     * @param next Cells to search in the next sweep.
+     * @throws IOException if paging distances or spilling fails.
+     */
+    private void searchBand(final int band, final boolean down, final SpillStack pending, final SpillStack next)
+            throws IOException {
+        final int firstRow = band * bandRows;
+        final int lastRow = Math.min(size, firstRow + bandRows) - 1;
+        load(Math.max(0, firstRow - 1), Math.min(size - 1, lastRow + 1));
+
+        final int bandStart = firstRow * size;
+        if (carrying) {
+            final int rowStart = (down ? firstRow : lastRow) * size;
+            for (int x = 0; x < size; x++) {
+                if (carry[x]) {
+                    enqueue(rowStart + x, bandStart);
+                }
+            }
+            Arrays.fill(carry, false);
+            carrying = false;
+        }
+        while (!pending.isEmpty() && pending.peek() / size / bandRows == band) {
+            enqueue(pending.pop(), bandStart);
+        }
+
+        int current;
+        int value;
+        int x;
+        int y;
+        int neighbour;
+        int neighbourY;
+        while (queueCount > 0) {
+            current = queue[queueHead];
+            queueHead = (queueHead + 1) % queue.length;
+            queueCount--;
+            queued.clear(current - bandStart);
+            value = get(current) + 1;
+            x = current % size;
+            y = current / size;
+            // below, above, left, right.
+            for (int direction = 0; direction < 4; direction++) {
+                neighbour = -1;
+                if (direction == 0 && y > 0) {
+                    neighbour = current - size;
+                } else if (direction == 1 && y < size - 1) {
+                    neighbour = current + size;
+                } else if (direction == 2 && x > 0) {
+                    neighbour = current - 1;
+                } else if (direction == 3 && x < size - 1) {
+                    neighbour = current + 1;
+                }
+                if (neighbour >= 0 && grid.isOpen(neighbour) && lower(neighbour, value)) {
+                    neighbourY = neighbour / size;
+                    if (neighbourY >= firstRow && neighbourY <= lastRow) {
+                        enqueue(neighbour, bandStart);
+                    } else if (neighbourY > lastRow == down) {
+                        carry[neighbour % size] = true;
+                        carrying = true;
+                    } else {
+                        next.push(neighbour);
+                    }
+                }
+            }
+        }
+        store();
+    }
+
+    /**
+     * Add a band cell to the queue unless already there.
+     *
+     * @param index row-major cell index.
+     * @param bandStart Index of the band's first cell.
+     */
+    private void enqueue(final int index, final int bandStart) {
+        if (!queued.get(index - bandStart)) {
+            queued.set(index - bandStart);
+            queue[(queueHead + queueCount) % queue.length] = index;
+            queueCount++;
+        }
+    }
+
+    /**
+     * Lower the stored distance of a loaded cell.
+     *
+     * @param index row-major cell index.
+     * @param value Distance plus one.
+     * @return Lowered true/false, false if already as close.
+     */
+    private boolean lower(final int index, final int value) {
+        final int stored = get(index);
+        boolean output = false;
+        if (stored == 0 || value < stored) {
+            region.putInt((index - regionRow * size) * DistanceFile.CELL_BYTES, value);
+            dirty = true;
+            if (stored == 0) {
+                visited++;
+            }
+            output = true;
+        }
+        return output;
+    }
+
+    /**
+     * Read the stored distance of a loaded cell.
+     *
+     * @param index row-major cell index.
+     * @return Distance plus one, 0 if unreached.
+     */
+    private int get(final int index) {
+        return region.getInt((index - regionRow * size) * DistanceFile.CELL_BYTES);
+    }
+
+    /**
+     * Read rows into the region buffer.
+     *
+     * @param fromRow First row.
+     * @param toRow Last row, inclusive.
+     * @throws IOException if reading fails.
+     */
+    private void load(final int fromRow, final int toRow) throws IOException {
+        regionRow = fromRow;
+        region.clear().limit((toRow - fromRow + 1) * size * DistanceFile.CELL_BYTES);
+        final long position = DistanceFile.offset((long) fromRow * size);
+        while (region.hasRemaining()) {
+            if (channel.read(region, position + region.position()) < 0) {
+                throw new IOException("Distance file truncated at row " + fromRow);
+            }
+        }
+        dirty = false;
+        bandLoads++;
+    }
+
+    /**
+     * Write the region buffer back if changed.
+     *
+     * @throws IOException if writing fails.
+     */
+    private void store() throws IOException {
+        if (dirty) {
+            region.flip();
+            final long position = DistanceFile.offset((long) regionRow * size);
+            while (region.hasRemaining()) {
+                channel.write(region, position + region.position());
+            }
+            dirty = false;
+        }
+    }
+}
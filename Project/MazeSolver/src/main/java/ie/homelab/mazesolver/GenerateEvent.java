@@ -0,0 +1,68 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one maze generation, committed by {@link MazeGenerator}.
+ *
+ * @author derek
+ */
+@Name("ie.homelab.mazesolver.Generate")
+@Label("Maze Generation")
+@Category("Maze Solver")
+@Description("A maze generated, with its work counts")
+final class GenerateEvent extends jdk.jfr.Event {
+
+    /**
+     * Maze size.
+     */
+    @Label("Maze Size")
+    int mazeSize;
+    /**
+     * Maze seed.
+     */
+    @Label("Seed")
+    long seed;
+    /**
+     * Generation mode or strategy.
+     */
+    @Label("Algorithm")
+    String algorithm;
+    /**
+     * Cells opened.
+     */
+    @Label("Cells Carved")
+    long cellsCarved;
+    /**
+     * Deepest stack, 0 for algorithms without one.
+     */
+    @Label("Stack High-Water Mark")
+    int stackHighWater;
+    /**
+     * Bytes allocated by the generating thread.
+     */
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
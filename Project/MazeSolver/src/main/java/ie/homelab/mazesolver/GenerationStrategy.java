@@ -0,0 +1,45 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.SplittableRandom;
+
+/**
+ * Maze generation algorithm used by {@link MazeGenerator}.
+ *
+ * <p>A strategy carves passages into a grid of walls that holds only the
+ * start and exit, leaving the exit reachable from every open cell. Every
+ * random choice must come from the given random source so a maze seed
+ * always gives the same maze.</p>
+ *
+ * @author derek
+ */
+public interface GenerationStrategy {
+
+    /**
+     * Generate a maze.
+     *
+     * @param grid Grid data, walls apart from start and exit.
+     * @param start Start point.
+     * @param exit Exit point.
+     * @param random Random source seeded from the maze.
+     */
+    void generate(MazeGrid grid, Point start, Point exit, SplittableRandom random);
+}
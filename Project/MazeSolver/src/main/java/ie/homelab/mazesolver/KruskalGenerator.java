@@ -0,0 +1,123 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Kruskal's algorithm.
+ *
+ * <p>Every lattice edge is listed once in an {@code int[]}, shuffled, and
+ * taken in order whenever it joins two different trees. Trees are tracked in
+ * a primitive union-find array, a root holding the negated size of its tree,
+ * with union by size and path halving. Memory is an int per lattice cell and
+ * per edge.</p>
+ *
+ * @author derek
+ */
+final class KruskalGenerator extends LatticeGenerator {
+
+    @Override
+    void carve(final SplittableRandom random) {
+        final int cells = latticeWidth * latticeHeight;
+        final int[] parent = new int[cells];
+        Arrays.fill(parent, -1);
+
+        // Edge code: cell index shifted left, low bit 0 for right and 1 for down.
+        final int[] edges = new int[(latticeWidth - 1) * latticeHeight + latticeWidth * (latticeHeight - 1)];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (cell % latticeWidth < latticeWidth - 1) {
+                edges[count++] = cell << 1;
+            }
+            if (cell / latticeWidth < latticeHeight - 1) {
+                edges[count++] = cell << 1 | 1;
+            }
+        }
+        int swap;
+        int other;
+        for (int i = count - 1; i > 0; i--) {
+            other = random.nextInt(i + 1);
+            swap = edges[i];
+            edges[i] = edges[other];
+            edges[other] = swap;
+        }
+
+        int joined = 0;
+        if (forcedFrom >= 0) {
+            union(parent, forcedFrom, forcedTo);
+            openEdge(forcedFrom, forcedTo);
+            joined++;
+        }
+        int from;
+        int to;
+        for (int i = 0; i < count && joined < cells - 1; i++) {
+            from = edges[i] >>> 1;
+            to = (edges[i] & 1) == 0 ? from + 1 : from + latticeWidth;
+            if (union(parent, from, to)) {
+                openEdge(from, to);
+                joined++;
+            }
+        }
+    }
+
+    /**
+     * Find the root of a cell's tree, halving the path on the way.
+     *
+     * @param parent Union-find array.
+     * @param cell Lattice index.
+     * @return Root lattice index.
+     */
+    private static int find(final int[] parent, final int cell) {
+        int output = cell;
+        while (parent[output] >= 0) {
+            if (parent[parent[output]] >= 0) {
+                parent[output] = parent[parent[output]];
+            }
+            output = parent[output];
+        }
+        return output;
+    }
+
+    /**
+     * Join the trees of two cells.
+     *
+     * @param parent Union-find array.
+     * @param first Lattice index.
+     * @param second Lattice index.
+     * @return Joined true, false if already in the same tree.
+     */
+    private static boolean union(final int[] parent, final int first, final int second) {
+        boolean output = false;
+        int rootFirst = find(parent, first);
+        int rootSecond = find(parent, second);
+        if (rootFirst != rootSecond) {
+            if (parent[rootFirst] > parent[rootSecond]) {
+                // Hang the smaller tree under the larger.
+                final int swap = rootFirst;
+                rootFirst = rootSecond;
+                rootSecond = swap;
+            }
+            parent[rootFirst] += parent[rootSecond];
+            parent[rootSecond] = rootFirst;
+            output = true;
+        }
+        return output;
+    }
+}
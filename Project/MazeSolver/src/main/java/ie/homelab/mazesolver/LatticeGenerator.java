@@ -0,0 +1,197 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.SplittableRandom;
+
+/**
+ * Base for generators building a spanning tree over a lattice of cells.
+ *
+ * <p>The lattice is every cell sharing the parity of the start cell, as
+ * visited by the DFS modes. Neighbouring lattice cells are two apart and a
+ * tree edge opens the wall cell between them, so a spanning tree of the
+ * lattice is a perfect maze. Lattice cells are numbered row-major,
+ * {@code latticeY * latticeWidth + latticeX}.</p>
+ *
+ * <p>An exit off the lattice is attached as a leaf, through a stub cell when
+ * it sits between lattice rows and columns. Where the exit or its stub lies
+ * between two lattice cells, the edge joining them must be part of the tree,
+ * otherwise opening the exit would close a loop; subclasses add the edge
+ * from forcedFrom to forcedTo before any other.</p>
+ *
+ * @author derek
+ */
+abstract class LatticeGenerator implements GenerationStrategy {
+
+    /**
+     * Grid distance between neighbouring lattice cells.
+     */
+    static final int DIST = 2;
+    /**
+     * Number of search directions.
+     */
+    static final int DIRECTION_COUNT = 4;
+
+    /**
+     * Grid data of the current generation.
+     */
+    MazeGrid grid;
+    /**
+     * Grid size of the current generation.
+     */
+    int size;
+    /**
+     * x coordinate of the first lattice column, 0 or 1.
+     */
+    int offsetX;
+    /**
+     * y coordinate of the first lattice row, 0 or 1.
+     */
+    int offsetY;
+    /**
+     * Lattice columns.
+     */
+    int latticeWidth;
+    /**
+     * Lattice rows.
+     */
+    int latticeHeight;
+    /**
+     * Lattice cell whose edge to forcedTo must be in the tree, -1 if none.
+     */
+    int forcedFrom;
+    /**
+     * Lattice cell right of or below forcedFrom, -1 if none.
+     */
+    int forcedTo;
+
+    @Override
+    public final void generate(final MazeGrid gridValue, final Point start, final Point exit,
+            final SplittableRandom random) {
+        grid = gridValue;
+        final int stub = prepare(gridValue.getSize(), start, exit);
+        grid.set(start.x(), start.y(), Maze.PATH);
+
+        carve(random);
+
+        if (stub >= 0) {
+            grid.set(stub, Maze.PATH);
+        }
+        grid.set(exit.x(), exit.y(), Maze.EXIT);
+        grid = null;
+    }
+
+    /**
+     * Set up the lattice and exit link for a maze.
+     *
+     * @param sizeValue Maze size.
+     * @param start Start point.
+     * @param exit Exit point.
+     * @return Grid index of a stub cell to open between the exit and the lattice, -1 if none.
+     */
+    final int prepare(final int sizeValue, final Point start, final Point exit) {
+        size = sizeValue;
+        offsetX = start.x() & 1;
+        offsetY = start.y() & 1;
+        latticeWidth = (size - offsetX + 1) / DIST;
+        latticeHeight = (size - offsetY + 1) / DIST;
+        return linkExit(exit);
+    }
+
+    /**
+     * Build a spanning tree of the lattice, opening its edges in the grid.
+     *
+     * @param random Random source.
+     */
+    abstract void carve(SplittableRandom random);
+
+    /**
+     * Work out how the exit joins the lattice.
+     *
+     * <p>Sets forcedFrom and forcedTo when the exit, or the stub cell leading
+     * to it, lies between two lattice cells.</p>
+     *
+     * @param exit Exit point.
+     * @return Grid index of a stub cell to open between the exit and the lattice, -1 if none.
+     */
+    private int linkExit(final Point exit) {
+        int output = -1;
+        int x = exit.x();
+        int y = exit.y();
+        if ((x & 1) != offsetX && (y & 1) != offsetY) {
+            // Exit is between lattice rows and columns, step inward from its edge.
+            if (x == 0 || x == size - 1) {
+                x = x == 0 ? 1 : size - 2;
+            } else if (y == 0 || y == size - 1) {
+                y = y == 0 ? 1 : size - 2;
+            } else {
+                x++;
+            }
+            output = y * size + x;
+        }
+
+        forcedFrom = -1;
+        forcedTo = -1;
+        if ((x & 1) == offsetX && (y & 1) != offsetY && y > 0 && y < size - 1) {
+            forcedFrom = lattice((x - offsetX) / DIST, (y - 1 - offsetY) / DIST);
+            forcedTo = forcedFrom + latticeWidth;
+        } else if ((x & 1) != offsetX && (y & 1) == offsetY && x > 0 && x < size - 1) {
+            forcedFrom = lattice((x - 1 - offsetX) / DIST, (y - offsetY) / DIST);
+            forcedTo = forcedFrom + 1;
+        }
+        return output;
+    }
+
+    /**
+     * Convert lattice coordinates to a lattice index.
+     *
+     * @param latticeX Lattice column.
+     * @param latticeY Lattice row.
+     * @return Row-major lattice index.
+     */
+    final int lattice(final int latticeX, final int latticeY) {
+        return latticeY * latticeWidth + latticeX;
+    }
+
+    /**
+     * Convert a lattice index to a grid index.
+     *
+     * @param index Lattice index.
+     * @return Row-major grid index.
+     */
+    final int gridIndex(final int index) {
+        return (offsetY + DIST * (index / latticeWidth)) * size + offsetX + DIST * (index % latticeWidth);
+    }
+
+    /**
+     * Open a tree edge between two neighbouring lattice cells in the grid.
+     *
+     * @param from Lattice index.
+     * @param to Lattice index right of, left of, above or below from.
+     */
+    final void openEdge(final int from, final int to) {
+        final int low = gridIndex(Math.min(from, to));
+        final int step = Math.abs(from - to) == latticeWidth ? size : 1;
+        grid.set(low, Maze.PATH);
+        grid.set(low + step, Maze.PATH);
+        grid.set(low + DIST * step, Maze.PATH);
+    }
+}
@@ -0,0 +1,85 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeGrid;
+
+/**
+ * Grid view passing cells opened by a generator on to a {@link MazeListener}.
+ *
+ * <p>Only put in front of the grid while a listener is attached, so
+ * generation without one runs against the grid directly.</p>
+ *
+ * @author derek
+ */
+final class ListeningMazeGrid implements MazeGrid {
+
+    /**
+     * Grid written to.
+     */
+    private final MazeGrid grid;
+    /**
+     * Listener told of every cell opened.
+     */
+    private final MazeListener listener;
+
+    /**
+     * Parameterised ListeningMazeGrid constructor.
+     *
+     * @param gridValue Grid written to.
+     * @param listenerValue Listener told of every cell opened.
+     */
+    ListeningMazeGrid(final MazeGrid gridValue, final MazeListener listenerValue) {
+        this.grid = gridValue;
+        this.listener = listenerValue;
+    }
+
+    @Override
+    public int getSize() {
+        return grid.getSize();
+    }
+
+    @Override
+    public int get(final int index) {
+        return grid.get(index);
+    }
+
+    @Override
+    public void set(final int index, final int value) {
+        grid.set(index, value);
+        if (value != Maze.WALL) {
+            listener.cellChanged(MazeListener.Kind.CARVED, index, value);
+        }
+    }
+
+    @Override
+    public boolean isOpen(final int index) {
+        return grid.isOpen(index);
+    }
+
+    @Override
+    public long countOpen() {
+        return grid.countOpen();
+    }
+
+    @Override
+    public void openBits(final int y, final long[] bits, final int offset) {
+        grid.openBits(y, bits, offset);
+    }
+}
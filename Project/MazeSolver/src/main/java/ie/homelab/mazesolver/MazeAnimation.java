@@ -0,0 +1,179 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.awt.Rectangle;
+import java.util.BitSet;
+import java.util.function.Consumer;
+import javax.swing.Timer;
+
+/**
+ * Replays the events in a {@link MazeEventBuffer} on a {@link MazeView}.
+ *
+ * <p>Once per frame a Swing timer drains at most eventsPerFrame events,
+ * marks their cells carved or visited and repaints the bounding box of the
+ * cells changed as a single region, so the frame rate and the memory used
+ * are fixed however fast the engine delivers events. Events the buffer had
+ * to drop are simply not shown, the finished maze replaces the replay.</p>
+ *
+ * <p>Must only be used on the event dispatch thread.</p>
+ *
+ * @author derek
+ */
+public final class MazeAnimation {
+
+    /**
+     * Time between frames in milliseconds, about 60 a second.
+     */
+    public static final int FRAME_MILLIS = 16;
+
+    /**
+     * View painted on.
+     */
+    private final MazeView view;
+    /**
+     * Events to replay.
+     */
+    private final MazeEventBuffer events;
+    /**
+     * Told once of each phase whose events have all been replayed.
+     */
+    private final Consumer<MazeListener.Kind> onFinished;
+    /**
+     * Frame timer.
+     */
+    private final Timer timer;
+    /**
+     * Events drained in one frame.
+     */
+    private final long[] batch;
+    /**
+     * Cells carved so far.
+     */
+    private final BitSet carved = new BitSet();
+    /**
+     * Cells visited so far.
+     */
+    private final BitSet visited = new BitSet();
+    /**
+     * Phases reported finished, by kind.
+     */
+    private final boolean[] reported = new boolean[MazeListener.Kind.values().length];
+
+    /**
+     * Parameterised MazeAnimation constructor.
+     *
+     * @param viewValue View to paint on, showing a maze of the size the events are for.
+     * @param eventsValue Events to replay.
+     * @param eventsPerFrame Most events shown per frame, at most the buffer capacity.
+     * @param onFinishedValue Told once of each phase whose events have all been replayed.
+     */
+    public MazeAnimation(final MazeView viewValue, final MazeEventBuffer eventsValue, final int eventsPerFrame,
+            final Consumer<MazeListener.Kind> onFinishedValue) {
+        this.view = viewValue;
+        this.events = eventsValue;
+        this.onFinished = onFinishedValue;
+        this.batch = new long[Math.max(1, Math.min(eventsPerFrame, eventsValue.getCapacity()))];
+        this.timer = new Timer(FRAME_MILLIS, e -> tick());
+    }
+
+    /**
+     * Start replaying on the view.
+     */
+    public void start() {
+        view.setAnimation(this);
+        timer.start();
+    }
+
+    /**
+     * Stop replaying and take the replay off the view.
+     */
+    public void stop() {
+        timer.stop();
+        view.clearAnimation(this);
+    }
+
+    /**
+     * Check every phase has been replayed.
+     *
+     * @return Finished true/false.
+     */
+    public boolean isFinished() {
+        boolean output = true;
+        for (boolean phase : reported) {
+            output &= phase;
+        }
+        return output;
+    }
+
+    /**
+     * Getter for the cells carved so far.
+     *
+     * @return Cell indexes, not a copy.
+     */
+    BitSet getCarved() {
+        return carved;
+    }
+
+    /**
+     * Getter for the cells visited so far.
+     *
+     * @return Cell indexes, not a copy.
+     */
+    BitSet getVisited() {
+        return visited;
+    }
+
+    /**
+     * Show one frame of events.
+     */
+    void tick() {
+        final int size = view.getMaze().getMazeSize();
+        final int count = events.drain(batch, batch.length);
+        // One repaint for everything this frame changed.
+        int left = size;
+        int top = size;
+        int right = -1;
+        int bottom = -1;
+        int index;
+        for (int i = 0; i < count; i++) {
+            index = MazeEventBuffer.index(batch[i]);
+            if (MazeEventBuffer.kind(batch[i]) == MazeListener.Kind.CARVED) {
+                carved.set(index);
+            } else {
+                visited.set(index);
+            }
+            left = Math.min(left, index % size);
+            right = Math.max(right, index % size);
+            top = Math.min(top, index / size);
+            bottom = Math.max(bottom, index / size);
+        }
+        if (right >= 0) {
+            view.repaintCells(new Rectangle(left, top, right - left + 1, bottom - top + 1));
+        }
+        for (MazeListener.Kind kind : MazeListener.Kind.values()) {
+            if (!reported[kind.ordinal()] && events.isFinished(kind)) {
+                reported[kind.ordinal()] = true;
+                onFinished.accept(kind);
+            }
+        }
+        if (isFinished()) {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generate and resolve many mazes in parallel.
+ *
+ * <p>Each maze is generated and resolved start to finish by a single task on a
+ * {@link ForkJoinPool}, so every Maze, MazeGenerator and MazeResolver stays
+ * confined to the thread running its task.</p>
+ *
+ * <p>{@link #measure(Plan, MazeCache)} is the load generator behind the batch
+ * command line mode: it keeps only timings, not results, so any number of
+ * mazes can be run in memory bounded by one maze per worker.</p>
+ *
+ * @author derek
+ */
+public final class MazeBatch {
+
+    /**
+     * Utility class constructor.
+     */
+    private MazeBatch() {
+        // Static methods only.
+    }
+
+    /**
+     * Generate and resolve a number of mazes of the same size.
+     *
+     * @param count Number of mazes.
+     * @param mazeSize Size of every maze.
+     * @param parallelism Number of worker threads.
+     * @return Results in submission order.
+     * @throws InterruptedException if interrupted while waiting for results.
+     */
+    public static List<Result> run(final int count, final int mazeSize, final int parallelism)
+            throws InterruptedException {
+        final int[] mazeSizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            mazeSizes[i] = mazeSize;
+        }
+        return run(mazeSizes, parallelism);
+    }
+
+    /**
+     * Generate and resolve one maze for each given size.
+     *
+     * @param mazeSizes Size of each maze.
+     * @param parallelism Number of worker threads.
+     * @return Results in the order of mazeSizes.
+     * @throws InterruptedException if interrupted while waiting for results.
+     */
+    public static List<Result> run(final int[] mazeSizes, final int parallelism) throws InterruptedException {
+        final List<Callable<Result>> tasks = new ArrayList<>(mazeSizes.length);
+        for (int i = 0; i < mazeSizes.length; i++) {
+            final int index = i;
+            final int mazeSize = mazeSizes[i];
+            tasks.add(() -> solve(index, mazeSize));
+        }
+
+        final List<Result> output = new ArrayList<>(mazeSizes.length);
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Result> future : pool.invokeAll(tasks)) {
+                output.add(future.get());
+            }
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException("Maze batch task failed", ex.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return output;
+    }
+
+    /**
+     * Generate and resolve a single maze on the calling thread.
+     *
+     * @param index Position of the maze in its batch.
+     * @param mazeSize Maze size.
+     * @return Result.
+     */
+    private static Result solve(final int index, final int mazeSize) {
+        final long begin = System.nanoTime();
+        final Maze maze = new Maze(mazeSize);
+        new MazeGenerator(maze);
+        final MazeResolver resolver = new MazeResolver(maze);
+        resolver.resolveMaze();
+        return new Result(index, maze, resolver, System.nanoTime() - begin);
+    }
+
+    /**
+     * Generate and resolve mazes to a plan, timing each one.
+     *
+     * <p>Each worker repeatedly takes the next maze of the plan, generates and
+     * resolves it, records its latency and drops it. Sizes and seeds are drawn
+     * from the plan seed up front, so the same plan always runs the same
+     * mazes whatever the number of workers.</p>
+     *
+     * @param plan Mazes to run.
+     * @param cache Cache to serve repeated mazes from, null to generate every maze.
+     * @return Throughput and latency report.
+     * @throws InterruptedException if interrupted while waiting for workers.
+     */
+    public static Report measure(final Plan plan, final MazeCache cache) throws InterruptedException {
+        final int[] sizes = new int[plan.count()];
+        final long[] seeds = new long[plan.count()];
+        plan.draw(sizes, seeds);
+        final long[] latencies = new long[plan.count()];
+        final AtomicInteger next = new AtomicInteger();
+
+        final List<Callable<Long>> workers = new ArrayList<>(plan.parallelism());
+        for (int i = 0; i < plan.parallelism(); i++) {
+            workers.add(() -> {
+                long cells = 0;
+                long begin;
+                for (int index = next.getAndIncrement(); index < sizes.length; index = next.getAndIncrement()) {
+                    begin = System.nanoTime();
+                    if (cache == null) {
+                        final Maze maze = new Maze(sizes[index], seeds[index]);
+                        new MazeGenerator(maze, plan.mode());
+                        new MazeResolver(maze).resolveMaze();
+                    } else {
+                        cache.get(sizes[index], seeds[index], plan.mode());
+                    }
+                    latencies[index] = System.nanoTime() - begin;
+                    cells += (long) sizes[index] * sizes[index];
+                }
+                return cells;
+            });
+        }
+
+        long cells = 0;
+        final ForkJoinPool pool = new ForkJoinPool(plan.parallelism());
+        final long begin = System.nanoTime();
+        try {
+            for (Future<Long> future : pool.invokeAll(workers)) {
+                cells += future.get();
+            }
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException("Maze batch task failed", ex.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        final long elapsed = System.nanoTime() - begin;
+        Arrays.sort(latencies);
+        return new Report(plan.count(), cells, elapsed, latencies);
+    }
+
+    /**
+     * Outcome of generating and resolving one maze.
+     *
+     * @param index Position of the maze in its batch.
+     * @param maze Generated maze.
+     * @param resolver Resolver holding distances for maze.
+     * @param elapsedNanos Time taken to generate and resolve.
+     */
+    public record Result(int index, Maze maze, MazeResolver resolver, long elapsedNanos) {
+
+        /**
+         * Get distance from start to exit.
+         *
+         * @return Distance from start to exit, -1 if unreachable.
+         */
+        public int startDistance() {
+            return resolver.getPointDistance(maze.getStart());
+        }
+    }
+
+    /**
+     * Mazes for {@link #measure(Plan, MazeCache)} to run.
+     *
+     * @param minSize Smallest maze size.
+     * @param maxSize Largest maze size, sizes are drawn uniformly from minSize - maxSize.
+     * @param count Number of mazes.
+     * @param parallelism Number of worker threads.
+     * @param seed Seed for drawing maze sizes and seeds.
+     * @param mode Generation mode.
+     * @param distinct Number of different mazes to draw from, repeating them, 0 for every maze different.
+     */
+    public record Plan(int minSize, int maxSize, int count, int parallelism, long seed, MazeGenerator.Mode mode,
+            int distinct) {
+
+        /**
+         * Plan record constraints.
+         */
+        public Plan {
+            if (minSize < 1 || maxSize > Maze.MAX_GRID_SIZE || minSize > maxSize) {
+                throw new IllegalArgumentException("Maze sizes out of range: " + minSize + "-" + maxSize);
+            }
+            if (count < 1 || parallelism < 1 || distinct < 0) {
+                throw new IllegalArgumentException("Count and threads must be positive, distinct not negative");
+            }
+            Objects.requireNonNull(mode);
+        }
+
+        /**
+         * Draw the size and seed of every maze.
+         *
+         * @param sizes Filled with maze sizes.
+         * @param seeds Filled with maze seeds.
+         */
+        void draw(final int[] sizes, final long[] seeds) {
+            final SplittableRandom random = new SplittableRandom(seed);
+            final int keys = distinct == 0 ? count : distinct;
+            final int[] keySizes = distinct == 0 ? sizes : new int[keys];
+            final long[] keySeeds = distinct == 0 ? seeds : new long[keys];
+            for (int i = 0; i < keys; i++) {
+                keySizes[i] = random.nextInt(minSize, maxSize + 1);
+                keySeeds[i] = random.nextLong();
+            }
+            if (distinct > 0) {
+                int key;
+                for (int i = 0; i < count; i++) {
+                    key = random.nextInt(keys);
+                    sizes[i] = keySizes[key];
+                    seeds[i] = keySeeds[key];
+                }
+            }
+        }
+    }
+
+    /**
+     * Throughput and latency of a measured batch.
+     *
+     * @param count Number of mazes.
+     * @param cells Total cells of every maze.
+     * @param elapsedNanos Wall clock time for the batch.
+     * @param latencies Time to generate and resolve each maze in nanoseconds, sorted.
+     */
+    public record Report(int count, long cells, long elapsedNanos, long[] latencies) {
+
+        /**
+         * Nanoseconds per second.
+         */
+        private static final double NANOS_PER_SECOND = 1e9;
+        /**
+         * Whole of a percentage.
+         */
+        private static final double PERCENT = 100;
+
+        /**
+         * Get mazes completed per second.
+         *
+         * @return Mazes per second.
+         */
+        public double mazesPerSecond() {
+            return count * NANOS_PER_SECOND / elapsedNanos;
+        }
+
+        /**
+         * Get cells generated and resolved per second.
+         *
+         * @return Cells per second.
+         */
+        public double cellsPerSecond() {
+            return cells * NANOS_PER_SECOND / elapsedNanos;
+        }
+
+        /**
+         * Get a latency percentile, by nearest rank.
+         *
+         * @param percent Percentile, 0 - 100.
+         * @return Latency in nanoseconds.
+         */
+        public long percentile(final double percent) {
+            final int rank = (int) Math.ceil(percent / PERCENT * latencies.length);
+            return latencies[Math.max(0, Math.min(latencies.length, rank) - 1)];
+        }
+
+        /**
+         * Get the longest latency.
+         *
+         * @return Latency in nanoseconds.
+         */
+        public long maxLatency() {
+            return latencies[latencies.length - 1];
+        }
+    }
+}
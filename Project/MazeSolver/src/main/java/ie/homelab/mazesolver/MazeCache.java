@@ -0,0 +1,300 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded cache of generated and resolved mazes.
+ *
+ * <p>Mazes are deterministic in size, seed and generation mode, so a repeated
+ * request is served from the cache, skipping both generation and resolving.
+ * Entries are weighed by the bytes of their grid and distances and the least
+ * recently used are evicted once the total passes the capacity. An entry
+ * heavier than the whole capacity is returned but not kept.</p>
+ *
+ * <p>Thread-safe. Generation runs outside the lock, and a request for a key
+ * already being generated waits for that result rather than generating it
+ * again. Cached mazes and resolvers are shared between callers and must not
+ * be changed, e.g. by resolving again.</p>
+ *
+ * <p>{@link #getShared()} is the process-wide instance the window generates
+ * through, so restarting a maze with the same size and seed is not generated
+ * twice.</p>
+ *
+ * @author derek
+ */
+public final class MazeCache {
+
+    /**
+     * Default capacity, 256MB.
+     */
+    public static final long DEFAULT_CAPACITY = 256L << 20;
+    /**
+     * Estimated bytes of objects around an entry's arrays.
+     */
+    private static final long ENTRY_OVERHEAD = 256;
+    /**
+     * Cells per packed grid word.
+     */
+    private static final int CELLS_PER_WORD = 32;
+
+    /**
+     * Most bytes held.
+     */
+    private final long capacity;
+    /**
+     * Cached entries, least recently used first.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Entries being generated, by key.
+     */
+    private final Map<Key, CompletableFuture<Entry>> loading = new HashMap<>();
+    /**
+     * Bytes held.
+     */
+    private long weight;
+    /**
+     * Requests served without generating.
+     */
+    private long hits;
+    /**
+     * Requests that generated.
+     */
+    private long misses;
+    /**
+     * Entries evicted to make room.
+     */
+    private long evictions;
+
+    /**
+     * Default constructor with the default capacity.
+     */
+    public MazeCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param capacityValue Most bytes held, at least 1.
+     */
+    public MazeCache(final long capacityValue) {
+        if (capacityValue < 1) {
+            throw new IllegalArgumentException("Cache capacity out of range: " + capacityValue);
+        }
+        this.capacity = capacityValue;
+    }
+
+    /**
+     * Get the process-wide cache, created with the default capacity on first use.
+     *
+     * @return Shared cache.
+     */
+    public static MazeCache getShared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Get a generated and resolved maze, from the cache if held.
+     *
+     * @param mazeSize Maze size.
+     * @param seed Maze seed.
+     * @param mode Generation mode.
+     * @return Maze with its resolved distances.
+     */
+    public Entry get(final int mazeSize, final long seed, final MazeGenerator.Mode mode) {
+        final Key key = new Key(mazeSize, seed, mode);
+        Entry output;
+        CompletableFuture<Entry> pending = null;
+        boolean loader = false;
+        synchronized (this) {
+            output = entries.get(key);
+            if (output == null) {
+                pending = loading.get(key);
+                if (pending == null) {
+                    pending = new CompletableFuture<>();
+                    loading.put(key, pending);
+                    loader = true;
+                    misses++;
+                } else {
+                    hits++;
+                }
+            } else {
+                hits++;
+            }
+        }
+        if (loader) {
+            try {
+                output = load(key);
+                pending.complete(output);
+            } catch (final RuntimeException | Error ex) {
+                // Errors too, e.g. OutOfMemoryError on a large maze, or waiting callers block forever.
+                pending.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                store(key, output);
+            }
+        } else if (output == null) {
+            output = pending.join();
+        }
+        return output;
+    }
+
+    /**
+     * Remove every entry. Statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Getter for the capacity.
+     *
+     * @return Most bytes held.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get a snapshot of the cache statistics.
+     *
+     * @return Statistics.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, entries.size(), weight);
+    }
+
+    /**
+     * Estimate the bytes held for a maze.
+     *
+     * @param mazeSize Maze size.
+     * @return Packed grid, distance and object bytes.
+     */
+    static long weigh(final int mazeSize) {
+        final long cells = (long) mazeSize * mazeSize;
+        return (cells + CELLS_PER_WORD - 1) / CELLS_PER_WORD * Long.BYTES + cells * Integer.BYTES + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * Generate and resolve a maze.
+     *
+     * @param key Maze to create.
+     * @return New entry.
+     */
+    private static Entry load(final Key key) {
+        final Maze maze = new Maze(key.mazeSize(), key.seed());
+        new MazeGenerator(maze, key.mode());
+        final MazeResolver resolver = new MazeResolver(maze);
+        resolver.resolveMaze();
+        resolver.releaseSearchBuffers();
+        return new Entry(maze, resolver, weigh(key.mazeSize()));
+    }
+
+    /**
+     * Finish loading a key, caching the entry if it fits.
+     *
+     * @param key Key loaded.
+     * @param entry Entry loaded, null if loading failed.
+     */
+    private synchronized void store(final Key key, final Entry entry) {
+        loading.remove(key);
+        if (entry != null && entry.weight() <= capacity) {
+            entries.put(key, entry);
+            weight += entry.weight();
+            final Iterator<Entry> eldest = entries.values().iterator();
+            Entry evicted;
+            while (weight > capacity) {
+                evicted = eldest.next();
+                eldest.remove();
+                weight -= evicted.weight();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Holder for the shared cache, so it is only created when first used.
+     */
+    private static final class Shared {
+
+        /**
+         * Shared cache.
+         */
+        private static final MazeCache INSTANCE = new MazeCache();
+    }
+
+    /**
+     * Cache key.
+     *
+     * @param mazeSize Maze size.
+     * @param seed Maze seed.
+     * @param mode Generation mode.
+     */
+    public record Key(int mazeSize, long seed, MazeGenerator.Mode mode) {
+    }
+
+    /**
+     * Cached maze.
+     *
+     * @param maze Generated maze, not to be changed.
+     * @param resolver Resolver holding distances for maze, not to be resolved again.
+     * @param weight Estimated bytes held.
+     */
+    public record Entry(Maze maze, MazeResolver resolver, long weight) {
+
+        /**
+         * Get distance from start to exit.
+         *
+         * @return Distance from start to exit, -1 if unreachable.
+         */
+        public int startDistance() {
+            return resolver.getPointDistance(maze.getStart());
+        }
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @param hits Requests served without generating, including those that waited for another request.
+     * @param misses Requests that generated.
+     * @param evictions Entries evicted to make room.
+     * @param entries Entries held.
+     * @param weight Estimated bytes held.
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long weight) {
+
+        /**
+         * Get the share of requests served without generating.
+         *
+         * @return Hit rate 0 - 1, 0 if no requests.
+         */
+        public double hitRate() {
+            final long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+}
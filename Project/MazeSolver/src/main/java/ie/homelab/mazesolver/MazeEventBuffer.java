@@ -0,0 +1,220 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded ring buffer of maze events between one engine thread and one consumer thread.
+ *
+ * <p>The engine side never blocks and never allocates: each event is packed
+ * into a {@code long} slot and slots are published to the consumer in
+ * batches of {@link #BATCH}, and at the end of each phase. When the consumer
+ * falls a whole ring behind, new events are dropped and counted rather than
+ * slowing the engine, so memory stays at the ring whatever the maze size.</p>
+ *
+ * <p>Only one thread may deliver events and only one may drain them. A
+ * buffer is used for one generation and resolve, then discarded.</p>
+ *
+ * @author derek
+ */
+public final class MazeEventBuffer implements MazeListener {
+
+    /**
+     * Default capacity in events, 512KB of slots.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    /**
+     * Events written between publications to the consumer.
+     */
+    public static final int BATCH = 64;
+    /**
+     * Bit position of the value within a packed event.
+     */
+    private static final int VALUE_SHIFT = 32;
+    /**
+     * Mask selecting a value, 31 bits.
+     */
+    private static final long VALUE_MASK = 0x7FFF_FFFFL;
+    /**
+     * Mask selecting the cell index.
+     */
+    private static final long INDEX_MASK = 0xFFFF_FFFFL;
+    /**
+     * Event kinds by ordinal.
+     */
+    private static final Kind[] KINDS = Kind.values();
+
+    /**
+     * Event slots.
+     */
+    private final long[] ring;
+    /**
+     * Mask converting a sequence number to a slot.
+     */
+    private final int mask;
+    /**
+     * Sequence number of the next event to drain, written by the consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * Sequence number after the last event published, written by the engine.
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * Events dropped because the ring was full.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+    /**
+     * Sequence number at the end of each phase by kind, -1 until finished.
+     */
+    private final AtomicLongArray finishedAt = new AtomicLongArray(KINDS.length);
+    /**
+     * Sequence number of the next event written, engine thread only.
+     */
+    private long written;
+    /**
+     * Last head seen by the engine thread, refreshed only when the ring looks full.
+     */
+    private long headSeen;
+
+    /**
+     * Default constructor with DEFAULT_CAPACITY slots.
+     */
+    public MazeEventBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param capacity Slots, a power of two of at least BATCH.
+     */
+    public MazeEventBuffer(final int capacity) {
+        if (capacity < BATCH || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least " + BATCH + ": "
+                    + capacity);
+        }
+        this.ring = new long[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < KINDS.length; i++) {
+            finishedAt.set(i, -1);
+        }
+    }
+
+    @Override
+    public void cellChanged(final Kind kind, final int index, final int value) {
+        if (written - headSeen == ring.length) {
+            headSeen = head.get();
+        }
+        if (written - headSeen == ring.length) {
+            dropped.incrementAndGet();
+        } else {
+            ring[(int) written & mask] = (long) kind.ordinal() << (Long.SIZE - 1)
+                    | (value & VALUE_MASK) << VALUE_SHIFT | index & INDEX_MASK;
+            written++;
+            if ((written & (BATCH - 1)) == 0) {
+                tail.lazySet(written);
+            }
+        }
+    }
+
+    @Override
+    public void finished(final Kind kind) {
+        tail.set(written);
+        finishedAt.set(kind.ordinal(), written);
+    }
+
+    /**
+     * Take published events, oldest first.
+     *
+     * @param target Filled with packed events from index 0.
+     * @param max Most events to take.
+     * @return Number of events taken.
+     */
+    public int drain(final long[] target, final int max) {
+        final long first = head.get();
+        final int output = (int) Math.min(Math.min(max, target.length), tail.get() - first);
+        for (int i = 0; i < output; i++) {
+            target[i] = ring[(int) (first + i) & mask];
+        }
+        // Release the slots only after they have been read.
+        head.lazySet(first + output);
+        return output;
+    }
+
+    /**
+     * Check a phase has finished and all its events have been drained.
+     *
+     * @param kind CARVED for generation, VISITED for the resolve.
+     * @return Finished true/false.
+     */
+    public boolean isFinished(final Kind kind) {
+        final long end = finishedAt.get(kind.ordinal());
+        return end >= 0 && head.get() >= end;
+    }
+
+    /**
+     * Getter for the number of events dropped because the ring was full.
+     *
+     * @return Dropped events.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Getter for the capacity.
+     *
+     * @return Slots.
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Get the kind of a packed event.
+     *
+     * @param event Packed event.
+     * @return Event kind.
+     */
+    public static Kind kind(final long event) {
+        return KINDS[(int) (event >>> (Long.SIZE - 1))];
+    }
+
+    /**
+     * Get the cell index of a packed event.
+     *
+     * @param event Packed event.
+     * @return row-major cell index.
+     */
+    public static int index(final long event) {
+        return (int) (event & INDEX_MASK);
+    }
+
+    /**
+     * Get the value of a packed event.
+     *
+     * @param event Packed event.
+     * @return Cell value when carved, distance when visited.
+     */
+    public static int value(final long event) {
+        return (int) (event >>> VALUE_SHIFT & VALUE_MASK);
+    }
+}
@@ -19,26 +19,80 @@ package ie.homelab.mazesolver;
  */
 import ie.homelab.mazesolver.model.Maze;
 import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Stack;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Generate maze content.<br>Generator ensures a path from start to finish.
  *
+ * <p>A generator works on the single maze it was constructed with and should
+ * be confined to one thread.</p>
+ *
+ * <p>The algorithm is chosen by {@link Mode}, or supplied as a
+ * {@link GenerationStrategy}.</p>
+ *
+ * <p>A {@link MazeListener} given at construction is told of every cell
+ * carved, on the generating thread. Without one the grid is written
+ * directly.</p>
+ *
+ * <p>The STACK and PRIMITIVE modes check the generating thread's interrupt
+ * status every {@link #INTERRUPT_CHECK_STEPS} steps and abandon the maze,
+ * half carved, with a {@link CancellationException} once it is set, so a
+ * cancelled {@code SwingWorker} stops generating a large maze.</p>
+ *
  * @author derek
  */
 public class MazeGenerator {
 
+    /**
+     * Steps between checks of the interrupt status, a power of two.
+     */
+    public static final int INTERRUPT_CHECK_STEPS = 1 << 16;
     /**
      * Search distance.
      */
     private static final int DIST = 2;
+    /**
+     * Number of search directions.
+     */
+    private static final int DIRECTION_COUNT = 4;
     /**
      * Maze data object.
      */
-    private static Maze maze;
+    private final Maze maze;
+    /**
+     * Generation mode.
+     */
+    private final Mode mode;
+    /**
+     * Random source shared by every step of a generation, seeded from the maze.
+     */
+    private SplittableRandom random;
+    /**
+     * Stack of row-major cell indexes, reused between generations.
+     */
+    private int[] stack;
+    /**
+     * Scratch space for the unvisited neighbours of the cell on top of the stack.
+     */
+    private final int[] candidates = new int[DIRECTION_COUNT];
+    /**
+     * Generation algorithm, null for the built-in DFS modes.
+     */
+    private final GenerationStrategy strategy;
+    /**
+     * Deepest stack of the last generation.
+     */
+    private int stackHighWater;
+    /**
+     * Listener told of every cell carved, null for none.
+     */
+    private final MazeListener listener;
 
     /**
      * Parameterised MazeGenerator constructor.
@@ -46,10 +100,92 @@ public class MazeGenerator {
      * @param incomingMaze Maze data Object.
      */
     public MazeGenerator(final Maze incomingMaze) {
-        MazeGenerator.maze = incomingMaze;
+        this(incomingMaze, Mode.PRIMITIVE);
+    }
+
+    /**
+     * Parameterised MazeGenerator constructor.
+     *
+     * @param incomingMaze Maze data Object.
+     * @param modeValue Generation mode.
+     */
+    public MazeGenerator(final Maze incomingMaze, final Mode modeValue) {
+        this(incomingMaze, modeValue, ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Parameterised MazeGenerator constructor reporting progress.
+     *
+     * @param incomingMaze Maze data Object.
+     * @param modeValue Generation mode.
+     * @param listenerValue Listener told of every cell carved, null for none.
+     */
+    public MazeGenerator(final Maze incomingMaze, final Mode modeValue, final MazeListener listenerValue) {
+        this(incomingMaze, modeValue, ForkJoinPool.commonPool(), listenerValue);
+    }
+
+    /**
+     * Parameterised MazeGenerator constructor for TILED mode on a given pool.
+     *
+     * @param incomingMaze Maze data Object.
+     * @param poolValue Worker pool, its parallelism sets the number of cores used.
+     */
+    public MazeGenerator(final Maze incomingMaze, final ForkJoinPool poolValue) {
+        this(incomingMaze, Mode.TILED, poolValue, null);
+    }
+
+    /**
+     * Parameterised MazeGenerator constructor.
+     *
+     * @param incomingMaze Maze data Object.
+     * @param modeValue Generation mode.
+     * @param poolValue Worker pool for TILED mode.
+     * @param listenerValue Listener told of every cell carved, null for none.
+     */
+    private MazeGenerator(final Maze incomingMaze, final Mode modeValue, final ForkJoinPool poolValue,
+            final MazeListener listenerValue) {
+        this.maze = incomingMaze;
+        this.mode = modeValue;
+        this.strategy = strategyFor(modeValue, poolValue);
+        this.listener = listenerValue;
         generateMaze();
     }
 
+    /**
+     * Parameterised MazeGenerator constructor for a custom algorithm.
+     *
+     * @param incomingMaze Maze data Object.
+     * @param strategyValue Generation algorithm.
+     */
+    public MazeGenerator(final Maze incomingMaze, final GenerationStrategy strategyValue) {
+        this.maze = incomingMaze;
+        this.mode = null;
+        this.strategy = strategyValue;
+        this.listener = null;
+        generateMaze();
+    }
+
+    /**
+     * Get the algorithm behind a generation mode.
+     *
+     * @param modeValue Generation mode.
+     * @param poolValue Worker pool for TILED mode.
+     * @return Generation algorithm, null for the built-in DFS modes.
+     */
+    private static GenerationStrategy strategyFor(final Mode modeValue, final ForkJoinPool poolValue) {
+        final GenerationStrategy output;
+        switch (modeValue) {
+            case TILED -> output = new TiledGenerator(poolValue);
+            case KRUSKAL -> output = new KruskalGenerator();
+            case PRIM -> output = new PrimGenerator();
+            case ELLER -> output = new EllerGenerator();
+            case WILSON -> output = new WilsonGenerator();
+            case BINARY_TREE -> output = new BinaryTreeGenerator();
+            default -> output = null;
+        }
+        return output;
+    }
+
     /**
      * Get list of unvisited neighbours to point p.
      *
@@ -57,7 +193,7 @@ public class MazeGenerator {
      * @param grid Grid data.
      * @return List of Points.
      */
-    private List<Point> getUnvisitedNeighbours(final Point p, final int[][] grid) {
+    private List<Point> getUnvisitedNeighbours(final Point p, final MazeGrid grid) {
         List<Point> output = new ArrayList<>();
 
         // below, above,left, right.
@@ -68,48 +204,287 @@ public class MazeGenerator {
             nx = p.x() + dir[0];
             ny = p.y() + dir[1];
 
-            // Unvisited Neighbours are in bounds and contain a wall or an exit.
-            if (Maze.isInBounds(nx, ny) && (grid[nx][ny] == '#' || grid[nx][ny] == 'X')) {
+            // Unvisited Neighbours are in bounds and contain a wall or an exit not yet carved into.
+            if (maze.isInBounds(nx, ny) && (grid.get(nx, ny) == Maze.WALL
+                    || grid.get(nx, ny) == Maze.EXIT && isUnvisitedExit(nx, ny, grid))) {
                 output.add(new Maze.Point(nx, ny));
             }
         }
         return output;
     }
 
+    /**
+     * Check an exit cell has not yet been joined to the maze.
+     *
+     * <p>The exit keeps its 'X' value once carved into, so it counts as visited
+     * as soon as any adjacent cell is open. Without this check the exit is
+     * pushed again every time a neighbour is revisited and generation never ends.</p>
+     *
+     * @param x x coordinate of the exit.
+     * @param y y coordinate of the exit.
+     * @param grid Grid data.
+     * @return Unvisited true/false.
+     */
+    private boolean isUnvisitedExit(final int x, final int y, final MazeGrid grid) {
+        return !(maze.isInBounds(x, y - 1) && grid.isOpen(x, y - 1)
+                || maze.isInBounds(x, y + 1) && grid.isOpen(x, y + 1)
+                || maze.isInBounds(x - 1, y) && grid.isOpen(x - 1, y)
+                || maze.isInBounds(x + 1, y) && grid.isOpen(x + 1, y));
+    }
+
     /**
      * Generate a maze path.
      */
     public final void generateMaze() {
+        final GenerateEvent event = new GenerateEvent();
+        final boolean measuring = MazeMetrics.collecting() || event.isEnabled();
+        long open = 0;
+        long allocated = 0;
+        long begin = 0;
+        if (measuring) {
+            open = maze.getMazeGrid().countOpen();
+            allocated = MazeMetrics.allocatedBytes();
+            event.begin();
+            begin = System.nanoTime();
+        }
+
+        generate();
+
+        if (measuring) {
+            final long elapsed = System.nanoTime() - begin;
+            event.end();
+            final long carved = maze.getMazeGrid().countOpen() - open;
+            allocated = MazeMetrics.allocatedBytes() - allocated;
+            if (MazeMetrics.collecting()) {
+                MazeMetrics.getInstance().recordGeneration(elapsed, carved, stackHighWater, allocated);
+            }
+            if (event.shouldCommit()) {
+                event.mazeSize = maze.getMazeSize();
+                event.seed = maze.getSeed();
+                event.algorithm = mode == null ? strategy.getClass().getSimpleName() : mode.name();
+                event.cellsCarved = carved;
+                event.stackHighWater = stackHighWater;
+                event.allocated = allocated;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Getter for the deepest stack of the last generation.
+     *
+     * @return Stack high-water mark in cells, 0 for algorithms without a stack.
+     */
+    public int getStackHighWater() {
+        return stackHighWater;
+    }
+
+    /**
+     * Run the generation algorithm.
+     */
+    private void generate() {
+        // Split off the maze seed so choices are independent of those placing start and exit.
+        random = new SplittableRandom(maze.getSeed()).split();
+        stackHighWater = 0;
+        MazeGrid grid = maze.getMazeGrid();
+        if (listener != null) {
+            grid = new ListeningMazeGrid(grid, listener);
+        }
+        if (strategy != null) {
+            strategy.generate(grid, maze.getStart(), maze.getExit(), random);
+        } else if (mode == Mode.STACK) {
+            generateStack(grid);
+        } else {
+            generatePrimitive(grid);
+        }
+        if (listener != null) {
+            listener.finished(MazeListener.Kind.CARVED);
+        }
+    }
+
+    /**
+     * Generate a maze path with the original Point stack.
+     *
+     * @param grid Grid data.
+     */
+    private void generateStack(final MazeGrid grid) {
         // Randomized DFS Backtracking
         final Stack<Point> queue = new Stack<>();
 
-        int[][] grid = maze.getGrid();
         Maze.Point start = maze.getStart();
         queue.push(start); // Push start position onto stack.
-        grid[start.x()][start.y()] = '.'; // ensure start position holds a path value.
+        grid.set(start.x(), start.y(), Maze.PATH); // ensure start position holds a path value.
+        stackHighWater = queue.size();
         Point current;
         List<Point> neighbours;
         int wallX;
         int wallY;
+        long steps = 0;
         while (!queue.isEmpty()) {
+            checkInterrupted(++steps);
             current = queue.peek();
             neighbours = getUnvisitedNeighbours(current, grid);
             if (!neighbours.isEmpty()) {
                 // Select a random neighbour
-                Maze.Point next = neighbours.get(new Random().nextInt(neighbours.size()));
+                Maze.Point next = neighbours.get(random.nextInt(neighbours.size()));
                 wallX = (current.x() + next.x()) / 2;
                 wallY = (current.y() + next.y()) / 2;
-                if (grid[wallX][wallY] != 'X') {
-                    grid[wallX][wallY] = '.'; // Mark the wall between current and next as path.
+                if (grid.get(wallX, wallY) != Maze.EXIT) {
+                    grid.set(wallX, wallY, Maze.PATH); // Mark the wall between current and next as path.
                 }
                 // Mark neighbour as path and move on.
-                if (grid[next.x()][next.y()] != 'X') {
-                    grid[next.x()][next.y()] = '.';
+                if (grid.get(next.x(), next.y()) != Maze.EXIT) {
+                    grid.set(next.x(), next.y(), Maze.PATH);
                 }
                 queue.push(next);
+                stackHighWater = Math.max(stackHighWater, queue.size());
             } else {
                 queue.pop(); // No neighbours to investigate.
             }
         }
     }
+
+    /**
+     * Generate a maze path with a primitive stack of cell indexes.
+     *
+     * <p>Same randomized DFS backtracking as the original mode, but cells are
+     * flat indexes on an {@code int[]} stack, neighbours are collected into a
+     * reused scratch array and one random source serves every step, so no
+     * objects are created per step.</p>
+     *
+     * @param grid Grid data.
+     */
+    private void generatePrimitive(final MazeGrid grid) {
+        final int size = maze.getMazeSize();
+        final int step = DIST * size;
+        // Cells visited by the DFS share the parity of the start cell.
+        final int lattice = (size + 1) / DIST;
+        if (stack == null || stack.length != lattice * lattice) {
+            stack = new int[lattice * lattice];
+        }
+
+        final Maze.Point exit = maze.getExit();
+        final int exitIndex = grid.index(exit.x(), exit.y());
+        final int startIndex = grid.index(maze.getStart().x(), maze.getStart().y());
+        // An exit on the start cell is already joined, pushing it again would overflow the stack.
+        boolean exitJoined = exitIndex == startIndex || !isUnvisitedExit(exit.x(), exit.y(), grid);
+
+        grid.set(startIndex, Maze.PATH); // ensure start position holds a path value.
+        int top = 0;
+        stack[top++] = startIndex;
+
+        int current;
+        int next;
+        int count;
+        int x;
+        int y;
+        int peak = top;
+        long steps = 0;
+        while (top > 0) {
+            checkInterrupted(++steps);
+            current = stack[top - 1];
+            x = current % size;
+            y = current / size;
+            // below, above, left, right.
+            count = 0;
+            if (y >= DIST) {
+                count = addCandidate(grid, current - step, exitIndex, exitJoined, count);
+            }
+            if (y < size - DIST) {
+                count = addCandidate(grid, current + step, exitIndex, exitJoined, count);
+            }
+            if (x >= DIST) {
+                count = addCandidate(grid, current - DIST, exitIndex, exitJoined, count);
+            }
+            if (x < size - DIST) {
+                count = addCandidate(grid, current + DIST, exitIndex, exitJoined, count);
+            }
+
+            if (count > 0) {
+                // Select a random neighbour, open the wall between and move on.
+                next = candidates[count == 1 ? 0 : random.nextInt(count)];
+                if (grid.get((current + next) / DIST) != Maze.EXIT) {
+                    grid.set((current + next) / DIST, Maze.PATH);
+                }
+                if (next == exitIndex) {
+                    exitJoined = true;
+                } else {
+                    grid.set(next, Maze.PATH);
+                }
+                stack[top++] = next;
+                peak = Math.max(peak, top);
+            } else {
+                top--; // No neighbours to investigate.
+            }
+        }
+        stackHighWater = peak;
+    }
+
+    /**
+     * Abandon generation if the thread has been interrupted, checking every INTERRUPT_CHECK_STEPS steps.
+     *
+     * @param steps Steps taken so far.
+     */
+    private static void checkInterrupted(final long steps) {
+        if ((steps & (INTERRUPT_CHECK_STEPS - 1)) == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Maze generation interrupted");
+        }
+    }
+
+    /**
+     * Record a neighbour cell as a candidate if it has not been visited.
+     *
+     * @param grid Grid data.
+     * @param index Neighbour cell index.
+     * @param exitIndex Exit cell index.
+     * @param exitJoined Exit already joined to the maze true/false.
+     * @param count Number of candidates so far.
+     * @return New number of candidates.
+     */
+    private int addCandidate(final MazeGrid grid, final int index, final int exitIndex, final boolean exitJoined,
+            final int count) {
+        int output = count;
+        if (index == exitIndex ? !exitJoined : !grid.isOpen(index)) {
+            candidates[output++] = index;
+        }
+        return output;
+    }
+
+    /**
+     * Generation modes.
+     */
+    public enum Mode {
+        /**
+         * Randomized DFS backtracking over a primitive stack of cell indexes, allocation free per step.
+         */
+        PRIMITIVE,
+        /**
+         * Original randomized DFS backtracking using a {@link Stack} of Points.
+         */
+        STACK,
+        /**
+         * Spanning trees built per tile across a ForkJoinPool and joined into one perfect maze.
+         */
+        TILED,
+        /**
+         * Randomized Kruskal's algorithm over a union-find array.
+         */
+        KRUSKAL,
+        /**
+         * Randomized Prim's algorithm, growing from one cell.
+         */
+        PRIM,
+        /**
+         * Eller's algorithm, one row at a time in memory proportional to the maze width.
+         */
+        ELLER,
+        /**
+         * Wilson's loop-erased random walks, giving a uniform spanning tree.
+         */
+        WILSON,
+        /**
+         * Binary tree algorithm, each cell opening up or left, no working memory.
+         */
+        BINARY_TREE
+    }
 }
@@ -0,0 +1,63 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+/**
+ * Receives cell by cell progress from {@link MazeGenerator} and {@link MazeResolver}.
+ *
+ * <p>Events are delivered on the thread running the engine, while it runs,
+ * so implementations must be quick and must not block, e.g. hand events to a
+ * {@link MazeEventBuffer}. An engine without a listener creates no events
+ * and does no extra work.</p>
+ *
+ * @author derek
+ */
+public interface MazeListener {
+
+    /**
+     * A cell was carved or visited.
+     *
+     * @param kind Event kind.
+     * @param index row-major cell index.
+     * @param value Cell value when carved, distance from the exit when visited.
+     */
+    void cellChanged(Kind kind, int index, int value);
+
+    /**
+     * Generation or a resolve has delivered all its events.
+     *
+     * @param kind CARVED at the end of generation, VISITED at the end of a resolve.
+     */
+    default void finished(final Kind kind) {
+        // Nothing to flush by default.
+    }
+
+    /**
+     * Event kinds.
+     */
+    enum Kind {
+        /**
+         * Generation opened a cell.
+         */
+        CARVED,
+        /**
+         * A resolve gave a cell its distance from the exit, nearest cells first.
+         */
+        VISITED
+    }
+}
@@ -0,0 +1,298 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and timers for maze generation and resolving.
+ *
+ * <p>Disabled by default, or enabled at start up with the system property
+ * {@value #ENABLED_PROPERTY}=true. While disabled a generation or resolve
+ * costs one volatile read; the per cell work counts into locals that are
+ * kept either way. While enabled each generation and resolve adds its
+ * wall time, work counts, high-water marks and the bytes allocated by its
+ * thread, which misses allocation by TILED and PARALLEL worker threads.</p>
+ *
+ * <p>{@link #register()} publishes the metrics as the MXBean
+ * {@value #OBJECT_NAME}, which can also switch them on and off. Generations
+ * and resolves are also recorded as the JFR events
+ * {@code ie.homelab.mazesolver.Generate} and
+ * {@code ie.homelab.mazesolver.Resolve} whenever a recording enables them,
+ * independent of these metrics.</p>
+ *
+ * @author derek
+ */
+public final class MazeMetrics implements MazeMetricsMXBean {
+
+    /**
+     * System property enabling metrics at start up.
+     */
+    public static final String ENABLED_PROPERTY = "ie.homelab.mazesolver.metrics";
+    /**
+     * MXBean object name.
+     */
+    public static final String OBJECT_NAME = "ie.homelab.mazesolver:type=MazeMetrics";
+    /**
+     * Single instance.
+     */
+    private static final MazeMetrics INSTANCE = new MazeMetrics();
+    /**
+     * Thread allocation counter, null if the JVM has none.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    /**
+     * Collecting metrics true/false.
+     */
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Mazes generated.
+     */
+    private final LongAdder generations = new LongAdder();
+    /**
+     * Cells opened by generation.
+     */
+    private final LongAdder cellsCarved = new LongAdder();
+    /**
+     * Deepest generation stack.
+     */
+    private final LongAccumulator stackHighWater = new LongAccumulator(Math::max, 0);
+    /**
+     * Total generation wall time.
+     */
+    private final LongAdder generateNanos = new LongAdder();
+    /**
+     * Longest generation wall time.
+     */
+    private final LongAccumulator generateMaxNanos = new LongAccumulator(Math::max, 0);
+    /**
+     * Mazes resolved.
+     */
+    private final LongAdder resolves = new LongAdder();
+    /**
+     * Cells given a distance.
+     */
+    private final LongAdder cellsVisited = new LongAdder();
+    /**
+     * Largest resolve frontier.
+     */
+    private final LongAccumulator frontierPeak = new LongAccumulator(Math::max, 0);
+    /**
+     * Total resolve wall time.
+     */
+    private final LongAdder resolveNanos = new LongAdder();
+    /**
+     * Longest resolve wall time.
+     */
+    private final LongAccumulator resolveMaxNanos = new LongAccumulator(Math::max, 0);
+    /**
+     * Bytes allocated by generating and resolving threads.
+     */
+    private final LongAdder bytesAllocated = new LongAdder();
+
+    /**
+     * Singleton constructor.
+     */
+    private MazeMetrics() {
+        // Use getInstance().
+    }
+
+    /**
+     * Get the metrics.
+     *
+     * @return Single instance.
+     */
+    public static MazeMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the metrics MXBean with the platform MBean server, if not already registered.
+     *
+     * @return MXBean object name.
+     */
+    public static ObjectName register() {
+        try {
+            final ObjectName output = new ObjectName(OBJECT_NAME);
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            synchronized (INSTANCE) {
+                if (!server.isRegistered(output)) {
+                    server.registerMBean(INSTANCE, output);
+                }
+            }
+            return output;
+        } catch (final JMException ex) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, ex);
+        }
+    }
+
+    /**
+     * Check metrics are being collected, the fast path for instrumented code.
+     *
+     * @return Enabled true/false.
+     */
+    static boolean collecting() {
+        return enabled;
+    }
+
+    /**
+     * Get the bytes allocated so far by the calling thread.
+     *
+     * @return Bytes, 0 if the JVM cannot measure thread allocation.
+     */
+    static long allocatedBytes() {
+        return THREADS == null ? 0 : Math.max(0, THREADS.getCurrentThreadAllocatedBytes());
+    }
+
+    /**
+     * Add a generation.
+     *
+     * @param nanos Wall time.
+     * @param carved Cells opened.
+     * @param stackPeak Deepest stack.
+     * @param bytes Bytes allocated.
+     */
+    void recordGeneration(final long nanos, final long carved, final int stackPeak, final long bytes) {
+        generations.increment();
+        cellsCarved.add(carved);
+        stackHighWater.accumulate(stackPeak);
+        generateNanos.add(nanos);
+        generateMaxNanos.accumulate(nanos);
+        bytesAllocated.add(bytes);
+    }
+
+    /**
+     * Add a resolve.
+     *
+     * @param nanos Wall time.
+     * @param visited Cells given a distance.
+     * @param peak Largest frontier.
+     * @param bytes Bytes allocated.
+     */
+    void recordResolve(final long nanos, final int visited, final int peak, final long bytes) {
+        resolves.increment();
+        cellsVisited.add(visited);
+        frontierPeak.accumulate(peak);
+        resolveNanos.add(nanos);
+        resolveMaxNanos.accumulate(nanos);
+        bytesAllocated.add(bytes);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean value) {
+        enabled = value;
+    }
+
+    @Override
+    public long getGenerations() {
+        return generations.sum();
+    }
+
+    @Override
+    public long getCellsCarved() {
+        return cellsCarved.sum();
+    }
+
+    @Override
+    public long getStackHighWater() {
+        return stackHighWater.get();
+    }
+
+    @Override
+    public long getGenerateNanos() {
+        return generateNanos.sum();
+    }
+
+    @Override
+    public long getGenerateMaxNanos() {
+        return generateMaxNanos.get();
+    }
+
+    @Override
+    public long getResolves() {
+        return resolves.sum();
+    }
+
+    @Override
+    public long getCellsVisited() {
+        return cellsVisited.sum();
+    }
+
+    @Override
+    public long getFrontierPeak() {
+        return frontierPeak.get();
+    }
+
+    @Override
+    public long getResolveNanos() {
+        return resolveNanos.sum();
+    }
+
+    @Override
+    public long getResolveMaxNanos() {
+        return resolveMaxNanos.get();
+    }
+
+    @Override
+    public long getBytesAllocated() {
+        return bytesAllocated.sum();
+    }
+
+    @Override
+    public void reset() {
+        generations.reset();
+        cellsCarved.reset();
+        stackHighWater.reset();
+        generateNanos.reset();
+        generateMaxNanos.reset();
+        resolves.reset();
+        cellsVisited.reset();
+        frontierPeak.reset();
+        resolveNanos.reset();
+        resolveMaxNanos.reset();
+        bytesAllocated.reset();
+    }
+
+    /**
+     * Find the thread allocation counter and switch it on.
+     *
+     * @return Counter, null if the JVM has none.
+     */
+    private static com.sun.management.ThreadMXBean threads() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean output = null;
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            sun.setThreadAllocatedMemoryEnabled(true);
+            output = sun;
+        }
+        return output;
+    }
+}
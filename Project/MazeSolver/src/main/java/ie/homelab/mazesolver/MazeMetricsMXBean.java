@@ -0,0 +1,126 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+/**
+ * Management interface of {@link MazeMetrics}.
+ *
+ * <p>Counts and times cover every generation and resolve since the last
+ * reset made while metrics were enabled. High-water marks are the largest
+ * seen by any one generation or resolve.</p>
+ *
+ * @author derek
+ */
+public interface MazeMetricsMXBean {
+
+    /**
+     * Check metrics are being collected.
+     *
+     * @return Enabled true/false.
+     */
+    boolean isEnabled();
+
+    /**
+     * Start or stop collecting metrics.
+     *
+     * @param value Enabled true/false.
+     */
+    void setEnabled(boolean value);
+
+    /**
+     * Getter for the number of mazes generated.
+     *
+     * @return Generations.
+     */
+    long getGenerations();
+
+    /**
+     * Getter for the number of cells opened by generation.
+     *
+     * @return Cells carved.
+     */
+    long getCellsCarved();
+
+    /**
+     * Getter for the deepest generation stack, 0 for algorithms without one.
+     *
+     * @return Stack high-water mark in cells.
+     */
+    long getStackHighWater();
+
+    /**
+     * Getter for the total generation wall time.
+     *
+     * @return Nanoseconds.
+     */
+    long getGenerateNanos();
+
+    /**
+     * Getter for the longest generation wall time.
+     *
+     * @return Nanoseconds.
+     */
+    long getGenerateMaxNanos();
+
+    /**
+     * Getter for the number of mazes resolved.
+     *
+     * @return Resolves.
+     */
+    long getResolves();
+
+    /**
+     * Getter for the number of cells given a distance by resolving.
+     *
+     * @return Cells visited.
+     */
+    long getCellsVisited();
+
+    /**
+     * Getter for the largest resolve frontier.
+     *
+     * @return Frontier peak in cells.
+     */
+    long getFrontierPeak();
+
+    /**
+     * Getter for the total resolve wall time.
+     *
+     * @return Nanoseconds.
+     */
+    long getResolveNanos();
+
+    /**
+     * Getter for the longest resolve wall time.
+     *
+     * @return Nanoseconds.
+     */
+    long getResolveMaxNanos();
+
+    /**
+     * Getter for the bytes allocated by generating and resolving threads.
+     *
+     * @return Bytes, 0 if the JVM cannot measure thread allocation.
+     */
+    long getBytesAllocated();
+
+    /**
+     * Set every count, time and high-water mark back to 0.
+     */
+    void reset();
+}
@@ -0,0 +1,278 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.Move;
+
+/**
+ * A player walking a resolved maze from its start to the exit.
+ *
+ * <p>Every move is checked against the grid and scored against the resolved
+ * distance field in a few array lookups, nothing is searched again, so a
+ * move costs the same on a maze of any size. The player counts steps taken,
+ * detours (steps that brought them no closer to the exit) and moves blocked by
+ * a wall or the edge of the maze.</p>
+ *
+ * <p>Instances are not thread-safe and should be confined to one thread.</p>
+ *
+ * @author derek
+ */
+public class MazePlayer {
+
+    /**
+     * Maze played.
+     */
+    private final Maze maze;
+    /**
+     * Maze grid.
+     */
+    private final MazeGrid grid;
+    /**
+     * Resolved distances for the maze.
+     */
+    private final DistanceField field;
+    /**
+     * Shortest path queries for hints.
+     */
+    private final DistanceOracle oracle;
+    /**
+     * Maze size.
+     */
+    private final int size;
+    /**
+     * Fewest steps from the start to the exit, -1 if unreachable.
+     */
+    private final int optimal;
+    /**
+     * Current row-major cell index.
+     */
+    private int index;
+    /**
+     * Steps taken.
+     */
+    private int steps;
+    /**
+     * Steps that brought the player no closer to the exit.
+     */
+    private int detours;
+    /**
+     * Moves into a wall or off the maze.
+     */
+    private int blocked;
+
+    /**
+     * Parameterised MazePlayer constructor, placing the player on the maze start.
+     *
+     * @param mazeValue Generated maze.
+     * @param fieldValue Resolved distances for mazeValue, e.g. a resolved MazeResolver.
+     */
+    public MazePlayer(final Maze mazeValue, final DistanceField fieldValue) {
+        if (fieldValue.getMazeSize() != mazeValue.getMazeSize()) {
+            throw new IllegalArgumentException("Distances do not match maze size: " + fieldValue.getMazeSize());
+        }
+        this.maze = mazeValue;
+        this.grid = mazeValue.getMazeGrid();
+        this.field = fieldValue;
+        this.oracle = new DistanceOracle(fieldValue);
+        this.size = mazeValue.getMazeSize();
+        this.index = grid.index(mazeValue.getStart().x(), mazeValue.getStart().y());
+        this.optimal = fieldValue.getDistance(index);
+    }
+
+    /**
+     * Try a move.
+     *
+     * <p>Once the exit is reached further moves are ignored.</p>
+     *
+     * @param move Move.
+     * @return Outcome of the move.
+     */
+    public Outcome move(final Move move) {
+        final Outcome output;
+        final int x = index % size + move.getDx();
+        final int y = index / size + move.getDy();
+        if (isFinished()) {
+            output = Outcome.IGNORED;
+        } else if (x < 0 || x >= size || y < 0 || y >= size || !grid.isOpen(x, y)) {
+            blocked++;
+            output = Outcome.BLOCKED;
+        } else {
+            final int before = field.getDistance(index);
+            index = grid.index(x, y);
+            steps++;
+            final int after = field.getDistance(index);
+            if (after == 0) {
+                output = Outcome.EXITED;
+            } else if (after >= 0 && after < before) {
+                output = Outcome.CLOSER;
+            } else {
+                detours++;
+                output = Outcome.DETOUR;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Get the next move on a shortest path from the player to the exit.
+     *
+     * @return Best move, null at the exit or if unreachable.
+     */
+    public Move hint() {
+        return oracle.nextMove(getX(), getY());
+    }
+
+    /**
+     * Check the player has reached the exit.
+     *
+     * @return Finished true/false.
+     */
+    public boolean isFinished() {
+        return field.getDistance(index) == 0;
+    }
+
+    /**
+     * Getter for the maze played.
+     *
+     * @return Maze.
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Getter for the player position.
+     *
+     * @return row-major cell index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Getter for the player x coordinate.
+     *
+     * @return x coordinate
+     */
+    public int getX() {
+        return index % size;
+    }
+
+    /**
+     * Getter for the player y coordinate.
+     *
+     * @return y coordinate
+     */
+    public int getY() {
+        return index / size;
+    }
+
+    /**
+     * Get distance from the player to the exit.
+     *
+     * @return Distance to exit, -1 if unreachable.
+     */
+    public int getDistance() {
+        return field.getDistance(index);
+    }
+
+    /**
+     * Getter for steps taken.
+     *
+     * @return Steps taken.
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Getter for fewest steps from the start to the exit.
+     *
+     * @return Optimal path length, -1 if the exit is unreachable.
+     */
+    public int getOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Getter for detours, steps that brought the player no closer to the exit.
+     *
+     * @return Detours taken.
+     */
+    public int getDetours() {
+        return detours;
+    }
+
+    /**
+     * Getter for moves blocked by a wall or the edge of the maze.
+     *
+     * @return Blocked moves.
+     */
+    public int getBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Compare the steps taken with the optimal path, as the specification asks once the exit is reached.
+     *
+     * @return Comparison statement.
+     */
+    public String getComparison() {
+        final String output;
+        final int extra = steps - optimal;
+        if (optimal < 0) {
+            output = "The exit cannot be reached.";
+        } else if (extra <= 0) {
+            output = "You found the optimal path!";
+        } else if (extra == 1) {
+            output = "You took 1 extra step.";
+        } else {
+            output = "You took " + extra + " extra steps.";
+        }
+        return output;
+    }
+
+    /**
+     * Outcome of a move.
+     */
+    public enum Outcome {
+
+        /**
+         * A wall or the edge of the maze, the player did not move.
+         */
+        BLOCKED,
+        /**
+         * One step closer to the exit, on a shortest path.
+         */
+        CLOSER,
+        /**
+         * A step no closer to the exit.
+         */
+        DETOUR,
+        /**
+         * The step reached the exit.
+         */
+        EXITED,
+        /**
+         * Already at the exit, the player did not move.
+         */
+        IGNORED
+    }
+}
@@ -0,0 +1,502 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.RowSink;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.BitSet;
+
+/**
+ * Streaming text renderer for mazes.
+ *
+ * <p>Output is produced one row at a time into a reused ASCII row buffer and
+ * written straight to the target, so memory use depends on the maze width
+ * rather than the whole maze. The MAZE layer matches {@link Maze#toString()}
+ * and the DISTANCES layer matches the resolver distance table.</p>
+ *
+ * @author derek
+ */
+public class MazeRenderer {
+
+    /**
+     * Characters around each maze row, two edges and a newline.
+     */
+    private static final int ROW_EDGES = 3;
+    /**
+     * Longest distance cell, ten digits plus separator.
+     */
+    private static final int MAX_DISTANCE_CELL = 11;
+    /**
+     * Room for header and footer lines.
+     */
+    private static final int MIN_ROW = 64;
+    /**
+     * Radix for writing numbers.
+     */
+    private static final int RADIX = 10;
+    /**
+     * Solution path marker.
+     */
+    public static final int PATH_MARK = '*';
+    /**
+     * Start point marker.
+     */
+    public static final int START_MARK = 'P';
+
+    /**
+     * Maze data object.
+     */
+    private final Maze maze;
+    /**
+     * Resolved distances, may be null when only rendering the maze.
+     */
+    private final DistanceField distances;
+    /**
+     * Reused row buffer.
+     */
+    private byte[] row = new byte[0];
+    /**
+     * Channel view of row.
+     */
+    private ByteBuffer rowBuffer;
+    /**
+     * Reused character row for Writer targets.
+     */
+    private char[] chars;
+    /**
+     * Number of bytes in row.
+     */
+    private int length;
+
+    /**
+     * Parameterised constructor for rendering the maze only.
+     *
+     * @param mazeValue Maze to render.
+     */
+    public MazeRenderer(final Maze mazeValue) {
+        this(mazeValue, null);
+    }
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param mazeValue Maze to render.
+     * @param distancesValue Resolved distances for mazeValue, e.g. a resolved MazeResolver.
+     */
+    public MazeRenderer(final Maze mazeValue, final DistanceField distancesValue) {
+        this.maze = mazeValue;
+        this.distances = distancesValue;
+    }
+
+    /**
+     * Render a layer to a byte channel.
+     *
+     * @param layer Layer to render.
+     * @param target Output channel.
+     * @throws IOException if writing fails.
+     */
+    public void render(final Layer layer, final WritableByteChannel target) throws IOException {
+        render(layer, () -> {
+            rowBuffer.clear().limit(length);
+            while (rowBuffer.hasRemaining()) {
+                target.write(rowBuffer);
+            }
+        });
+    }
+
+    /**
+     * Render a layer to an output stream.
+     *
+     * @param layer Layer to render.
+     * @param target Output stream, not closed.
+     * @throws IOException if writing fails.
+     */
+    public void render(final Layer layer, final OutputStream target) throws IOException {
+        render(layer, () -> target.write(row, 0, length));
+    }
+
+    /**
+     * Render a layer to a character writer.
+     *
+     * @param layer Layer to render.
+     * @param target Writer, not closed.
+     * @throws IOException if writing fails.
+     */
+    public void render(final Layer layer, final Writer target) throws IOException {
+        render(layer, () -> {
+            if (chars == null || chars.length < row.length) {
+                chars = new char[row.length];
+            }
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) row[i];
+            }
+            target.write(chars, 0, length);
+        });
+    }
+
+    /**
+     * Render a layer row by row.
+     *
+     * @param layer Layer to render.
+     * @param sink Row consumer.
+     * @throws IOException if writing fails.
+     */
+    private void render(final Layer layer, final Sink sink) throws IOException {
+        if (layer != Layer.MAZE && distances == null) {
+            throw new IllegalStateException("Layer " + layer + " needs resolved distances");
+        }
+        final int size = maze.getMazeSize();
+        if (layer == Layer.DISTANCES) {
+            ensureRow(size * MAX_DISTANCE_CELL + 1);
+            for (int y = 0; y < size; y++) {
+                length = 0;
+                for (int x = 0; x < size; x++) {
+                    putDistance(distances.getDistance(y * size + x));
+                }
+                put('\n');
+                sink.write();
+            }
+        } else {
+            ensureRow(Math.max(size + ROW_EDGES, MIN_ROW));
+            final BitSet path = layer == Layer.SOLUTION ? solutionPath() : new BitSet();
+            renderGrid(path, sink);
+        }
+    }
+
+    /**
+     * Render the maze with its border, marking any solution path cells.
+     *
+     * @param path Solution path cells, one bit per row-major cell index.
+     * @param sink Row consumer.
+     * @throws IOException if writing fails.
+     */
+    private void renderGrid(final BitSet path, final Sink sink) throws IOException {
+        final MazeGrid grid = maze.getMazeGrid();
+        final int size = maze.getMazeSize();
+        final int startIndex = grid.index(maze.getStart().x(), maze.getStart().y());
+
+        putHeader(size, maze.getSeed(), sink);
+        putBorder(size, sink);
+
+        int index;
+        int value;
+        for (int y = 0; y < size; y++) {
+            length = 0;
+            put('|'); // Left edge
+            for (int x = 0; x < size; x++) {
+                index = y * size + x;
+                value = grid.get(index);
+                if (path.get(index)) {
+                    if (value != Maze.EXIT) {
+                        value = index == startIndex ? START_MARK : PATH_MARK;
+                    }
+                }
+                put(value);
+            }
+            put('|');
+            put('\n'); // Right edge
+            sink.write();
+        }
+        putBorder(size, sink);
+        putFooter(maze.getStart(), maze.getExit(), sink);
+    }
+
+    /**
+     * Write the maze header line.
+     *
+     * @param size Maze size.
+     * @param seed Maze seed.
+     * @param sink Row consumer.
+     * @throws IOException if writing fails.
+     */
+    private void putHeader(final int size, final long seed, final Sink sink) throws IOException {
+        length = 0;
+        put("Maze [ mazeSize=");
+        putNumber(size);
+        put(", seed=");
+        putNumber(seed);
+        put("]\n");
+        sink.write();
+    }
+
+    /**
+     * Write the start and exit footer line.
+     *
+     * @param start Start point.
+     * @param exit Exit point.
+     * @param sink Row consumer.
+     * @throws IOException if writing fails.
+     */
+    private void putFooter(final Maze.Point start, final Maze.Point exit, final Sink sink) throws IOException {
+        length = 0;
+        put("Player [");
+        putNumber(start.x());
+        put(",");
+        putNumber(start.y());
+        put("] )Exit [");
+        putNumber(exit.x());
+        put(",");
+        putNumber(exit.y());
+        put("]\n");
+        sink.write();
+    }
+
+    /**
+     * Mark the shortest path from start to exit, walking it one cell at a time.
+     *
+     * <p>One bit per cell at most, a path covering much of a 46340 x 46340
+     * maze needs 256MB rather than gigabytes of cell indexes.</p>
+     *
+     * @return Path cells, one bit per row-major cell index. Empty if the exit cannot be reached.
+     */
+    private BitSet solutionPath() {
+        final BitSet output = new BitSet();
+        final DistanceOracle oracle = new DistanceOracle(distances);
+        int index = maze.getMazeGrid().index(maze.getStart().x(), maze.getStart().y());
+        if (distances.getDistance(index) >= 0) {
+            while (index >= 0) {
+                output.set(index);
+                index = oracle.nextIndex(index);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Write a top or bottom border line.
+     *
+     * @param size Maze size.
+     * @param sink Row consumer.
+     * @throws IOException if writing fails.
+     */
+    private void putBorder(final int size, final Sink sink) throws IOException {
+        length = 0;
+        put('+');
+        for (int i = 0; i < size; i++) {
+            put('-');
+        }
+        put('+');
+        put('\n');
+        sink.write();
+    }
+
+    /**
+     * Append a distance table cell.
+     *
+     * @param value Distance, negative when unreached.
+     */
+    private void putDistance(final int value) {
+        if (value < 0) {
+            put("   ,");
+        } else {
+            if (value < RADIX) {
+                put("  ");
+            } else if (value < RADIX * RADIX) {
+                put(" ");
+            }
+            putNumber(value);
+            put(',');
+        }
+    }
+
+    /**
+     * Append a decimal number without creating a String.
+     *
+     * @param value Number to append.
+     */
+    private void putNumber(final long value) {
+        if (value < 0) {
+            put('-');
+        }
+        final int begin = length;
+        long remaining = value;
+        do {
+            put('0' + (int) Math.abs(remaining % RADIX));
+            remaining /= RADIX;
+        } while (remaining != 0);
+        // Digits were appended least significant first.
+        for (int i = begin, j = length - 1; i < j; i++, j--) {
+            final byte swap = row[i];
+            row[i] = row[j];
+            row[j] = swap;
+        }
+    }
+
+    /**
+     * Append ASCII text.
+     *
+     * @param text Text to append.
+     */
+    private void put(final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            put(text.charAt(i));
+        }
+    }
+
+    /**
+     * Append one ASCII character.
+     *
+     * @param value Character to append.
+     */
+    private void put(final int value) {
+        row[length++] = (byte) value;
+    }
+
+    /**
+     * Make sure the row buffer holds at least a number of bytes.
+     *
+     * @param capacity Bytes needed.
+     */
+    private void ensureRow(final int capacity) {
+        if (row.length < capacity) {
+            row = new byte[capacity];
+            rowBuffer = ByteBuffer.wrap(row);
+        }
+    }
+
+    /**
+     * Layers that can be rendered.
+     */
+    public enum Layer {
+        /**
+         * Maze walls, paths and exit, as {@link Maze#toString()}.
+         */
+        MAZE,
+        /**
+         * Table of distances from the exit.
+         */
+        DISTANCES,
+        /**
+         * Maze with the shortest path from start to exit marked.
+         */
+        SOLUTION
+    }
+
+    /**
+     * Renderer for a maze supplied one row at a time, e.g. by {@link MazeStreamer}.
+     *
+     * <p>Output matches the MAZE layer. The header is written on creation and
+     * the bottom border and footer when closed; the target is flushed but not
+     * closed.</p>
+     */
+    public static final class RowRenderer implements RowSink, Closeable {
+
+        /**
+         * Renderer owning the row buffer.
+         */
+        private final MazeRenderer renderer = new MazeRenderer(null);
+        /**
+         * Output stream.
+         */
+        private final OutputStream target;
+        /**
+         * Maze size.
+         */
+        private final int mazeSize;
+        /**
+         * Start point.
+         */
+        private final Maze.Point start;
+        /**
+         * Exit point.
+         */
+        private final Maze.Point exit;
+        /**
+         * Writes the renderer's current row to target.
+         */
+        private final Sink sink;
+        /**
+         * Rows accepted so far.
+         */
+        private int rows;
+
+        /**
+         * Parameterised constructor, writes the header.
+         *
+         * @param mazeSizeValue Maze size.
+         * @param seed Maze seed.
+         * @param startValue Start point.
+         * @param exitValue Exit point.
+         * @param targetValue Output stream, not closed.
+         * @throws IOException if writing fails.
+         */
+        public RowRenderer(final int mazeSizeValue, final long seed, final Maze.Point startValue,
+                final Maze.Point exitValue, final OutputStream targetValue) throws IOException {
+            this.mazeSize = mazeSizeValue;
+            this.start = startValue;
+            this.exit = exitValue;
+            this.target = targetValue;
+            this.sink = () -> target.write(renderer.row, 0, renderer.length);
+            renderer.ensureRow(Math.max(mazeSizeValue + ROW_EDGES, MIN_ROW));
+            renderer.putHeader(mazeSizeValue, seed, sink);
+            renderer.putBorder(mazeSizeValue, sink);
+        }
+
+        @Override
+        public void accept(final byte[] cells) throws IOException {
+            if (rows == mazeSize) {
+                throw new IllegalStateException("Maze already has " + mazeSize + " rows");
+            }
+            renderer.length = 0;
+            renderer.put('|'); // Left edge
+            for (int x = 0; x < mazeSize; x++) {
+                renderer.put(cells[x]);
+            }
+            renderer.put('|');
+            renderer.put('\n'); // Right edge
+            sink.write();
+            rows++;
+        }
+
+        /**
+         * Write the bottom border and footer.
+         *
+         * @throws IOException if writing fails or rows are missing.
+         */
+        @Override
+        public void close() throws IOException {
+            if (rows != mazeSize) {
+                throw new IOException("Incomplete maze, " + rows + " of " + mazeSize + " rows rendered");
+            }
+            renderer.putBorder(mazeSize, sink);
+            renderer.putFooter(start, exit, sink);
+            target.flush();
+        }
+    }
+
+    /**
+     * Consumer for one completed row.
+     */
+    @FunctionalInterface
+    private interface Sink {
+
+        /**
+         * Write the current row.
+         *
+         * @throws IOException if writing fails.
+         */
+        void write() throws IOException;
+    }
+}
@@ -19,18 +19,37 @@ package ie.homelab.mazesolver;
  */
 import ie.homelab.mazesolver.model.Maze;
 import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * MazeResolver. Used to resolve the shortest path from start point to exit point.
  *
+ * <p>A resolver holds the distances for the single maze it was constructed
+ * with and should be confined to one thread while resolving.</p>
+ *
+ * <p>A maze with several exits is resolved in one search seeded from every
+ * exit at once, giving each cell the distance to its nearest exit and that
+ * exit's ID, its position in {@link Maze#getExits()}. BFS mode labels cells
+ * with their exit as it goes; other modes label them afterwards in one pass
+ * over the cells in distance order. A single exit needs no labels.</p>
+ *
+ * <p>With a {@link MazeListener} set, each resolve is followed by one
+ * VISITED event per reached cell, nearest the exit first. The search itself
+ * is the same with or without a listener.</p>
+ *
  * @author derek
  */
-public class MazeResolver {
+public class MazeResolver implements DistanceField, PathSolver {
 
     /**
      * Logger.
@@ -40,26 +59,64 @@ public class MazeResolver {
     /**
      * Search distance.
      */
-    private static int DIST = 1;
+    private static final int DIST = 1;
 
     /**
      * Search directions.
      */
-    private static int[][] DIRECTIONS = {{0, -DIST}, {0, DIST}, {-DIST, 0}, {DIST, 0}};
+    private static final int[][] DIRECTIONS = {{0, -DIST}, {0, DIST}, {-DIST, 0}, {DIST, 0}};
     /**
      * Maze data object.
      */
-    private static Maze maze;
+    private final Maze maze;
+    /**
+     * Search mode.
+     */
+    private final Mode mode;
+    /**
+     * Array of distances from exit, indexed by row-major cell index.
+     */
+    private int[] distance;
+    /**
+     * Nearest exit ID by row-major cell index, null for a single exit or until labelled.
+     */
+    private int[] exitIds;
+    /**
+     * BFS queue of row-major cell indexes, reused between resolves.
+     */
+    private int[] queue;
+    /**
+     * Number of cells given a distance by the last resolve.
+     */
+    private int visited;
     /**
-     * Array of distances from exit.
+     * Worker pool for PARALLEL mode.
      */
-    private int[][] distance;
+    private final ForkJoinPool pool;
+    /**
+     * Parallel search state, reused between resolves.
+     */
+    private ParallelBfs parallelBfs;
+    /**
+     * Largest frontier of the last resolve.
+     */
+    private int frontierPeak;
+    /**
+     * Incremental update state, created on first use.
+     */
+    private DistanceRepair repair;
+    /**
+     * Listener told of every cell visited, null for none.
+     */
+    private MazeListener listener;
 
     /**
      * Default constructor.
      */
     public MazeResolver() {
-
+        this.maze = null;
+        this.mode = Mode.BFS;
+        this.pool = null;
     }
 
     /**
@@ -68,8 +125,31 @@ public class MazeResolver {
      * @param input Incoming maze.
      */
     public MazeResolver(final Maze input) {
-        maze = input;
+        this(input, Mode.BFS);
+    }
 
+    /**
+     * Parameterised constructor.
+     *
+     * @param input Incoming maze.
+     * @param modeValue Search mode.
+     */
+    public MazeResolver(final Maze input, final Mode modeValue) {
+        this.maze = input;
+        this.mode = modeValue;
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Parameterised constructor for PARALLEL mode on a given pool.
+     *
+     * @param input Incoming maze.
+     * @param poolValue Worker pool, its parallelism sets the number of cores used.
+     */
+    public MazeResolver(final Maze input, final ForkJoinPool poolValue) {
+        this.maze = input;
+        this.mode = Mode.PARALLEL;
+        this.pool = poolValue;
     }
 
     /**
@@ -79,40 +159,306 @@ public class MazeResolver {
      */
     public boolean resolveMaze() {
         final boolean output = true;
+        final ResolveEvent event = new ResolveEvent();
+        final boolean measuring = MazeMetrics.collecting() || event.isEnabled();
+        long allocated = 0;
+        long begin = 0;
+        if (measuring) {
+            allocated = MazeMetrics.allocatedBytes();
+            event.begin();
+            begin = System.nanoTime();
+        }
 
         // Track distances travelled from each point
-        distance = new int[maze.getGrid().length - 1][maze.getGrid().length - 1];
+        final int cells = maze.getMazeSize() * maze.getMazeSize();
+        if (distance == null || distance.length != cells) {
+            distance = new int[cells];
+        }
+        Arrays.fill(distance, -1);
+        exitIds = null;
+        if (maze.getExits().size() > 1 && mode == Mode.BFS) {
+            exitIds = new int[cells];
+        }
+
+        if (mode == Mode.STACK) {
+            resolveStack();
+        } else if (mode == Mode.PARALLEL) {
+            resolveParallel();
+        } else if (mode == Mode.BIT_PARALLEL) {
+            resolveBitParallel();
+        } else {
+            resolveBfs();
+        }
+        if (maze.getExits().size() > 1 && exitIds == null) {
+            labelExits();
+        }
+
+        if (measuring) {
+            final long elapsed = System.nanoTime() - begin;
+            event.end();
+            allocated = MazeMetrics.allocatedBytes() - allocated;
+            if (MazeMetrics.collecting()) {
+                MazeMetrics.getInstance().recordResolve(elapsed, visited, frontierPeak, allocated);
+            }
+            if (event.shouldCommit()) {
+                event.mazeSize = maze.getMazeSize();
+                event.mode = mode.name();
+                event.cellsVisited = visited;
+                event.frontierPeak = frontierPeak;
+                event.allocated = allocated;
+                event.commit();
+            }
+        }
+
+        if (listener != null) {
+            reportVisits();
+        }
+
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, renderDistances());
+        }
+        return output;
+    }
 
-        distance = initialiseDistances(distance);
+    /**
+     * Resolve distances with the original stack based search.
+     */
+    private void resolveStack() {
+        final MazeGrid grid = maze.getMazeGrid();
 
-        // Exit point distance from exit is 0
-        distance[maze.getExit().x()][maze.getExit().y()] = 0;
         Stack<Point> stack = new Stack<>();
-        // Make exit start point for reversing the maze.
-        stack.push(maze.getExit());
+        // Exit points distance from exit is 0, make them start points for reversing the maze.
+        for (Point exit : maze.getExits()) {
+            distance[grid.index(exit.x(), exit.y())] = 0;
+            stack.push(exit);
+        }
+        visited = stack.size();
+        frontierPeak = stack.size();
 
         Point current;
         int currentDistance;
         List<Point> neighbours;
         while (!stack.empty()) {
             current = stack.pop();
-            currentDistance = distance[current.x()][current.y()];
+            currentDistance = distance[grid.index(current.x(), current.y())];
             // Find neighbours for cell at top of stack
             neighbours = getUnvisitedNeighbours(current, distance);
 
             // Add neighbours to stack, record distance as current distance +1
             for (Point n : neighbours) {
                 // if neighbour not visited
-                if (distance[n.x()][n.y()] <= -1) {
+                if (distance[grid.index(n.x(), n.y())] <= -1) {
                     stack.push(n);
-                    distance[n.x()][n.y()] = currentDistance + 1;
+                    distance[grid.index(n.x(), n.y())] = currentDistance + 1;
+                    visited++;
                 }
             }
+            frontierPeak = Math.max(frontierPeak, stack.size());
         }
+    }
 
-        if (LOGGER.isLoggable(Level.FINE)) {
-            LOGGER.log(Level.FINE, renderDistances(distance));
-            System.out.println(renderDistances(distance));
+    /**
+     * Resolve distances with a breadth first search over flat cell indexes.
+     *
+     * <p>Every cell is enqueued at most once, so a queue with one slot per cell
+     * never wraps and no objects are created while searching. Every exit is
+     * enqueued first, and with several exits each cell takes the exit ID of
+     * the cell it was reached from.</p>
+     */
+    private void resolveBfs() {
+        final MazeGrid grid = maze.getMazeGrid();
+        final int size = maze.getMazeSize();
+        if (queue == null || queue.length != distance.length) {
+            queue = new int[distance.length];
+        }
+
+        int head = 0;
+        int tail = 0;
+        for (int exitIndex : exitIndexes()) {
+            distance[exitIndex] = 0;
+            if (exitIds != null) {
+                exitIds[exitIndex] = tail;
+            }
+            queue[tail++] = exitIndex;
+        }
+
+        int current;
+        int next;
+        int label;
+        int x;
+        int y;
+        int peak = tail;
+        while (head < tail) {
+            peak = Math.max(peak, tail - head);
+            current = queue[head++];
+            next = distance[current] + 1;
+            label = exitIds == null ? -1 : exitIds[current];
+            x = current % size;
+            y = current / size;
+            // below, above, left, right.
+            if (y > 0) {
+                tail = visit(grid, current - size, next, label, tail);
+            }
+            if (y < size - 1) {
+                tail = visit(grid, current + size, next, label, tail);
+            }
+            if (x > 0) {
+                tail = visit(grid, current - 1, next, label, tail);
+            }
+            if (x < size - 1) {
+                tail = visit(grid, current + 1, next, label, tail);
+            }
+        }
+        visited = tail;
+        frontierPeak = peak;
+    }
+
+    /**
+     * Resolve distances with a parallel, direction optimizing breadth first search.
+     */
+    private void resolveParallel() {
+        if (parallelBfs == null || parallelBfs.getCapacity() != distance.length) {
+            parallelBfs = new ParallelBfs(distance.length, pool);
+        }
+        final MazeGrid grid = maze.getMazeGrid();
+        visited = parallelBfs.resolve(grid, distance, exitIndexes());
+        frontierPeak = parallelBfs.getFrontierPeak();
+    }
+
+    /**
+     * Resolve distances with a bit parallel breadth first search.
+     */
+    private void resolveBitParallel() {
+        // Rebuilt each time, the open cell masks are a snapshot of the grid.
+        final MazeGrid grid = maze.getMazeGrid();
+        final BitFloodFill fill = new BitFloodFill(grid);
+        visited = fill.resolve(exitIndexes(), distance);
+        frontierPeak = fill.getLayerPeak();
+    }
+
+    /**
+     * Get the row-major cell index of every exit.
+     *
+     * @return Exit cell indexes in exit ID order.
+     */
+    private int[] exitIndexes() {
+        final List<Point> exits = maze.getExits();
+        final int[] output = new int[exits.size()];
+        for (int i = 0; i < output.length; i++) {
+            output[i] = maze.getMazeGrid().index(exits.get(i).x(), exits.get(i).y());
+        }
+        return output;
+    }
+
+    /**
+     * Counting sort the reached cells by distance.
+     *
+     * @return Reached cell indexes, nearest an exit first.
+     */
+    private int[] sortByDistance() {
+        int longest = 0;
+        int reached = 0;
+        for (int d : distance) {
+            longest = Math.max(longest, d);
+            if (d >= 0) {
+                reached++;
+            }
+        }
+        final int[] starts = new int[longest + 2];
+        for (int d : distance) {
+            if (d >= 0) {
+                starts[d + 1]++;
+            }
+        }
+        for (int d = 1; d < starts.length; d++) {
+            starts[d] += starts[d - 1];
+        }
+        final int[] output = new int[reached];
+        for (int i = 0; i < distance.length; i++) {
+            if (distance[i] >= 0) {
+                output[starts[distance[i]]++] = i;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Label every reached cell with its nearest exit, from a neighbour one step closer.
+     *
+     * <p>Cells are taken in distance order, so the closer neighbour is always
+     * labelled first. One pass over the cells whatever the number of exits.</p>
+     */
+    private void labelExits() {
+        final int size = maze.getMazeSize();
+        final int[] order = sortByDistance();
+        final int[] output = new int[distance.length];
+        final int[] exits = exitIndexes();
+        for (int i = 0; i < exits.length; i++) {
+            output[exits[i]] = i;
+        }
+        int current;
+        int target;
+        int x;
+        int y;
+        for (int i = exits.length; i < order.length; i++) {
+            current = order[i];
+            target = distance[current] - 1;
+            x = current % size;
+            y = current / size;
+            if (y > 0 && distance[current - size] == target) {
+                output[current] = output[current - size];
+            } else if (y < size - 1 && distance[current + size] == target) {
+                output[current] = output[current + size];
+            } else if (x > 0 && distance[current - 1] == target) {
+                output[current] = output[current - 1];
+            } else {
+                output[current] = output[current + 1];
+            }
+        }
+        exitIds = output;
+    }
+
+    /**
+     * Tell the listener of every reached cell, nearest the exit first.
+     *
+     * <p>A BFS queue already holds cells in that order, other modes are
+     * counting sorted by distance.</p>
+     */
+    private void reportVisits() {
+        final int[] order = mode == Mode.BFS ? queue : sortByDistance();
+        for (int i = 0; i < visited; i++) {
+            listener.cellChanged(MazeListener.Kind.VISITED, order[i], distance[order[i]]);
+        }
+        listener.finished(MazeListener.Kind.VISITED);
+    }
+
+    /**
+     * Set the listener told of every cell visited by each resolve.
+     *
+     * @param listenerValue Listener, null for none.
+     */
+    public void setListener(final MazeListener listenerValue) {
+        this.listener = listenerValue;
+    }
+
+    /**
+     * Record the distance of an open, unvisited cell and enqueue it.
+     *
+     * @param grid Grid data.
+     * @param index Neighbour cell index.
+     * @param value Distance of the neighbour from exit.
+     * @param label Exit ID of the neighbour, -1 when not labelling.
+     * @param tail Queue tail position.
+     * @return New queue tail position.
+     */
+    private int visit(final MazeGrid grid, final int index, final int value, final int label, final int tail) {
+        int output = tail;
+        if (distance[index] < 0 && grid.isOpen(index)) {
+            distance[index] = value;
+            if (label >= 0) {
+                exitIds[index] = label;
+            }
+            queue[output++] = index;
         }
         return output;
     }
@@ -121,11 +467,12 @@ public class MazeResolver {
      * Get list of unvisited neighbours to point p.
      *
      * @param p Point in the grid.
-     * @param grid Grid data.
+     * @param distance Distance data.
      * @return List of Points.
      */
-    private List<Point> getUnvisitedNeighbours(final Point p, final int[][] distance) {
+    private List<Point> getUnvisitedNeighbours(final Point p, final int[] distance) {
         List<Point> output = new ArrayList<>();
+        final MazeGrid grid = maze.getMazeGrid();
 
         // below, above,left, right.
         int nx;
@@ -135,7 +482,7 @@ public class MazeResolver {
             ny = p.y() + dir[1];
 
             // Unvisited Neighbours are in bounds and contain an unvisited value.
-            if (Maze.isInBounds(nx, ny) && distance[nx][ny] <= -1 && maze.getGrid()[nx][ny] != '#') {
+            if (maze.isInBounds(nx, ny) && distance[grid.index(nx, ny)] <= -1 && grid.isOpen(nx, ny)) {
                 output.add(new Maze.Point(nx, ny));
             }
         }
@@ -143,60 +490,205 @@ public class MazeResolver {
     }
 
     /**
-     * Initialise distances to -1.
+     * Render distance values.
      *
-     * @param distances Array of distances. Initially set to -1, representing unused values.
+     * @return String representation of distance values in a table format.
      */
-    private int[][] initialiseDistances(final int[][] distances) {
+    private String renderDistances() {
+        final StringWriter output = new StringWriter();
+        try {
+            new MazeRenderer(maze, this).render(MazeRenderer.Layer.DISTANCES, output);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return output.toString();
+    }
 
-        for (int y = 0; y < distances.length; y++) {
-            for (int[] rowValues : distances) {
-                rowValues[y] = -1;
-            }
+    /**
+     * Get distance from the nearest resolved exit.
+     *
+     * @param p Point to measure distance from to exit.
+     * @return Distance from point to exit. Returns -1 if maze not resolved.
+     */
+    public int getPointDistance(final Point p) {
+        int output = -1;
+        if (distance != null && distance.length > 0) {
+            output = distance[maze.getMazeGrid().index(p.x(), p.y())];
         }
-        return distances;
+        return output;
     }
 
     /**
-     * Render distance values.
+     * Get the exit nearest a cell.
      *
-     * @param distances An array of distance values.
-     * @return String representation of distance values in a table format.
+     * @param index row-major cell index.
+     * @return Exit ID, the position of the exit in {@link Maze#getExits()}, -1 if unreachable or not resolved.
      */
-    private String renderDistances(final int[][] distances) {
-        final StringBuilder output = new StringBuilder();
-
-        // By row
-        for (int x = 0; x < distances.length; x++) {
-            for (int[] rowValues : distances) {
-                if (rowValues[x] < 0) {
-                    output.append("   ,");
-                } else {
-                    if (rowValues[x] < 10) {
-                        output.append("  ");
-                    } else if (rowValues[x] < 100) {
-                        output.append(" ");
-                    }
-                    output.append(rowValues[x]).append(',');
-                }
+    public int getExitId(final int index) {
+        int output = -1;
+        if (getDistance(index) >= 0) {
+            if (maze.getExits().size() > 1 && exitIds == null) {
+                // Dropped by an incremental update.
+                labelExits();
             }
-            output.append("\n");
+            output = exitIds == null ? 0 : exitIds[index];
         }
-        return output.toString();
+        return output;
     }
 
     /**
-     * Get distance from resolved exit.
+     * Get the exit nearest a point.
      *
-     * @param p Point to measure distance from to exit.
-     * @return Distance from point to exit. Returns -1 if maze not resolved.
+     * @param p Point in the maze.
+     * @return Nearest exit, null if unreachable or not resolved.
      */
-    public int getPointDistance(final Point p) {
+    public Point getNearestExit(final Point p) {
+        final int id = getExitId(maze.getMazeGrid().index(p.x(), p.y()));
+        return id < 0 ? null : maze.getExits().get(id);
+    }
+
+    /**
+     * Resolve the whole maze and get the distance from a point to the exit.
+     *
+     * @param start Point to measure distance from.
+     * @return Distance from start to exit, -1 if unreachable.
+     */
+    @Override
+    public int solve(final Point start) {
+        resolveMaze();
+        return getPointDistance(start);
+    }
+
+    /**
+     * Open a wall cell and update distances without resolving again.
+     *
+     * <p>Costs time in proportion to the cells whose distance falls. Relies on
+     * the distances being shortest, as BFS and PARALLEL modes always give and
+     * every mode gives on a perfect maze with one exit. Exit IDs are labelled
+     * again when next asked for.</p>
+     *
+     * @param p Cell to open, no change if already open.
+     * @return Number of cells whose distance changed.
+     */
+    public int openWall(final Point p) {
+        final DistanceRepair updater = repairer();
+        final int changed = updater.open(maze.getMazeGrid(), distance, maze.getMazeGrid().index(p.x(), p.y()));
+        visited += updater.getVisitedChange();
+        return changed;
+    }
+
+    /**
+     * Close an open cell and update distances without resolving again.
+     *
+     * <p>Only the cells that reached the exit through the closed cell are
+     * recomputed, in time proportional to their number. Relies on the
+     * distances being shortest, as for {@link #openWall(Point)}.</p>
+     *
+     * @param p Cell to close, no change if already a wall.
+     * @return Number of cells whose distance changed.
+     */
+    public int closeWall(final Point p) {
+        if (maze.getExits().contains(p)) {
+            throw new IllegalArgumentException("Cannot close an exit");
+        }
+        final DistanceRepair updater = repairer();
+        final int changed = updater.close(maze.getMazeGrid(), distance, maze.getMazeGrid().index(p.x(), p.y()));
+        visited += updater.getVisitedChange();
+        return changed;
+    }
+
+    /**
+     * Get the incremental update state, checking the maze has been resolved.
+     *
+     * @return Update state.
+     */
+    private DistanceRepair repairer() {
+        if (distance == null) {
+            throw new IllegalStateException("Maze not resolved");
+        }
+        if (repair == null) {
+            repair = new DistanceRepair();
+        }
+        exitIds = null;
+        return repair;
+    }
+
+    /**
+     * Drop the buffers used while searching, keeping the distances.
+     *
+     * <p>For resolvers kept long after resolving, e.g. by {@link MazeCache}. A
+     * later resolve allocates them again.</p>
+     */
+    void releaseSearchBuffers() {
+        queue = null;
+        parallelBfs = null;
+    }
+
+    /**
+     * Getter for the largest frontier of the last resolve.
+     *
+     * @return Most cells waiting to be searched at once, or in one level for PARALLEL mode.
+     */
+    public int getFrontierPeak() {
+        return frontierPeak;
+    }
+
+    /**
+     * Getter for the number of cells visited by the last resolve.
+     *
+     * @return Cells given a distance.
+     */
+    @Override
+    public int getVisitedCount() {
+        return visited;
+    }
+
+    /**
+     * Getter for maze size.
+     *
+     * @return Size of the maze being resolved.
+     */
+    @Override
+    public int getMazeSize() {
+        return maze.getMazeSize();
+    }
+
+    /**
+     * Get distance from resolved exit by cell index.
+     *
+     * @param index row-major cell index.
+     * @return Distance from cell to exit. Returns -1 if unreachable or maze not resolved.
+     */
+    @Override
+    public int getDistance(final int index) {
         int output = -1;
         if (distance != null && distance.length > 0) {
-            output = distance[p.x()][p.y()];
+            output = distance[index];
         }
         return output;
     }
 
+    /**
+     * Search modes for resolving distances from the exit.
+     */
+    public enum Mode {
+        /**
+         * Breadth first search over a preallocated queue of cell indexes, allocation free per step.
+         */
+        BFS,
+        /**
+         * Original search using a {@link Stack} of Points. Distances are only shortest on loop free mazes with one
+         * exit.
+         */
+        STACK,
+        /**
+         * Level synchronous breadth first search across a ForkJoinPool, same distances as BFS.
+         */
+        PARALLEL,
+        /**
+         * Breadth first search 64 cells at a time over bit rows, same distances as BFS.
+         */
+        BIT_PARALLEL
+    }
+
 }
@@ -18,13 +18,51 @@ package ie.homelab.mazesolver;
  * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
  */
 import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeFile;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.Move;
+import java.io.BufferedOutputStream;
 import java.io.Console;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Maze Solver implemented in Java (JDK 21).
  *
+ * <p>Usage:</p>
+ * <pre>
+ *  MazeSolver [size]                         interactive play, size MIN_SIZE - MAX_SIZE
+ *  MazeSolver stream size file [seed]        write a maze row by row, no console needed
+ *  MazeSolver solve maze-file dist-file [mb] resolve a maze file to a distance file
+ *  MazeSolver batch sizes count [threads [seed [mode [distinct]]]]
+ *                                            generate and resolve many mazes, report throughput
+ * </pre>
+ *
+ * <p>Interactive play walks the player from the start to the exit with the
+ * w, a, s and d keys, several to a line if wanted; h asks for a hint and q
+ * quits. Each move is scored by a {@link MazePlayer} against the distances
+ * resolved once up front, and only the cells around the player are shown,
+ * so every turn costs the same whatever the maze size.</p>
+ *
+ * <p>Stream mode generates with Eller's algorithm straight to the file, a
+ * binary maze file when the name ends in {@code .maze} and text otherwise,
+ * using memory proportional to the maze width only.</p>
+ *
+ * <p>Solve mode maps a binary maze file and resolves it with
+ * {@link ExternalResolver} in at most the given megabytes of buffers, for
+ * mazes larger than the heap.</p>
+ *
+ * <p>Batch mode is a headless load generator: sizes is a single size or a
+ * {@code min-max} range, threads defaults to the number of processors, mode
+ * to PRIMITIVE and distinct to 0, every maze different. A distinct count
+ * repeats that many mazes through a {@link MazeCache}. The
+ * {@link MazeMetrics} MXBean is registered for the run.</p>
+ *
  * @author derek
  */
 public class MazeSolver {
@@ -33,11 +71,54 @@ public class MazeSolver {
      * Logger.
      */
     private static final Logger LOGGER = Logger.getLogger(MazeSolver.class.getName());
-
     /**
-     * Maze data object.
+     * First argument selecting stream mode.
+     */
+    private static final String STREAM_MODE = "stream";
+    /**
+     * First argument selecting solve mode.
+     */
+    private static final String SOLVE_MODE = "solve";
+    /**
+     * First argument selecting batch mode.
+     */
+    private static final String BATCH_MODE = "batch";
+    /**
+     * Separator of a size range.
+     */
+    private static final String RANGE_SEPARATOR = "-";
+    /**
+     * Latency percentiles reported by batch mode.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    /**
+     * File name suffix selecting the binary maze file format.
+     */
+    private static final String MAZE_FILE_SUFFIX = ".maze";
+    /**
+     * Text output buffer size in bytes.
+     */
+    private static final int TEXT_BUFFER_SIZE = 1 << 16;
+    /**
+     * Nanoseconds per millisecond.
+     */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    /**
+     * Shift converting megabytes to bytes.
      */
-    private static Maze maze;
+    private static final int MEGABYTE_SHIFT = 20;
+    /**
+     * Cells shown either side of the player while playing.
+     */
+    private static final int VIEW_RADIUS = 10;
+    /**
+     * Key ending the game.
+     */
+    private static final char QUIT_KEY = 'q';
+    /**
+     * Key asking for the best next move.
+     */
+    private static final char HINT_KEY = 'h';
 
     /**
      * Default Maze constructor.
@@ -50,10 +131,11 @@ public class MazeSolver {
      * Initialise maze.
      *
      * @param mazeSize int value in the range MIN_SIZE - MAX_SIZE
+     * @return New Maze data object.
      */
-    private static void initMaze(final int mazeSize) {
+    private static Maze initMaze(final int mazeSize) {
 
-        maze = new Maze(mazeSize);
+        return new Maze(mazeSize);
     }
 
     /**
@@ -78,6 +160,248 @@ public class MazeSolver {
         return output;
     }
 
+    /**
+     * Play a resolved maze on the console until the exit is reached or the player quits.
+     *
+     * @param con Console to read moves from.
+     * @param player Player at the maze start.
+     */
+    private static void play(final Console con, final MazePlayer player) {
+        final StringBuilder sb = new StringBuilder();
+        boolean playing = !player.isFinished();
+        String line;
+        char key;
+        Move move;
+        Move best;
+        while (playing) {
+            sb.setLength(0);
+            renderView(player, sb);
+            sb.append("Steps: ").append(player.getSteps()).append("  Exit: ").append(player.getDistance());
+            sb.append(" away\nMove (w/a/s/d, ").append(HINT_KEY).append(" hint, ").append(QUIT_KEY);
+            sb.append(" quit): ");
+            System.out.print(sb.toString());
+            line = con.readLine();
+            if (line == null) {
+                // End of input.
+                System.out.println();
+                playing = false;
+            }
+            for (int i = 0; playing && i < line.length(); i++) {
+                key = Character.toLowerCase(line.charAt(i));
+                move = Move.fromKey(key);
+                if (key == QUIT_KEY) {
+                    playing = false;
+                } else if (key == HINT_KEY) {
+                    System.out.println("Hint: " + player.hint());
+                } else if (move == null) {
+                    System.out.println("Unknown key: " + line.charAt(i));
+                } else {
+                    best = player.hint();
+                    switch (player.move(move)) {
+                        case BLOCKED -> System.out.println("Blocked moving " + move);
+                        case DETOUR -> System.out.println("Detour moving " + move + ", best was " + best);
+                        default -> playing = !player.isFinished();
+                    }
+                }
+            }
+        }
+
+        sb.setLength(0);
+        if (player.isFinished()) {
+            renderView(player, sb);
+            sb.append("You reached the exit!\n");
+        }
+        sb.append("Your steps: ").append(player.getSteps()).append('\n');
+        sb.append("Optimal steps: ").append(player.getOptimal()).append('\n');
+        if (player.isFinished()) {
+            sb.append(player.getComparison()).append('\n');
+        }
+        sb.append("Detours: ").append(player.getDetours());
+        sb.append("  Blocked moves: ").append(player.getBlocked());
+        System.out.println(sb.toString());
+    }
+
+    /**
+     * Render the cells within VIEW_RADIUS of the player, the player shown as {@link MazeRenderer#START_MARK}.
+     *
+     * @param player Player.
+     * @param sb Output.
+     */
+    private static void renderView(final MazePlayer player, final StringBuilder sb) {
+        final MazeGrid grid = player.getMaze().getMazeGrid();
+        final int size = grid.getSize();
+        final int lastX = Math.min(size - 1, player.getX() + VIEW_RADIUS);
+        final int lastY = Math.min(size - 1, player.getY() + VIEW_RADIUS);
+        for (int y = Math.max(0, player.getY() - VIEW_RADIUS); y <= lastY; y++) {
+            for (int x = Math.max(0, player.getX() - VIEW_RADIUS); x <= lastX; x++) {
+                if (x == player.getX() && y == player.getY()) {
+                    sb.append((char) MazeRenderer.START_MARK);
+                } else {
+                    sb.append((char) grid.get(x, y));
+                }
+            }
+            sb.append('\n');
+        }
+    }
+
+    /**
+     * Stream a maze to a file.
+     *
+     * @param args Program arguments: "stream", size, file and optional seed.
+     */
+    private static void streamMaze(final String[] args) {
+        final int sizeArg = 1;
+        final int fileArg = 2;
+        final int seedArg = 3;
+        if (args.length <= fileArg) {
+            System.out.println("Usage: stream size file [seed]");
+        } else {
+            try {
+                final int mazeSize = Integer.parseInt(args[sizeArg]);
+                final Path file = Path.of(args[fileArg]);
+                final long seed = args.length > seedArg ? Long.parseLong(args[seedArg])
+                        : ThreadLocalRandom.current().nextLong();
+                final MazeStreamer streamer = new MazeStreamer(mazeSize, seed);
+
+                final long begin = System.nanoTime();
+                if (file.toString().endsWith(MAZE_FILE_SUFFIX)) {
+                    try (MazeFile.RowWriter writer = MazeFile.writer(file, mazeSize, seed, streamer.getStart(),
+                            streamer.getExit())) {
+                        streamer.stream(writer);
+                    }
+                } else {
+                    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), TEXT_BUFFER_SIZE);
+                            MazeRenderer.RowRenderer renderer = new MazeRenderer.RowRenderer(mazeSize, seed,
+                                    streamer.getStart(), streamer.getExit(), out)) {
+                        streamer.stream(renderer);
+                    }
+                }
+                final long millis = (System.nanoTime() - begin) / NANOS_PER_MILLI;
+
+                final StringBuilder sb = new StringBuilder();
+                sb.append("Streamed ").append(mazeSize).append(" x ").append(mazeSize);
+                sb.append(" maze, seed ").append(seed);
+                sb.append(", to ").append(file).append(" in ").append(millis).append(" ms");
+                System.out.println(sb.toString());
+            } catch (final NumberFormatException ex) {
+                System.out.println("Invalid entry, size and seed must be numbers");
+            } catch (final IllegalArgumentException ex) {
+                System.out.println(ex.getMessage());
+            } catch (final IOException ex) {
+                LOGGER.log(Level.SEVERE, "Stream failed", ex);
+                System.out.println("Stream failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resolve a maze file to a distance file.
+     *
+     * @param args Program arguments: "solve", maze file, distance file and optional megabytes of buffers.
+     */
+    private static void solveMaze(final String[] args) {
+        final int mazeArg = 1;
+        final int distanceArg = 2;
+        final int memoryArg = 3;
+        if (args.length <= distanceArg) {
+            System.out.println("Usage: solve maze-file distance-file [memoryMB]");
+        } else {
+            try {
+                final Maze maze = MazeFile.open(Path.of(args[mazeArg]));
+                final Path file = Path.of(args[distanceArg]);
+                final long memory = args.length > memoryArg ? Long.parseLong(args[memoryArg]) << MEGABYTE_SHIFT
+                        : ExternalResolver.DEFAULT_MEMORY;
+                final ExternalResolver resolver = new ExternalResolver(maze, file, memory);
+
+                final long begin = System.nanoTime();
+                final int distance;
+                try (DistanceFile distances = resolver.resolve()) {
+                    distance = distances.getDistance(maze.getMazeGrid().index(maze.getStart().x(),
+                            maze.getStart().y()));
+                }
+                final long millis = (System.nanoTime() - begin) / NANOS_PER_MILLI;
+
+                final StringBuilder sb = new StringBuilder();
+                sb.append("Solved ").append(maze.getMazeSize()).append(" x ").append(maze.getMazeSize());
+                sb.append(" maze to ").append(file).append(" in ").append(millis).append(" ms");
+                sb.append(", visited ").append(resolver.getVisitedCount());
+                sb.append(", path ").append(distance);
+                System.out.println(sb.toString());
+            } catch (final NumberFormatException ex) {
+                System.out.println("Invalid entry, memory must be a number");
+            } catch (final IllegalArgumentException ex) {
+                System.out.println(ex.getMessage());
+            } catch (final IOException ex) {
+                LOGGER.log(Level.SEVERE, "Solve failed", ex);
+                System.out.println("Solve failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Generate and resolve many mazes and report throughput.
+     *
+     * @param args Program arguments: "batch", sizes, count and optional threads, seed, mode and distinct.
+     */
+    private static void batchMazes(final String[] args) {
+        final int sizesArg = 1;
+        final int countArg = 2;
+        final int threadsArg = 3;
+        final int seedArg = 4;
+        final int modeArg = 5;
+        final int distinctArg = 6;
+        if (args.length <= countArg) {
+            System.out.println("Usage: batch sizes count [threads [seed [mode [distinct]]]]");
+        } else {
+            try {
+                final String sizes = args[sizesArg];
+                final int separator = sizes.indexOf(RANGE_SEPARATOR);
+                final int minSize = Integer.parseInt(separator < 0 ? sizes : sizes.substring(0, separator));
+                final int maxSize = separator < 0 ? minSize : Integer.parseInt(sizes.substring(separator + 1));
+                final int threads = args.length > threadsArg ? Integer.parseInt(args[threadsArg])
+                        : Runtime.getRuntime().availableProcessors();
+                final long seed = args.length > seedArg ? Long.parseLong(args[seedArg])
+                        : ThreadLocalRandom.current().nextLong();
+                final MazeGenerator.Mode mode = args.length > modeArg ? MazeGenerator.Mode.valueOf(args[modeArg])
+                        : MazeGenerator.Mode.PRIMITIVE;
+                final int distinct = args.length > distinctArg ? Integer.parseInt(args[distinctArg]) : 0;
+                final MazeBatch.Plan plan = new MazeBatch.Plan(minSize, maxSize, Integer.parseInt(args[countArg]),
+                        threads, seed, mode, distinct);
+                final MazeCache cache = distinct > 0 ? new MazeCache() : null;
+                // Lets a long run be watched, and metrics switched on, from a JMX console.
+                MazeMetrics.register();
+
+                final MazeBatch.Report report = MazeBatch.measure(plan, cache);
+
+                final StringBuilder sb = new StringBuilder();
+                sb.append("Batch of ").append(report.count()).append(' ').append(mode).append(" mazes, sizes ");
+                sb.append(minSize).append(RANGE_SEPARATOR).append(maxSize).append(", seed ").append(seed);
+                sb.append(", ").append(threads).append(" threads, in ");
+                sb.append(report.elapsedNanos() / NANOS_PER_MILLI).append(" ms\n");
+                sb.append(String.format("  %.1f mazes/s, %.3e cells/s%n", report.mazesPerSecond(),
+                        report.cellsPerSecond()));
+                sb.append("  latency ms");
+                for (double percentile : PERCENTILES) {
+                    sb.append(String.format(" p%s %.3f", percentile % 1 == 0 ? Long.toString((long) percentile)
+                            : Double.toString(percentile), (double) report.percentile(percentile) / NANOS_PER_MILLI));
+                }
+                sb.append(String.format(" max %.3f", (double) report.maxLatency() / NANOS_PER_MILLI));
+                if (cache != null) {
+                    final MazeCache.Stats stats = cache.getStats();
+                    sb.append(String.format("%n  cache hits %d, misses %d, evictions %d, hit rate %.3f",
+                            stats.hits(), stats.misses(), stats.evictions(), stats.hitRate()));
+                }
+                System.out.println(sb.toString());
+            } catch (final IllegalArgumentException ex) {
+                // NumberFormatException included.
+                System.out.println("Invalid entry: " + ex.getMessage());
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                System.out.println("Batch interrupted");
+            }
+        }
+    }
+
     /**
      * Java main method.
      *
@@ -87,7 +411,14 @@ public class MazeSolver {
         System.out.println("-- Iniitialising Mail Solver --");
 
         Console con = System.console();
-        if (con != null) {
+        if (args.length > 0 && STREAM_MODE.equals(args[0])) {
+            // Streaming needs no console, output goes to a file.
+            streamMaze(args);
+        } else if (args.length > 0 && SOLVE_MODE.equals(args[0])) {
+            solveMaze(args);
+        } else if (args.length > 0 && BATCH_MODE.equals(args[0])) {
+            batchMazes(args);
+        } else if (con != null) {
             System.out.println("\n\n");
 
             int mazeSize = Maze.DEFAULT_SIZE;
@@ -128,32 +459,24 @@ public class MazeSolver {
             }
 
             // Initialise
-            initMaze(mazeSize);
+            final Maze maze = initMaze(mazeSize);
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, maze.toString());
-                System.out.println(maze.toString());
-                System.out.println("\n");
             }
             // Generate
-            MazeGenerator mazeGenerator = new MazeGenerator(maze);
-            mazeGenerator.generateMaze();
+            new MazeGenerator(maze);
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, maze.toString());
-                System.out.println(maze.toString());
-                System.out.println("\n");
             }
             // Resolve
             MazeResolver resolver = new MazeResolver(maze);
             resolver.resolveMaze();
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, maze.toString());
-                System.out.println(maze.toString());
-                System.out.println("\n");
                 LOGGER.log(Level.FINE, "Path: {0}", resolver.getPointDistance(maze.getStart()));
-                System.out.print("Path: ");
-                System.out.println("" + resolver.getPointDistance(maze.getStart()));
-                System.out.println("\n");
             }
+            // Play
+            play(con, new MazePlayer(maze, resolver));
 
         } else {
             if (LOGGER.isLoggable(Level.FINE)) {
@@ -1,7 +1,21 @@
 package ie.homelab.mazesolver;
 
 import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Move;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.swing.AbstractAction;
+import javax.swing.InputMap;
+import javax.swing.JComponent;
+import javax.swing.KeyStroke;
+import javax.swing.SwingWorker;
 
 /*
  * Copyright (C) 2026 derek
@@ -23,41 +37,84 @@ import java.util.logging.Logger;
 /**
  * Maze solver frame for graphical Maze Solver output.
  *
+ * <p>Once a maze is solved the player can walk it from the start with the
+ * w, a, s and d or arrow keys, and ask for a hint with h. Each move is
+ * scored by a {@link MazePlayer} from the resolved distances and repaints
+ * only the cells the player left and entered.</p>
+ *
+ * <p>File &gt; Restart Maze builds the same maze again from its size and
+ * seed, served from the shared {@link MazeCache} when not animated.</p>
+ *
  * @author derek
  */
 public class MazeSolverFrame extends javax.swing.JFrame {
 
     private static final Logger LOGGER = Logger.getLogger(MazeSolverFrame.class.getName());
     private static final long serialVersionUID = 1L;
+    /**
+     * Nanoseconds per millisecond.
+     */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    /**
+     * Largest maze animated, larger mazes drop most of their events anyway.
+     */
+    private static final int MAX_ANIMATED_SIZE = 1024;
+    /**
+     * Frames each animated phase aims to last, about four seconds.
+     */
+    private static final int ANIMATION_FRAMES = 240;
+    /**
+     * Action map key of the hint action.
+     */
+    private static final String HINT_ACTION = "hint";
     /**
      * Maze data structure.
      */
-    protected static Maze maze;
+    protected transient Maze maze;
+
+    /**
+     * Background generation and resolve in progress, null when idle.
+     */
+    private transient SolveWorker worker;
+    /**
+     * Replay of generation and resolve in progress, null when not animating.
+     */
+    private transient MazeAnimation animation;
+    /**
+     * Phases the animation has finished replaying.
+     */
+    private final transient Set<MazeListener.Kind> replayed = EnumSet.noneOf(MazeListener.Kind.class);
+    /**
+     * Traced solution waiting for the animation, null when none.
+     */
+    private transient MazeView.Solution resolved;
+    /**
+     * Status shown once the solution is.
+     */
+    private String solvedStatus;
+    /**
+     * Player walking the solved maze, null until solved.
+     */
+    private transient MazePlayer player;
+    /**
+     * Size of the maze last started, for restarting it.
+     */
+    private int currentSize;
+    /**
+     * Seed of the maze last started, for restarting it.
+     */
+    private long currentSeed;
 
     /**
      * Creates new form MazeSolverFrame.
+     *
+     * <p>The first maze is generated and resolved in the background, the frame
+     * can be shown straight away.</p>
      */
     public MazeSolverFrame() {
         initComponents();
-
-        StringBuilder sb = new StringBuilder();
-
-        initMaze(20);
-
-        MazeGenerator mazeGenerator = new MazeGenerator(maze);
-        mazeGenerator.generateMaze();
-        sb.append(maze);
-        sb.append("\n\n");
-
-        MazeResolver resolver = new MazeResolver(maze);
-        resolver.resolveMaze();
-        sb.append(maze);
-        sb.append("Path: ").append(resolver.getPointDistance(maze.getStart()));
-        sb.append("\n\n");
-
-        sb.append("-- Ending Maze Solver --\n");
-        textArea.setText(sb.toString());
-        textArea.repaint();
+        bindMoves();
+        initMaze(Maze.DEFAULT_SIZE);
     }
 
     /**
@@ -70,10 +127,18 @@ public class MazeSolverFrame extends javax.swing.JFrame {
 
         mainPanel = new javax.swing.JPanel();
         scrollPane = new javax.swing.JScrollPane();
-        textArea = new javax.swing.JTextArea();
+        mazeView = new ie.homelab.mazesolver.MazeView();
+        statusLabel = new javax.swing.JLabel();
         menuBar = new javax.swing.JMenuBar();
         fileMenu = new javax.swing.JMenu();
+        newMenuItem = new javax.swing.JMenuItem();
+        restartMenuItem = new javax.swing.JMenuItem();
         exitMenuItem = new javax.swing.JMenuItem();
+        viewMenu = new javax.swing.JMenu();
+        zoomInMenuItem = new javax.swing.JMenuItem();
+        zoomOutMenuItem = new javax.swing.JMenuItem();
+        heatmapMenuItem = new javax.swing.JCheckBoxMenuItem();
+        animateMenuItem = new javax.swing.JCheckBoxMenuItem();
         helpMenu = new javax.swing.JMenu();
         aboutMenuItem = new javax.swing.JMenuItem();
 
@@ -81,40 +146,63 @@ public class MazeSolverFrame extends javax.swing.JFrame {
         setMinimumSize(new java.awt.Dimension(400, 800));
         setSize(new java.awt.Dimension(400, 800));
 
-        textArea.setColumns(20);
-        textArea.setFont(new java.awt.Font("Monospaced", 0, 14)); // NOI18N
-        textArea.setRows(5);
-        scrollPane.setViewportView(textArea);
+        scrollPane.setViewportView(mazeView);
+
+        statusLabel.setText(" ");
 
         javax.swing.GroupLayout mainPanelLayout = new javax.swing.GroupLayout(mainPanel);
         mainPanel.setLayout(mainPanelLayout);
         mainPanelLayout.setHorizontalGroup(
             mainPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-            .addGap(0, 388, Short.MAX_VALUE)
-            .addGroup(mainPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-                .addGroup(mainPanelLayout.createSequentialGroup()
-                    .addGap(0, 0, Short.MAX_VALUE)
-                    .addComponent(scrollPane, javax.swing.GroupLayout.PREFERRED_SIZE, 374, javax.swing.GroupLayout.PREFERRED_SIZE)
-                    .addGap(0, 0, Short.MAX_VALUE)))
+            .addComponent(scrollPane, javax.swing.GroupLayout.DEFAULT_SIZE, 388, Short.MAX_VALUE)
+            .addComponent(statusLabel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
         );
         mainPanelLayout.setVerticalGroup(
             mainPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-            .addGap(0, 541, Short.MAX_VALUE)
-            .addGroup(mainPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-                .addGroup(mainPanelLayout.createSequentialGroup()
-                    .addGap(0, 0, Short.MAX_VALUE)
-                    .addComponent(scrollPane, javax.swing.GroupLayout.PREFERRED_SIZE, 514, javax.swing.GroupLayout.PREFERRED_SIZE)
-                    .addGap(0, 0, Short.MAX_VALUE)))
+            .addGroup(mainPanelLayout.createSequentialGroup()
+                .addComponent(scrollPane, javax.swing.GroupLayout.DEFAULT_SIZE, 514, Short.MAX_VALUE)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(statusLabel))
         );
 
         fileMenu.setText("File");
 
+        newMenuItem.setText("New Maze...");
+        newMenuItem.addActionListener(this::newMenuItemActionPerformed);
+        fileMenu.add(newMenuItem);
+
+        restartMenuItem.setText("Restart Maze");
+        restartMenuItem.addActionListener(this::restartMenuItemActionPerformed);
+        fileMenu.add(restartMenuItem);
+
         exitMenuItem.setText("Exit");
         exitMenuItem.addActionListener(this::exitMenuItemActionPerformed);
         fileMenu.add(exitMenuItem);
 
         menuBar.add(fileMenu);
 
+        viewMenu.setText("View");
+
+        zoomInMenuItem.setAccelerator(javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_EQUALS, java.awt.event.InputEvent.CTRL_DOWN_MASK));
+        zoomInMenuItem.setText("Zoom In");
+        zoomInMenuItem.addActionListener(this::zoomInMenuItemActionPerformed);
+        viewMenu.add(zoomInMenuItem);
+
+        zoomOutMenuItem.setAccelerator(javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_MINUS, java.awt.event.InputEvent.CTRL_DOWN_MASK));
+        zoomOutMenuItem.setText("Zoom Out");
+        zoomOutMenuItem.addActionListener(this::zoomOutMenuItemActionPerformed);
+        viewMenu.add(zoomOutMenuItem);
+
+        heatmapMenuItem.setText("Distance Heatmap");
+        heatmapMenuItem.addActionListener(this::heatmapMenuItemActionPerformed);
+        viewMenu.add(heatmapMenuItem);
+
+        animateMenuItem.setSelected(true);
+        animateMenuItem.setText("Animate");
+        viewMenu.add(animateMenuItem);
+
+        menuBar.add(viewMenu);
+
         helpMenu.setText("Help");
 
         aboutMenuItem.setText("About");
@@ -146,6 +234,35 @@ public class MazeSolverFrame extends javax.swing.JFrame {
         System.exit(0);
     } //GEN-LAST:event_exitMenuItemActionPerformed
 
+    private void newMenuItemActionPerformed(java.awt.event.ActionEvent evt) { //GEN-FIRST:event_newMenuItemActionPerformed
+        final int current = mazeView.getMaze() == null ? Maze.DEFAULT_SIZE : mazeView.getMaze().getMazeSize();
+        final String input = javax.swing.JOptionPane.showInputDialog(this,
+                "Maze size, 1 - " + Maze.MAX_GRID_SIZE, current);
+        if (input != null) {
+            try {
+                initMaze(Integer.parseInt(input.trim()));
+            } catch (final IllegalArgumentException ex) {
+                statusLabel.setText("Invalid maze size: " + input);
+            }
+        }
+    } //GEN-LAST:event_newMenuItemActionPerformed
+
+    private void restartMenuItemActionPerformed(java.awt.event.ActionEvent evt) { //GEN-FIRST:event_restartMenuItemActionPerformed
+        initMaze(currentSize, currentSeed);
+    } //GEN-LAST:event_restartMenuItemActionPerformed
+
+    private void zoomInMenuItemActionPerformed(java.awt.event.ActionEvent evt) { //GEN-FIRST:event_zoomInMenuItemActionPerformed
+        mazeView.zoomBy(1);
+    } //GEN-LAST:event_zoomInMenuItemActionPerformed
+
+    private void zoomOutMenuItemActionPerformed(java.awt.event.ActionEvent evt) { //GEN-FIRST:event_zoomOutMenuItemActionPerformed
+        mazeView.zoomBy(-1);
+    } //GEN-LAST:event_zoomOutMenuItemActionPerformed
+
+    private void heatmapMenuItemActionPerformed(java.awt.event.ActionEvent evt) { //GEN-FIRST:event_heatmapMenuItemActionPerformed
+        mazeView.setHeatmap(heatmapMenuItem.isSelected());
+    } //GEN-LAST:event_heatmapMenuItemActionPerformed
+
     /**
      * MazeSolver frame main method.
      *
@@ -165,7 +282,7 @@ public class MazeSolverFrame extends javax.swing.JFrame {
                 }
             }
         } catch (ReflectiveOperationException | javax.swing.UnsupportedLookAndFeelException ex) {
-            LOGGER.log(java.util.logging.Level.SEVERE, null, ex);
+            LOGGER.log(Level.SEVERE, null, ex);
         }
         // </editor-fold>
 
@@ -175,28 +292,299 @@ public class MazeSolverFrame extends javax.swing.JFrame {
     }
 
     /**
-     * Initialise maze.
+     * Initialise maze, generating and resolving it on a background thread.
      *
-     * @param mazeSize int value in the range MIN_SIZE - MAX_SIZE
+     * <p>Any maze still being worked on is cancelled. The new maze is shown
+     * once generated and its solution marked once resolved. With View &gt;
+     * Animate on, mazes up to MAX_ANIMATED_SIZE are replayed cell by cell
+     * first; with it off the engines run without a listener, and the maze is
+     * taken from the shared {@link MazeCache}.</p>
+     *
+     * @param mazeSize int value in the range 1 - MAX_GRID_SIZE
      */
-    protected static void initMaze(final int mazeSize) {
+    protected void initMaze(final int mazeSize) {
+        initMaze(mazeSize, ThreadLocalRandom.current().nextLong());
+    }
 
-        maze = new Maze(mazeSize);
-        textArea.setText("");
-        StringBuilder content = new StringBuilder(textArea.getText());
-        content.append(maze.toString()).append('\n');
-        textArea.setText(content.toString());
-        textArea.repaint();
+    /**
+     * Initialise a given maze, generating and resolving it on a background thread.
+     *
+     * <p>As {@link #initMaze(int)}, with the seed given so the same maze can
+     * be started again, from the shared cache if it is still held.</p>
+     *
+     * @param mazeSize int value in the range 1 - MAX_GRID_SIZE
+     * @param seed Maze seed.
+     */
+    protected void initMaze(final int mazeSize, final long seed) {
+        if (mazeSize < 1 || mazeSize > Maze.MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Maze size out of range: " + mazeSize);
+        }
+        if (worker != null) {
+            // Interrupts generation so the old maze is dropped rather than finished alongside the new one.
+            worker.cancel(true);
+        }
+        if (animation != null) {
+            animation.stop();
+            animation = null;
+        }
+        maze = null;
+        resolved = null;
+        player = null;
+        replayed.clear();
+        currentSize = mazeSize;
+        currentSeed = seed;
+        MazeEventBuffer events = null;
+        if (animateMenuItem.isSelected() && mazeSize <= MAX_ANIMATED_SIZE) {
+            events = new MazeEventBuffer();
+            // Same size and seed, so the same start and exit, but not yet carved.
+            mazeView.setMaze(new Maze(mazeSize, seed));
+            animation = new MazeAnimation(mazeView, events, mazeSize * mazeSize / ANIMATION_FRAMES, kind -> {
+                replayed.add(kind);
+                showProgress();
+            });
+            animation.start();
+        }
+        statusLabel.setText("Generating " + mazeSize + " x " + mazeSize + "...");
+        worker = new SolveWorker(mazeSize, seed, events);
+        worker.execute();
+    }
+
+    /**
+     * Show the generated maze and then its solution, each once the animation, if any, has caught up.
+     */
+    private void showProgress() {
+        final boolean carved = animation == null || replayed.contains(MazeListener.Kind.CARVED);
+        if (maze != null && carved && mazeView.getMaze() != maze) {
+            mazeView.setMaze(maze);
+        }
+        final boolean visited = animation == null || replayed.contains(MazeListener.Kind.VISITED);
+        if (resolved != null && visited && mazeView.getMaze() == maze) {
+            if (animation != null) {
+                animation.stop();
+                animation = null;
+            }
+            mazeView.setSolution(resolved);
+            player = new MazePlayer(maze, resolved.distances());
+            mazeView.setPlayer(player.getIndex());
+            statusLabel.setText(solvedStatus);
+            resolved = null;
+        }
+    }
+
+    /**
+     * Bind the move keys, the arrow keys and the hint key on the maze view.
+     *
+     * <p>Bound for the view and its ancestors as well as the window, so the
+     * arrow keys move the player rather than scroll the view.</p>
+     */
+    private void bindMoves() {
+        final InputMap focused = mazeView.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT);
+        final InputMap window = mazeView.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        KeyStroke arrow;
+        for (Move move : Move.values()) {
+            arrow = switch (move) {
+                case UP -> KeyStroke.getKeyStroke(KeyEvent.VK_UP, 0);
+                case LEFT -> KeyStroke.getKeyStroke(KeyEvent.VK_LEFT, 0);
+                case DOWN -> KeyStroke.getKeyStroke(KeyEvent.VK_DOWN, 0);
+                case RIGHT -> KeyStroke.getKeyStroke(KeyEvent.VK_RIGHT, 0);
+            };
+            for (InputMap keys : new InputMap[] {focused, window}) {
+                keys.put(KeyStroke.getKeyStroke(KeyEvent.getExtendedKeyCodeForChar(move.getKey()), 0), move);
+                keys.put(arrow, move);
+            }
+            mazeView.getActionMap().put(move, new MoveAction(move));
+        }
+        final KeyStroke hint = KeyStroke.getKeyStroke(KeyEvent.VK_H, 0);
+        focused.put(hint, HINT_ACTION);
+        window.put(hint, HINT_ACTION);
+        mazeView.getActionMap().put(HINT_ACTION, new MoveAction(null));
+    }
+
+    /**
+     * Move the player and report the outcome in the status line.
+     *
+     * @param move Move, null for a hint.
+     */
+    private void playMove(final Move move) {
+        if (player != null) {
+            final Move best = player.hint();
+            final StringBuilder sb = new StringBuilder();
+            if (move == null) {
+                sb.append("Hint: ").append(best == null ? "none" : best).append("  ");
+            } else {
+                final MazePlayer.Outcome outcome = player.move(move);
+                mazeView.setPlayer(player.getIndex());
+                switch (outcome) {
+                    case BLOCKED -> sb.append("Blocked moving ").append(move).append("  ");
+                    case DETOUR -> sb.append("Detour, best was ").append(best).append("  ");
+                    case EXITED, IGNORED -> sb.append(player.getComparison()).append("  ");
+                    default -> {
+                        // On course, the counts say it all.
+                    }
+                }
+            }
+            sb.append("Steps: ").append(player.getSteps()).append("  Optimal: ").append(player.getOptimal());
+            sb.append("  Exit: ").append(player.getDistance()).append(" away  Detours: ").append(player.getDetours());
+            statusLabel.setText(sb.toString());
+        }
+    }
+
+    /**
+     * Key action moving the player, or giving a hint.
+     */
+    private final class MoveAction extends AbstractAction {
+
+        private static final long serialVersionUID = 1L;
+        /**
+         * Move, null for a hint.
+         */
+        private final transient Move move;
+
+        /**
+         * Parameterised MoveAction constructor.
+         *
+         * @param moveValue Move, null for a hint.
+         */
+        MoveAction(final Move moveValue) {
+            this.move = moveValue;
+        }
+
+        @Override
+        public void actionPerformed(final ActionEvent e) {
+            playMove(move);
+        }
+    }
+
+    /**
+     * Generates then resolves a maze off the event dispatch thread.
+     *
+     * <p>The generated maze is published before resolving starts, so it is
+     * shown while the resolver runs. The maze is handed to the event dispatch
+     * thread through publish, and only read afterwards.</p>
+     *
+     * <p>Without events the maze comes from the shared {@link MazeCache},
+     * generated there unless already held; with events it is always created
+     * here, as the listener has to see every step.</p>
+     *
+     * <p>Cancellation is checked before each phase, and cancelling with
+     * interruption stops generation part way.</p>
+     */
+    private final class SolveWorker extends SwingWorker<MazeView.Solution, Maze> {
+
+        /**
+         * Maze size.
+         */
+        private final int mazeSize;
+        /**
+         * Maze seed.
+         */
+        private final long seed;
+        /**
+         * Buffer for generation and resolve events, null to run without events.
+         */
+        private final MazeEventBuffer events;
+        /**
+         * Start time in nanoseconds.
+         */
+        private final long begin = System.nanoTime();
+
+        /**
+         * Parameterised SolveWorker constructor.
+         *
+         * @param mazeSizeValue Maze size.
+         * @param seedValue Maze seed.
+         * @param eventsValue Buffer for generation and resolve events, null for none.
+         */
+        SolveWorker(final int mazeSizeValue, final long seedValue, final MazeEventBuffer eventsValue) {
+            this.mazeSize = mazeSizeValue;
+            this.seed = seedValue;
+            this.events = eventsValue;
+        }
+
+        @Override
+        protected MazeView.Solution doInBackground() {
+            MazeView.Solution output = null;
+            Maze generated = null;
+            MazeResolver resolver = null;
+            if (!isCancelled()) {
+                if (events == null) {
+                    // Interrupted part way, the load fails and nothing is cached for the seed.
+                    final MazeCache.Entry entry = MazeCache.getShared().get(mazeSize, seed,
+                            MazeGenerator.Mode.PRIMITIVE);
+                    generated = entry.maze();
+                    if (!isCancelled()) {
+                        publish(generated);
+                        resolver = entry.resolver();
+                    }
+                } else {
+                    generated = new Maze(mazeSize, seed);
+                    // Stops part way with a CancellationException once cancel(true) interrupts this thread.
+                    new MazeGenerator(generated, MazeGenerator.Mode.PRIMITIVE, events);
+                    if (!isCancelled()) {
+                        publish(generated);
+                        resolver = new MazeResolver(generated);
+                        resolver.setListener(events);
+                        if (!isCancelled()) {
+                            resolver.resolveMaze();
+                        }
+                    }
+                }
+            }
+            if (resolver != null && !isCancelled()) {
+                // Traced here rather than on the event dispatch thread, the path can run to millions of cells.
+                output = MazeView.Solution.trace(generated, resolver);
+            }
+            return output;
+        }
+
+        @Override
+        protected void process(final List<Maze> chunks) {
+            if (worker == this) {
+                maze = chunks.get(chunks.size() - 1);
+                statusLabel.setText("Resolving " + mazeSize + " x " + mazeSize + "...");
+                showProgress();
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (worker == this) {
+                worker = null;
+                try {
+                    resolved = get();
+                    final int start = maze.getMazeGrid().index(maze.getStart().x(), maze.getStart().y());
+                    solvedStatus = "Path: " + resolved.distances().getDistance(start) + "  ("
+                            + (System.nanoTime() - begin) / NANOS_PER_MILLI + " ms)";
+                    if (events != null && events.getDropped() > 0) {
+                        solvedStatus += "  animation skipped " + events.getDropped() + " events";
+                    }
+                    showProgress();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (final ExecutionException ex) {
+                    LOGGER.log(Level.SEVERE, "Maze generation failed", ex.getCause());
+                    statusLabel.setText("Failed: " + ex.getCause());
+                }
+            }
+        }
     }
 
     // Variables declaration - do not modify //GEN-BEGIN:variables
     private javax.swing.JMenuItem aboutMenuItem;
+    private javax.swing.JCheckBoxMenuItem animateMenuItem;
     private javax.swing.JMenuItem exitMenuItem;
     private javax.swing.JMenu fileMenu;
+    private javax.swing.JCheckBoxMenuItem heatmapMenuItem;
     private javax.swing.JMenu helpMenu;
     private javax.swing.JPanel mainPanel;
+    protected ie.homelab.mazesolver.MazeView mazeView;
     private javax.swing.JMenuBar menuBar;
+    private javax.swing.JMenuItem newMenuItem;
+    private javax.swing.JMenuItem restartMenuItem;
     private javax.swing.JScrollPane scrollPane;
-    protected static javax.swing.JTextArea textArea;
+    private javax.swing.JLabel statusLabel;
+    private javax.swing.JMenu viewMenu;
+    private javax.swing.JMenuItem zoomInMenuItem;
+    private javax.swing.JMenuItem zoomOutMenuItem;
     // End of variables declaration //GEN-END:variables
 }
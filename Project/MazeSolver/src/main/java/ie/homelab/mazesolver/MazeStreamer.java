@@ -0,0 +1,243 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.RowSink;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generate a maze straight into a row consumer without holding the grid.
+ *
+ * <p>Rows come from Eller's algorithm, which finishes the maze one lattice
+ * row at a time, and each grid row is handed on as soon as it is complete.
+ * Memory is a few arrays as wide as the maze whatever its height, so mazes of
+ * billions of cells can be written to a {@link ie.homelab.mazesolver.model.MazeFile}
+ * row writer or a {@link MazeRenderer.RowRenderer} with a small heap.</p>
+ *
+ * <p>Start, exit and every random choice come from the seed exactly as for
+ * an in-memory maze, so the rows match {@code new Maze(size, seed)} generated
+ * in {@link MazeGenerator.Mode#ELLER} mode.</p>
+ *
+ * @author derek
+ */
+public final class MazeStreamer {
+
+    /**
+     * Maze size.
+     */
+    private final int mazeSize;
+    /**
+     * Maze seed.
+     */
+    private final long seed;
+    /**
+     * Start point.
+     */
+    private final Point start;
+    /**
+     * Exit point.
+     */
+    private final Point exit;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param mazeSizeValue Maze size, 1 - Maze.MAX_GRID_SIZE inclusive.
+     * @param seedValue Maze seed.
+     */
+    public MazeStreamer(final int mazeSizeValue, final long seedValue) {
+        if (mazeSizeValue < 1 || mazeSizeValue > Maze.MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Maze size out of range: " + mazeSizeValue);
+        }
+        this.mazeSize = mazeSizeValue;
+        this.seed = seedValue;
+        final Maze.Endpoints endpoints = Maze.placeEndpoints(mazeSizeValue, seedValue);
+        this.start = endpoints.start();
+        this.exit = endpoints.exit();
+    }
+
+    /**
+     * Getter for maze size.
+     *
+     * @return Maze size.
+     */
+    public int getMazeSize() {
+        return mazeSize;
+    }
+
+    /**
+     * Getter for maze seed.
+     *
+     * @return Maze seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for start Point.
+     *
+     * @return start Point.
+     */
+    public Point getStart() {
+        return start;
+    }
+
+    /**
+     * Getter for exit Point.
+     *
+     * @return exit Point.
+     */
+    public Point getExit() {
+        return exit;
+    }
+
+    /**
+     * Generate the maze, passing every row to a sink in order from the top.
+     *
+     * @param sink Row consumer.
+     * @throws IOException if the sink fails.
+     */
+    public void stream(final RowSink sink) throws IOException {
+        final EllerGenerator eller = new EllerGenerator();
+        final int stub = eller.prepare(mazeSize, start, exit);
+        final Emitter emitter = new Emitter(eller, stub, sink);
+        try {
+            // Split off the maze seed as MazeGenerator does, so rows match an in-memory maze.
+            eller.rows(new SplittableRandom(seed).split(), emitter);
+            emitter.finish();
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Turns finished lattice rows into grid rows.
+     */
+    private final class Emitter implements EllerGenerator.RowListener {
+
+        /**
+         * Lattice layout.
+         */
+        private final EllerGenerator eller;
+        /**
+         * x coordinate of the exit stub, -1 if none.
+         */
+        private final int stubX;
+        /**
+         * y coordinate of the exit stub, -1 if none.
+         */
+        private final int stubY;
+        /**
+         * Row consumer.
+         */
+        private final RowSink sink;
+        /**
+         * Reused grid row.
+         */
+        private final byte[] cells;
+        /**
+         * Next grid row to emit.
+         */
+        private int y;
+
+        /**
+         * Emitter constructor.
+         *
+         * @param ellerValue Lattice layout.
+         * @param stub Grid index of the exit stub, -1 if none.
+         * @param sinkValue Row consumer.
+         */
+        Emitter(final EllerGenerator ellerValue, final int stub, final RowSink sinkValue) {
+            this.eller = ellerValue;
+            this.stubX = stub < 0 ? -1 : stub % mazeSize;
+            this.stubY = stub < 0 ? -1 : stub / mazeSize;
+            this.sink = sinkValue;
+            this.cells = new byte[mazeSize];
+        }
+
+        @Override
+        public void row(final int latticeY, final boolean[] across, final boolean[] down) {
+            final int gridY = eller.offsetY + LatticeGenerator.DIST * latticeY;
+            // Wall row above the first lattice row.
+            while (y < gridY) {
+                Arrays.fill(cells, (byte) Maze.WALL);
+                emit();
+            }
+
+            Arrays.fill(cells, (byte) Maze.WALL);
+            int x = eller.offsetX;
+            for (int i = 0; i < eller.latticeWidth; i++) {
+                cells[x] = Maze.PATH;
+                if (across[i]) {
+                    cells[x + 1] = Maze.PATH;
+                }
+                x += LatticeGenerator.DIST;
+            }
+            emit();
+
+            if (y < mazeSize) {
+                Arrays.fill(cells, (byte) Maze.WALL);
+                x = eller.offsetX;
+                for (int i = 0; i < eller.latticeWidth; i++) {
+                    if (down[i]) {
+                        cells[x] = Maze.PATH;
+                    }
+                    x += LatticeGenerator.DIST;
+                }
+                emit();
+            }
+        }
+
+        /**
+         * Emit any wall rows left below the last lattice row.
+         */
+        void finish() {
+            while (y < mazeSize) {
+                Arrays.fill(cells, (byte) Maze.WALL);
+                emit();
+            }
+        }
+
+        /**
+         * Apply start, stub and exit to the current row and pass it on.
+         */
+        private void emit() {
+            if (y == start.y()) {
+                cells[start.x()] = Maze.PATH;
+            }
+            if (y == stubY) {
+                cells[stubX] = Maze.PATH;
+            }
+            if (y == exit.y()) {
+                cells[exit.x()] = Maze.EXIT;
+            }
+            try {
+                sink.accept(cells);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            y++;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+
+/**
+ * Structural checks on generated mazes.
+ *
+ * <p>Counts are taken a word at a time over packed cells and bit rows, see
+ * {@link BitFloodFill}.</p>
+ *
+ * @author derek
+ */
+public final class MazeValidator {
+
+    /**
+     * Utility class constructor.
+     */
+    private MazeValidator() {
+        // Static methods only.
+    }
+
+    /**
+     * Check every open cell can be reached from the exit.
+     *
+     * @param maze Maze to check.
+     * @return Fully connected true/false.
+     */
+    public static boolean isFullyConnected(final Maze maze) {
+        return reachableCount(maze, new BitFloodFill(maze.getMazeGrid())) == maze.getMazeGrid().countOpen();
+    }
+
+    /**
+     * Check a maze is perfect: every open cell is reachable from the exit by exactly one path.
+     *
+     * <p>The open cells form a tree when they are connected and have one
+     * fewer passage between neighbouring open cells than there are cells.</p>
+     *
+     * @param maze Maze to check.
+     * @return Perfect true/false.
+     */
+    public static boolean isPerfect(final Maze maze) {
+        final long open = maze.getMazeGrid().countOpen();
+        final BitFloodFill fill = new BitFloodFill(maze.getMazeGrid());
+        return reachableCount(maze, fill) == open && fill.countPassages() == open - 1;
+    }
+
+    /**
+     * Count cells reachable from the exit, including the exit.
+     *
+     * @param maze Maze to check.
+     * @param fill Bit rows of the maze grid.
+     * @return Reachable cells.
+     */
+    private static long reachableCount(final Maze maze, final BitFloodFill fill) {
+        return fill.fill(maze.getExit().x(), maze.getExit().y());
+    }
+}
@@ -0,0 +1,757 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static ie.homelab.mazesolver.TileRenderer.TILE_SHIFT;
+import static ie.homelab.mazesolver.TileRenderer.TILE_SIZE;
+
+import ie.homelab.mazesolver.model.Maze;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+
+/**
+ * Swing component showing a maze, its solution and an optional distance heatmap at power of two zoom levels.
+ *
+ * <p>The image is cut into {@link TileRenderer#TILE_SIZE} pixel square tiles,
+ * rendered on a background thread the first time they are painted and kept
+ * in a least recently used cache of at most {@link #MAX_TILES}. Tiles that
+ * scroll out of view before their turn are skipped, and a missing tile is
+ * drawn from the next zoom level out while it renders, so panning a large
+ * maze only ever waits on the tiles in view.</p>
+ *
+ * <p>A {@link MazeAnimation} may be painted over the tiles, cell by cell
+ * from its own state, while a maze is being generated and resolved. A player
+ * marker is painted over them too; moving it repaints only the two cells
+ * involved.</p>
+ *
+ * <p>Drag to pan, control and the mouse wheel to zoom. Like any Swing
+ * component it must only be used on the event dispatch thread. A maze or
+ * distances handed to it may still be read by other threads, but must no
+ * longer be written.</p>
+ *
+ * @author derek
+ */
+public final class MazeView extends JComponent {
+
+    private static final long serialVersionUID = 1L;
+    /**
+     * Most zoomed out level, each pixel covering 256 x 256 cells.
+     */
+    public static final int MIN_ZOOM = -8;
+    /**
+     * Most zoomed in level, each cell 16 x 16 pixels.
+     */
+    public static final int MAX_ZOOM = 4;
+    /**
+     * Most tiles cached, 64MB of images.
+     */
+    public static final int MAX_TILES = 256;
+    /**
+     * Largest width and height of a newly shown maze in pixels, where zoom allows.
+     */
+    private static final int PREFERRED_EXTENT = 512;
+    /**
+     * Bits of a tile key holding each tile coordinate.
+     */
+    private static final int KEY_BITS = 28;
+    /**
+     * Colour of cells carved by an animation.
+     */
+    private static final Color CARVED_COLOUR = new Color(TileRenderer.PATH_RGB);
+    /**
+     * Colour of cells visited by an animation.
+     */
+    private static final Color VISITED_COLOUR = new Color(0x8C, 0xC8, 0xF0);
+    /**
+     * Player marker colour.
+     */
+    private static final Color PLAYER_COLOUR = new Color(0x20, 0x60, 0xD0);
+    /**
+     * Smallest player marker in pixels, so the player stays visible zoomed out.
+     */
+    private static final int MIN_MARKER = 5;
+
+    /**
+     * Maze being shown, null for none.
+     */
+    private transient Maze maze;
+    /**
+     * Resolved distances for maze, null until resolved.
+     */
+    private transient DistanceField distances;
+    /**
+     * Cells on the shortest path from start to exit, empty until resolved.
+     */
+    private transient BitSet solution = new BitSet();
+    /**
+     * Snapshot tiles are rendered from, null for no maze.
+     */
+    private transient TileRenderer renderer;
+    /**
+     * Colour open cells by distance from the exit.
+     */
+    private boolean heatmap;
+    /**
+     * Zoom level, MIN_ZOOM - MAX_ZOOM.
+     */
+    private int zoom;
+    /**
+     * Rendered tiles by key, least recently painted first.
+     */
+    private final transient LinkedHashMap<Long, BufferedImage> tiles = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Tiles waiting to render, with the renderer they were requested from.
+     */
+    private final transient Map<Long, TileRenderer> pending = new HashMap<>();
+    /**
+     * Zoom level and tiles last painted, read by the rendering thread to skip tiles no longer in view.
+     */
+    private final transient AtomicReference<TileRange> inView = new AtomicReference<>();
+    /**
+     * Single rendering thread, started on first use.
+     */
+    private transient ExecutorService executor;
+    /**
+     * Animation painted over the tiles, null for none.
+     */
+    private transient MazeAnimation animation;
+    /**
+     * Player position as a row-major cell index, -1 for none.
+     */
+    private int player = -1;
+    /**
+     * Mouse position of the last drag event, in screen coordinates.
+     */
+    private Point dragFrom;
+
+    /**
+     * Default MazeView constructor, showing no maze.
+     */
+    public MazeView() {
+        setOpaque(true);
+        setBackground(new Color(TileRenderer.WALL_RGB));
+        final MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(final MouseEvent e) {
+                dragFrom = e.getLocationOnScreen();
+            }
+
+            @Override
+            public void mouseDragged(final MouseEvent e) {
+                pan(dragFrom.x - e.getXOnScreen(), dragFrom.y - e.getYOnScreen());
+                dragFrom = e.getLocationOnScreen();
+            }
+
+            @Override
+            public void mouseWheelMoved(final MouseWheelEvent e) {
+                if (e.isControlDown()) {
+                    setZoom(zoom - e.getWheelRotation(), e.getPoint());
+                } else if (getParent() != null) {
+                    // Let the enclosing scroll pane scroll as usual.
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(MazeView.this, e, getParent()));
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    /**
+     * Show a maze, clearing any solution and player shown and zooming to fit unless the last maze was the same size.
+     *
+     * @param mazeValue Maze to show, null for none.
+     */
+    public void setMaze(final Maze mazeValue) {
+        if (mazeValue != null && (maze == null || maze.getMazeSize() != mazeValue.getMazeSize())) {
+            zoom = fitZoom(mazeValue.getMazeSize());
+        }
+        this.maze = mazeValue;
+        this.distances = null;
+        this.solution = new BitSet();
+        this.player = -1;
+        refresh();
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Getter for the maze shown.
+     *
+     * @return Maze, null for none.
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Mark the shortest path from start to exit and keep the distances for the heatmap.
+     *
+     * <p>Without the heatmap only the tiles the path crosses are rendered
+     * again. The path is traced beforehand by {@link Solution#trace(Maze,
+     * DistanceField)}, off the event dispatch thread for large mazes.</p>
+     *
+     * @param solutionValue Traced solution for the maze shown.
+     */
+    public void setSolution(final Solution solutionValue) {
+        if (maze == null) {
+            throw new IllegalStateException("No maze shown");
+        }
+        if (solutionValue.distances().getMazeSize() != maze.getMazeSize()) {
+            throw new IllegalArgumentException("Solution does not match maze size: "
+                    + solutionValue.distances().getMazeSize());
+        }
+        this.distances = solutionValue.distances();
+        this.solution = solutionValue.path();
+        if (heatmap) {
+            refresh();
+            repaint();
+        } else {
+            renderer = new TileRenderer(maze, distances, solution, false);
+            pending.clear();
+            if (!solutionValue.bounds().isEmpty()) {
+                evict(solutionValue.bounds());
+                repaintCells(solutionValue.bounds());
+            }
+        }
+    }
+
+    /**
+     * Getter for the player position.
+     *
+     * @return row-major cell index, -1 for none.
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Move the player marker, scrolling it into view.
+     *
+     * @param index row-major cell index of the maze shown, -1 for none.
+     */
+    public void setPlayer(final int index) {
+        if (player >= 0) {
+            repaint(markerBounds(player));
+        }
+        player = index;
+        if (player >= 0) {
+            final Rectangle bounds = markerBounds(player);
+            repaint(bounds);
+            scrollRectToVisible(bounds);
+        }
+    }
+
+    /**
+     * Check open cells are coloured by distance from the exit.
+     *
+     * @return Heatmap true/false.
+     */
+    public boolean isHeatmap() {
+        return heatmap;
+    }
+
+    /**
+     * Colour open cells by distance from the exit, once resolved.
+     *
+     * @param heatmapValue Heatmap true/false.
+     */
+    public void setHeatmap(final boolean heatmapValue) {
+        if (heatmap != heatmapValue) {
+            heatmap = heatmapValue;
+            refresh();
+            repaint();
+        }
+    }
+
+    /**
+     * Getter for zoom level.
+     *
+     * @return Zoom level, each cell {@code 2^zoom} pixels square.
+     */
+    public int getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Zoom in or out keeping the middle of the view in place.
+     *
+     * @param steps Levels to zoom in, negative to zoom out.
+     */
+    public void zoomBy(final int steps) {
+        final Rectangle visible = getVisibleRect();
+        setZoom(zoom + steps, new Point(visible.x + visible.width / 2, visible.y + visible.height / 2));
+    }
+
+    /**
+     * Set the zoom level keeping one point of the view in place.
+     *
+     * @param zoomValue Zoom level, clamped to MIN_ZOOM - MAX_ZOOM.
+     * @param anchor Point in component coordinates to keep in place.
+     */
+    public void setZoom(final int zoomValue, final Point anchor) {
+        final int next = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoomValue));
+        if (next != zoom) {
+            final double factor = Math.pow(2, next - zoom);
+            // Cached tiles of other levels are kept for zooming back.
+            zoom = next;
+            setSize(getPreferredSize());
+            revalidate();
+            if (getParent() instanceof JViewport viewport) {
+                final Point view = viewport.getViewPosition();
+                viewport.setViewPosition(new Point(
+                        Math.max(0, (int) (anchor.x * factor) - (anchor.x - view.x)),
+                        Math.max(0, (int) (anchor.y * factor) - (anchor.y - view.y))));
+            }
+            repaint();
+        }
+    }
+
+    /**
+     * Getter for the number of tiles cached.
+     *
+     * @return Cached tiles.
+     */
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * Repaint a rectangle of cells.
+     *
+     * @param cells Cells to repaint.
+     */
+    public void repaintCells(final Rectangle cells) {
+        // Widened by a pixel, zoomed out cell edges fall inside pixels.
+        final int x = Math.max(0, pixels(cells.x) - 1);
+        final int y = Math.max(0, pixels(cells.y) - 1);
+        repaint(x, y, pixels(cells.x + cells.width) - x + 1, pixels(cells.y + cells.height) - y + 1);
+    }
+
+    /**
+     * Preferred size, the whole maze at the current zoom level.
+     *
+     * @return Preferred size.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        final Dimension output;
+        if (isPreferredSizeSet() || maze == null) {
+            output = super.getPreferredSize();
+        } else {
+            final int extent = pixels(maze.getMazeSize());
+            output = new Dimension(extent, extent);
+        }
+        return output;
+    }
+
+    /**
+     * Paint the tiles inside the clip rectangle, requesting any not yet rendered.
+     *
+     * @param g Graphics context.
+     */
+    @Override
+    protected void paintComponent(final Graphics g) {
+        final Rectangle clip = g.getClipBounds();
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (renderer != null) {
+            final int extent = pixels(maze.getMazeSize());
+            final int firstX = Math.max(0, clip.x) >> TILE_SHIFT;
+            final int firstY = Math.max(0, clip.y) >> TILE_SHIFT;
+            final int lastX = (Math.min(extent, clip.x + clip.width) - 1) >> TILE_SHIFT;
+            final int lastY = (Math.min(extent, clip.y + clip.height) - 1) >> TILE_SHIFT;
+            final Rectangle visible = getVisibleRect();
+            inView.set(new TileRange(zoom, visible.x >> TILE_SHIFT, visible.y >> TILE_SHIFT,
+                    (visible.x + visible.width - 1) >> TILE_SHIFT, (visible.y + visible.height - 1) >> TILE_SHIFT));
+            for (int tileY = firstY; tileY <= lastY; tileY++) {
+                for (int tileX = firstX; tileX <= lastX; tileX++) {
+                    paintTile(g, tileX, tileY);
+                }
+            }
+            if (animation != null) {
+                paintAnimation(g, clip);
+            }
+            if (player >= 0) {
+                final Rectangle marker = markerBounds(player);
+                if (marker.intersects(clip)) {
+                    g.setColor(PLAYER_COLOUR);
+                    g.fillRect(marker.x, marker.y, marker.width, marker.height);
+                }
+            }
+        }
+    }
+
+    /**
+     * Paint an animation over the tiles.
+     *
+     * @param animationValue Animation, null for none.
+     */
+    void setAnimation(final MazeAnimation animationValue) {
+        animation = animationValue;
+        repaint();
+    }
+
+    /**
+     * Stop painting an animation, unless another has replaced it.
+     *
+     * @param animationValue Animation to remove.
+     */
+    void clearAnimation(final MazeAnimation animationValue) {
+        if (animation == animationValue) {
+            setAnimation(null);
+        }
+    }
+
+    /**
+     * Stop the rendering thread when the view is removed from its window.
+     */
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            pending.clear();
+        }
+    }
+
+    /**
+     * Paint one tile, or the matching part of the next zoom level out while it renders.
+     *
+     * @param g Graphics context.
+     * @param tileX Tile column.
+     * @param tileY Tile row.
+     */
+    private void paintTile(final Graphics g, final int tileX, final int tileY) {
+        final int x = tileX << TILE_SHIFT;
+        final int y = tileY << TILE_SHIFT;
+        final BufferedImage tile = tiles.get(key(zoom, tileX, tileY));
+        if (tile != null) {
+            g.drawImage(tile, x, y, null);
+        } else {
+            request(tileX, tileY);
+            final BufferedImage coarse = zoom > MIN_ZOOM ? tiles.get(key(zoom - 1, tileX >> 1, tileY >> 1)) : null;
+            if (coarse != null) {
+                final int half = TILE_SIZE / 2;
+                final int sourceX = (tileX & 1) * half;
+                final int sourceY = (tileY & 1) * half;
+                g.drawImage(coarse, x, y, x + TILE_SIZE, y + TILE_SIZE, sourceX, sourceY, sourceX + half,
+                        sourceY + half, null);
+            }
+        }
+    }
+
+    /**
+     * Paint the animated cells inside the clip rectangle.
+     *
+     * <p>Zoomed out, only the first row and column of cells in each pixel are
+     * sampled, an animation is a preview.</p>
+     *
+     * @param g Graphics context.
+     * @param clip Clip rectangle.
+     */
+    private void paintAnimation(final Graphics g, final Rectangle clip) {
+        final int size = maze.getMazeSize();
+        final int step = zoom >= 0 ? 1 : 1 << -zoom;
+        final int firstX = Math.max(0, TileRenderer.toCells(clip.x, zoom));
+        final int lastX = Math.min(size - 1, TileRenderer.toCells(clip.x + clip.width, zoom));
+        final int lastY = Math.min(size - 1, TileRenderer.toCells(clip.y + clip.height, zoom));
+        for (int y = Math.max(0, TileRenderer.toCells(clip.y, zoom)); y <= lastY; y += step) {
+            paintRuns(g, animation.getCarved(), CARVED_COLOUR, y, firstX, lastX, step);
+            paintRuns(g, animation.getVisited(), VISITED_COLOUR, y, firstX, lastX, step);
+        }
+    }
+
+    /**
+     * Paint runs of set cells along part of a row.
+     *
+     * @param g Graphics context.
+     * @param cells Cell indexes to paint.
+     * @param colour Colour.
+     * @param y Row.
+     * @param firstX Left cell.
+     * @param lastX Right cell, inclusive.
+     * @param step Cells per pixel, 1 when zoomed in.
+     */
+    private void paintRuns(final Graphics g, final BitSet cells, final Color colour, final int y, final int firstX,
+            final int lastX, final int step) {
+        final int row = y * maze.getMazeSize();
+        final int height = zoom >= 0 ? 1 << zoom : 1;
+        g.setColor(colour);
+        int end;
+        for (int begin = cells.nextSetBit(row + firstX); begin >= 0 && begin <= row + lastX;
+                begin = cells.nextSetBit(end)) {
+            end = Math.min(cells.nextClearBit(begin), row + lastX + 1);
+            g.fillRect(floorPixels(begin - row), floorPixels(y), Math.max(step, end - begin) / step * height,
+                    height);
+        }
+    }
+
+    /**
+     * Get the pixels covered by the player marker on a cell, at least MIN_MARKER square and centred on the cell.
+     *
+     * @param index row-major cell index.
+     * @return Marker bounds in component coordinates.
+     */
+    private Rectangle markerBounds(final int index) {
+        final int size = maze.getMazeSize();
+        final int cell = zoom >= 0 ? 1 << zoom : 1;
+        final int extent = Math.max(MIN_MARKER, cell);
+        final int inset = (cell - extent) / 2;
+        return new Rectangle(floorPixels(index % size) + inset, floorPixels(index / size) + inset, extent, extent);
+    }
+
+    /**
+     * Convert a cell coordinate to the pixel showing it at the current zoom level.
+     *
+     * @param cell Cell coordinate.
+     * @return Pixel coordinate, rounded down.
+     */
+    private int floorPixels(final int cell) {
+        return zoom >= 0 ? cell << zoom : cell >> -zoom;
+    }
+
+    /**
+     * Queue a tile for rendering unless already queued.
+     *
+     * @param tileX Tile column.
+     * @param tileY Tile row.
+     */
+    private void request(final int tileX, final int tileY) {
+        final long key = key(zoom, tileX, tileY);
+        if (!pending.containsKey(key)) {
+            final TileRenderer snapshot = renderer;
+            final int tileZoom = zoom;
+            pending.put(key, snapshot);
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread output = new Thread(runnable, "maze-tiles");
+                    output.setDaemon(true);
+                    return output;
+                });
+            }
+            executor.execute(() -> {
+                final TileRange range = inView.get();
+                final BufferedImage tile = range.contains(tileZoom, tileX, tileY)
+                        ? snapshot.render(tileZoom, tileX, tileY) : null;
+                SwingUtilities.invokeLater(() -> deliver(key, snapshot, tile));
+            });
+        }
+    }
+
+    /**
+     * Cache a rendered tile and repaint it.
+     *
+     * <p>A tile from a renderer replaced while it rendered is dropped, the
+     * repaint requests it again from the current one.</p>
+     *
+     * @param key Tile key.
+     * @param snapshot Renderer the tile was requested from.
+     * @param tile Rendered tile, null if skipped.
+     */
+    private void deliver(final long key, final TileRenderer snapshot, final BufferedImage tile) {
+        pending.remove(key, snapshot);
+        if (tile != null) {
+            if (snapshot == renderer) {
+                tiles.put(key, tile);
+                final Iterator<BufferedImage> eldest = tiles.values().iterator();
+                while (tiles.size() > MAX_TILES) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            if ((int) (key >>> (2 * KEY_BITS)) + MIN_ZOOM == zoom) {
+                repaint((int) (key >>> KEY_BITS & (1 << KEY_BITS) - 1) << TILE_SHIFT,
+                        (int) (key & (1 << KEY_BITS) - 1) << TILE_SHIFT, TILE_SIZE, TILE_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Drop every tile and start rendering from the current maze, distances and heatmap setting.
+     */
+    private void refresh() {
+        tiles.clear();
+        pending.clear();
+        renderer = maze == null ? null : new TileRenderer(maze, distances, solution, heatmap);
+    }
+
+    /**
+     * Drop cached tiles at every zoom level that show any of a rectangle of cells.
+     *
+     * @param cells Changed cells.
+     */
+    private void evict(final Rectangle cells) {
+        final Iterator<Long> keys = tiles.keySet().iterator();
+        long key;
+        int tileZoom;
+        int cellsPerTile;
+        Rectangle covered;
+        while (keys.hasNext()) {
+            key = keys.next();
+            tileZoom = (int) (key >>> (2 * KEY_BITS)) + MIN_ZOOM;
+            cellsPerTile = TileRenderer.toCells(TILE_SIZE, tileZoom);
+            covered = new Rectangle((int) (key >>> KEY_BITS & (1 << KEY_BITS) - 1) * cellsPerTile,
+                    (int) (key & (1 << KEY_BITS) - 1) * cellsPerTile, cellsPerTile, cellsPerTile);
+            if (covered.intersects(cells)) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Scroll the enclosing viewport.
+     *
+     * @param dx Pixels to move right.
+     * @param dy Pixels to move down.
+     */
+    private void pan(final int dx, final int dy) {
+        if (getParent() instanceof JViewport viewport) {
+            final Point view = viewport.getViewPosition();
+            final Dimension extent = viewport.getExtentSize();
+            viewport.setViewPosition(new Point(
+                    Math.max(0, Math.min(getWidth() - extent.width, view.x + dx)),
+                    Math.max(0, Math.min(getHeight() - extent.height, view.y + dy))));
+        }
+    }
+
+    /**
+     * Convert a cell coordinate to pixels at the current zoom level.
+     *
+     * @param cell Cell coordinate.
+     * @return Pixel coordinate.
+     */
+    private int pixels(final int cell) {
+        return TileRenderer.toPixels(cell, zoom);
+    }
+
+    /**
+     * Choose the largest zoom level showing a whole maze within PREFERRED_EXTENT pixels.
+     *
+     * @param size Maze size.
+     * @return Zoom level.
+     */
+    private static int fitZoom(final int size) {
+        int output = MAX_ZOOM;
+        while (output > MIN_ZOOM && TileRenderer.toPixels(size, output) > PREFERRED_EXTENT) {
+            output--;
+        }
+        return output;
+    }
+
+    /**
+     * Pack a tile zoom level and position into a cache key.
+     *
+     * @param tileZoom Zoom level.
+     * @param tileX Tile column.
+     * @param tileY Tile row.
+     * @return Key.
+     */
+    private static long key(final int tileZoom, final int tileX, final int tileY) {
+        return (long) (tileZoom - MIN_ZOOM) << (2 * KEY_BITS) | (long) tileX << KEY_BITS | tileY;
+    }
+
+    /**
+     * Shortest path from start to exit, traced ready to show.
+     *
+     * @param distances Resolved distances for the maze.
+     * @param path Cells on the path, one bit per row-major cell index.
+     * @param bounds Bounds of the path in cells, empty when the exit is unreachable.
+     */
+    public record Solution(DistanceField distances, BitSet path, Rectangle bounds) {
+
+        /**
+         * Trace the shortest path from the maze start, following the distances down to the exit.
+         *
+         * @param mazeValue Generated maze.
+         * @param distancesValue Resolved distances for mazeValue.
+         * @return Traced solution, with an empty path when the exit is unreachable.
+         */
+        public static Solution trace(final Maze mazeValue, final DistanceField distancesValue) {
+            final int size = mazeValue.getMazeSize();
+            final BitSet path = new BitSet();
+            final DistanceOracle oracle = new DistanceOracle(distancesValue);
+            int minX = size;
+            int minY = size;
+            int maxX = -1;
+            int maxY = -1;
+            int index = mazeValue.getMazeGrid().index(mazeValue.getStart().x(), mazeValue.getStart().y());
+            if (distancesValue.getDistance(index) < 0) {
+                index = -1;
+            }
+            int x;
+            int y;
+            while (index >= 0) {
+                path.set(index);
+                x = index % size;
+                y = index / size;
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+                index = oracle.nextIndex(index);
+            }
+            final Rectangle bounds = maxX < 0 ? new Rectangle()
+                    : new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+            return new Solution(distancesValue, path, bounds);
+        }
+    }
+
+    /**
+     * Zoom level and inclusive range of tiles in view.
+     *
+     * @param zoom Zoom level.
+     * @param firstX Left tile.
+     * @param firstY Top tile.
+     * @param lastX Right tile.
+     * @param lastY Bottom tile.
+     */
+    private record TileRange(int zoom, int firstX, int firstY, int lastX, int lastY) {
+
+        /**
+         * Check a tile is in range.
+         *
+         * @param tileZoom Zoom level.
+         * @param tileX Tile column.
+         * @param tileY Tile row.
+         * @return In range true/false.
+         */
+        boolean contains(final int tileZoom, final int tileX, final int tileY) {
+            return tileZoom == zoom && tileX >= firstX && tileX <= lastX && tileY >= firstY && tileY <= lastY;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Level synchronous, direction optimizing breadth first search.
+ *
+ * <p>Each BFS level is expanded across a {@link ForkJoinPool}. Small
+ * frontiers are expanded on the calling thread, since a fork per level costs
+ * more than it saves on the narrow corridors of a perfect maze. Wide
+ * frontiers are split into chunks expanded top-down, claiming cells with a
+ * compare-and-set on the distance array. When the frontier is large compared
+ * to the cells still unvisited the search switches to bottom-up, where each
+ * unvisited cell looks for a neighbour in the frontier and is only ever
+ * written by its own chunk.</p>
+ *
+ * <p>Distances are identical to the sequential BFS.</p>
+ *
+ * @author derek
+ */
+final class ParallelBfs {
+
+    /**
+     * Atomic access to distance array elements.
+     */
+    private static final VarHandle DISTANCE = MethodHandles.arrayElementVarHandle(int[].class);
+    /**
+     * Frontier size below which a level is expanded on the calling thread.
+     */
+    private static final int SEQUENTIAL_FRONTIER = 4096;
+    /**
+     * Smallest number of frontier cells or grid cells given to one chunk.
+     */
+    private static final int MIN_CHUNK = 1024;
+    /**
+     * Chunks per worker thread, for load balance.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+    /**
+     * Switch to bottom-up once frontier * ALPHA exceeds the unvisited cells.
+     */
+    private static final int ALPHA = 14;
+    /**
+     * Neighbours per cell.
+     */
+    private static final int DEGREE = 4;
+
+    /**
+     * Grid data of the current resolve.
+     */
+    private MazeGrid grid;
+    /**
+     * Maze size of the current resolve.
+     */
+    private int size;
+    /**
+     * Distances from the source of the current resolve, -1 when unvisited.
+     */
+    private int[] distance;
+    /**
+     * Worker pool.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Current frontier.
+     */
+    private int[] frontier;
+    /**
+     * Next frontier.
+     */
+    private int[] next;
+    /**
+     * Per chunk output buffers, reused between levels.
+     */
+    private final int[][] buffers;
+    /**
+     * Per chunk output counts.
+     */
+    private final int[] counts;
+    /**
+     * Largest frontier of the last resolve.
+     */
+    private int frontierPeak;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param cells Number of cells in the grids to be searched.
+     * @param poolValue Worker pool.
+     */
+    ParallelBfs(final int cells, final ForkJoinPool poolValue) {
+        this.pool = poolValue;
+        this.frontier = new int[cells];
+        this.next = new int[cells];
+        final int chunks = Math.max(1, poolValue.getParallelism() * CHUNKS_PER_WORKER);
+        this.buffers = new int[chunks][];
+        this.counts = new int[chunks];
+    }
+
+    /**
+     * Getter for the number of cells this search has room for.
+     *
+     * @return Cells per grid.
+     */
+    int getCapacity() {
+        return frontier.length;
+    }
+
+    /**
+     * Getter for the largest frontier of the last resolve.
+     *
+     * @return Most cells in one level.
+     */
+    int getFrontierPeak() {
+        return frontierPeak;
+    }
+
+    /**
+     * Resolve distances from the nearest of several source cells.
+     *
+     * @param gridValue Grid data, getCapacity() cells.
+     * @param distanceValue Distance array, one slot per cell, filled with -1.
+     * @param sources Distinct source cell indexes, all at distance 0.
+     * @return Number of cells given a distance.
+     */
+    int resolve(final MazeGrid gridValue, final int[] distanceValue, final int[] sources) {
+        this.grid = gridValue;
+        this.size = gridValue.getSize();
+        this.distance = distanceValue;
+        for (int i = 0; i < sources.length; i++) {
+            distance[sources[i]] = 0;
+            frontier[i] = sources[i];
+        }
+        int frontierSize = sources.length;
+        int visited = sources.length;
+        int level = 0;
+        int[] swap;
+        frontierPeak = 0;
+        while (frontierSize > 0) {
+            frontierPeak = Math.max(frontierPeak, frontierSize);
+            if (frontierSize < SEQUENTIAL_FRONTIER) {
+                frontierSize = topDownSequential(frontierSize, level);
+            } else if ((long) frontierSize * ALPHA > distance.length - visited) {
+                frontierSize = bottomUp(level);
+            } else {
+                frontierSize = topDownParallel(frontierSize, level);
+            }
+            visited += frontierSize;
+            swap = frontier;
+            frontier = next;
+            next = swap;
+            level++;
+        }
+        return visited;
+    }
+
+    /**
+     * Expand a level on the calling thread.
+     *
+     * @param frontierSize Cells in the frontier.
+     * @param level Distance of the frontier.
+     * @return Cells in the next frontier.
+     */
+    private int topDownSequential(final int frontierSize, final int level) {
+        int output = 0;
+        int current;
+        for (int i = 0; i < frontierSize; i++) {
+            current = frontier[i];
+            output = expand(current, level + 1, next, output, false);
+        }
+        return output;
+    }
+
+    /**
+     * Expand a level top-down across the pool.
+     *
+     * @param frontierSize Cells in the frontier.
+     * @param level Distance of the frontier.
+     * @return Cells in the next frontier.
+     */
+    private int topDownParallel(final int frontierSize, final int level) {
+        final int chunks = Math.min(buffers.length, Math.max(1, frontierSize / MIN_CHUNK));
+        pool.invoke(new Step(0, chunks, chunks, frontierSize, level, false));
+        return gather(chunks);
+    }
+
+    /**
+     * Expand a level bottom-up across the pool.
+     *
+     * @param level Distance of the frontier.
+     * @return Cells in the next frontier.
+     */
+    private int bottomUp(final int level) {
+        final int chunks = Math.min(buffers.length, Math.max(1, distance.length / MIN_CHUNK));
+        pool.invoke(new Step(0, chunks, chunks, distance.length, level, true));
+        return gather(chunks);
+    }
+
+    /**
+     * Process one chunk of a level.
+     *
+     * @param chunk Chunk number.
+     * @param chunks Number of chunks.
+     * @param total Frontier cells (top-down) or grid cells (bottom-up) to share out.
+     * @param level Distance of the frontier.
+     * @param bottomUp Bottom-up true/false.
+     */
+    private void processChunk(final int chunk, final int chunks, final int total, final int level,
+            final boolean bottomUp) {
+        final int from = (int) ((long) total * chunk / chunks);
+        final int to = (int) ((long) total * (chunk + 1) / chunks);
+        final int capacity = bottomUp ? to - from : (to - from) * DEGREE;
+        if (buffers[chunk] == null || buffers[chunk].length < capacity) {
+            buffers[chunk] = new int[capacity];
+        }
+        final int[] buffer = buffers[chunk];
+        int count = 0;
+        if (bottomUp) {
+            for (int i = from; i < to; i++) {
+                if (distance[i] < 0 && grid.isOpen(i) && hasNeighbourAt(i, level)) {
+                    distance[i] = level + 1;
+                    buffer[count++] = i;
+                }
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                count = expand(frontier[i], level + 1, buffer, count, true);
+            }
+        }
+        counts[chunk] = count;
+    }
+
+    /**
+     * Claim the unvisited open neighbours of a cell.
+     *
+     * @param current Cell index.
+     * @param value Distance for claimed neighbours.
+     * @param target Buffer receiving claimed cells.
+     * @param count Cells in target so far.
+     * @param atomic Claim with compare-and-set true/false.
+     * @return New number of cells in target.
+     */
+    private int expand(final int current, final int value, final int[] target, final int count,
+            final boolean atomic) {
+        int output = count;
+        final int x = current % size;
+        final int y = current / size;
+        if (y > 0) {
+            output = claim(current - size, value, target, output, atomic);
+        }
+        if (y < size - 1) {
+            output = claim(current + size, value, target, output, atomic);
+        }
+        if (x > 0) {
+            output = claim(current - 1, value, target, output, atomic);
+        }
+        if (x < size - 1) {
+            output = claim(current + 1, value, target, output, atomic);
+        }
+        return output;
+    }
+
+    /**
+     * Claim a cell if open and unvisited.
+     *
+     * @param index Cell index.
+     * @param value Distance to record.
+     * @param target Buffer receiving the cell.
+     * @param count Cells in target so far.
+     * @param atomic Claim with compare-and-set true/false.
+     * @return New number of cells in target.
+     */
+    private int claim(final int index, final int value, final int[] target, final int count, final boolean atomic) {
+        int output = count;
+        if (distance[index] < 0 && grid.isOpen(index)) {
+            if (!atomic) {
+                distance[index] = value;
+                target[output++] = index;
+            } else if (DISTANCE.compareAndSet(distance, index, -1, value)) {
+                target[output++] = index;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Check whether a cell has a neighbour at a given distance.
+     *
+     * @param index Cell index.
+     * @param level Distance to look for.
+     * @return Has neighbour true/false.
+     */
+    private boolean hasNeighbourAt(final int index, final int level) {
+        final int x = index % size;
+        final int y = index / size;
+        return y > 0 && distance[index - size] == level
+                || y < size - 1 && distance[index + size] == level
+                || x > 0 && distance[index - 1] == level
+                || x < size - 1 && distance[index + 1] == level;
+    }
+
+    /**
+     * Copy chunk outputs into the next frontier.
+     *
+     * @param chunks Number of chunks used.
+     * @return Cells in the next frontier.
+     */
+    private int gather(final int chunks) {
+        int output = 0;
+        for (int i = 0; i < chunks; i++) {
+            System.arraycopy(buffers[i], 0, next, output, counts[i]);
+            output += counts[i];
+        }
+        return output;
+    }
+
+    /**
+     * Fork/join task splitting a range of chunks.
+     */
+    private final class Step extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        /**
+         * First chunk.
+         */
+        private final int low;
+        /**
+         * End chunk, exclusive.
+         */
+        private final int high;
+        /**
+         * Number of chunks in the level.
+         */
+        private final int chunks;
+        /**
+         * Cells shared out between chunks.
+         */
+        private final int total;
+        /**
+         * Distance of the frontier.
+         */
+        private final int level;
+        /**
+         * Bottom-up true/false.
+         */
+        private final boolean bottomUp;
+
+        /**
+         * Step constructor.
+         *
+         * @param lowValue First chunk.
+         * @param highValue End chunk, exclusive.
+         * @param chunksValue Number of chunks in the level.
+         * @param totalValue Cells shared out between chunks.
+         * @param levelValue Distance of the frontier.
+         * @param bottomUpValue Bottom-up true/false.
+         */
+        Step(final int lowValue, final int highValue, final int chunksValue, final int totalValue,
+                final int levelValue, final boolean bottomUpValue) {
+            this.low = lowValue;
+            this.high = highValue;
+            this.chunks = chunksValue;
+            this.total = totalValue;
+            this.level = levelValue;
+            this.bottomUp = bottomUpValue;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low == 1) {
+                processChunk(low, chunks, total, level, bottomUp);
+            } else {
+                final int middle = (low + high) >>> 1;
+                invokeAll(new Step(low, middle, chunks, total, level, bottomUp),
+                        new Step(middle, high, chunks, total, level, bottomUp));
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze.Point;
+
+/**
+ * Shortest path search from a point to the exit of a maze.
+ *
+ * <p>{@link MazeResolver} answers by resolving every cell from the exit.
+ * {@link BidirectionalSolver} and {@link AStarSolver} search only between
+ * the two points, visiting fewer cells for a single query. On a maze with
+ * several exits MazeResolver measures to the nearest of them, the point to
+ * point searches to the first, {@link ie.homelab.mazesolver.model.Maze#getExit()}.</p>
+ *
+ * @author derek
+ */
+public interface PathSolver {
+
+    /**
+     * Find the shortest distance from a point to the exit.
+     *
+     * @param start Point to measure distance from.
+     * @return Distance from start to exit, -1 if unreachable.
+     */
+    int solve(Point start);
+
+    /**
+     * Getter for the number of cells visited by the last solve.
+     *
+     * @return Cells reached by the search.
+     */
+    int getVisitedCount();
+}
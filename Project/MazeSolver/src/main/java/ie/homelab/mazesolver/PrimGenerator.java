@@ -0,0 +1,145 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Prim's algorithm.
+ *
+ * <p>The maze grows from one cell. At each step a random frontier cell, one
+ * next to the maze but not yet in it, is joined to a random neighbour already
+ * in the maze. The frontier is an unordered {@code int[]} with swap removal
+ * and each lattice cell has a state byte. Mazes have many short dead ends.</p>
+ *
+ * @author derek
+ */
+final class PrimGenerator extends LatticeGenerator {
+
+    /**
+     * Cell state: not yet reached.
+     */
+    private static final byte OUTSIDE = 0;
+    /**
+     * Cell state: next to the maze.
+     */
+    private static final byte FRONTIER = 1;
+    /**
+     * Cell state: in the maze.
+     */
+    private static final byte INSIDE = 2;
+
+    /**
+     * State per lattice cell.
+     */
+    private byte[] state;
+    /**
+     * Frontier cells.
+     */
+    private int[] frontier;
+    /**
+     * Cells in the frontier.
+     */
+    private int frontierSize;
+
+    @Override
+    void carve(final SplittableRandom random) {
+        final int cells = latticeWidth * latticeHeight;
+        state = new byte[cells];
+        frontier = new int[cells];
+        frontierSize = 0;
+        if (forcedFrom >= 0) {
+            state[forcedFrom] = INSIDE;
+            state[forcedTo] = INSIDE;
+            openEdge(forcedFrom, forcedTo);
+            expand(forcedFrom);
+            expand(forcedTo);
+        } else {
+            final int begin = random.nextInt(cells);
+            state[begin] = INSIDE;
+            expand(begin);
+        }
+
+        final int[] candidates = new int[DIRECTION_COUNT];
+        int pick;
+        int current;
+        int count;
+        int x;
+        int y;
+        while (frontierSize > 0) {
+            pick = random.nextInt(frontierSize);
+            current = frontier[pick];
+            frontier[pick] = frontier[--frontierSize];
+            x = current % latticeWidth;
+            y = current / latticeWidth;
+            // below, above, left, right.
+            count = 0;
+            if (y > 0 && state[current - latticeWidth] == INSIDE) {
+                candidates[count++] = current - latticeWidth;
+            }
+            if (y < latticeHeight - 1 && state[current + latticeWidth] == INSIDE) {
+                candidates[count++] = current + latticeWidth;
+            }
+            if (x > 0 && state[current - 1] == INSIDE) {
+                candidates[count++] = current - 1;
+            }
+            if (x < latticeWidth - 1 && state[current + 1] == INSIDE) {
+                candidates[count++] = current + 1;
+            }
+            openEdge(current, candidates[count == 1 ? 0 : random.nextInt(count)]);
+            state[current] = INSIDE;
+            expand(current);
+        }
+        state = null;
+        frontier = null;
+    }
+
+    /**
+     * Add the unreached neighbours of a cell to the frontier.
+     *
+     * @param cell Lattice index.
+     */
+    private void expand(final int cell) {
+        final int x = cell % latticeWidth;
+        final int y = cell / latticeWidth;
+        if (y > 0) {
+            reach(cell - latticeWidth);
+        }
+        if (y < latticeHeight - 1) {
+            reach(cell + latticeWidth);
+        }
+        if (x > 0) {
+            reach(cell - 1);
+        }
+        if (x < latticeWidth - 1) {
+            reach(cell + 1);
+        }
+    }
+
+    /**
+     * Add a cell to the frontier if not yet reached.
+     *
+     * @param cell Lattice index.
+     */
+    private void reach(final int cell) {
+        if (state[cell] == OUTSIDE) {
+            state[cell] = FRONTIER;
+            frontier[frontierSize++] = cell;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one maze resolve, committed by {@link MazeResolver}.
+ *
+ * @author derek
+ */
+@Name("ie.homelab.mazesolver.Resolve")
+@Label("Maze Resolve")
+@Category("Maze Solver")
+@Description("A maze resolved from its exit, with its work counts")
+final class ResolveEvent extends jdk.jfr.Event {
+
+    /**
+     * Maze size.
+     */
+    @Label("Maze Size")
+    int mazeSize;
+    /**
+     * Resolve mode.
+     */
+    @Label("Mode")
+    String mode;
+    /**
+     * Cells given a distance.
+     */
+    @Label("Cells Visited")
+    int cellsVisited;
+    /**
+     * Largest frontier.
+     */
+    @Label("Frontier Peak")
+    int frontierPeak;
+    /**
+     * Bytes allocated by the resolving thread.
+     */
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,163 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Last in, first out stack of ints that spills to a temporary file.
+ *
+ * <p>Values are held in one buffer. A full buffer is appended to the spill
+ * file and an empty buffer is refilled from the end of it, so memory is fixed
+ * at one buffer however deep the stack grows. Alternating pushes and pops at
+ * a buffer boundary would spill on every call; {@link ExternalResolver} only
+ * pushes to one stack while popping another.</p>
+ *
+ * @author derek
+ */
+final class SpillStack implements Closeable {
+
+    /**
+     * Spill file, deleted on close.
+     */
+    private final Path path;
+    /**
+     * Open spill file.
+     */
+    private final FileChannel channel;
+    /**
+     * Values above those spilled.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * Values held by the buffer.
+     */
+    private final int capacity;
+    /**
+     * Values in the buffer.
+     */
+    private int count;
+    /**
+     * Spill file bytes in use.
+     */
+    private long spilled;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param directory Directory for the spill file.
+     * @param capacityValue Values held in memory.
+     * @throws IOException if the spill file cannot be created.
+     */
+    SpillStack(final Path directory, final int capacityValue) throws IOException {
+        this.path = Files.createTempFile(directory, "frontier", ".spill");
+        this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        this.capacity = capacityValue;
+        this.buffer = ByteBuffer.allocateDirect(capacityValue * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Add a value on top.
+     *
+     * @param value Value to add.
+     * @throws IOException if spilling fails.
+     */
+    void push(final int value) throws IOException {
+        if (count == capacity) {
+            buffer.clear();
+            while (buffer.hasRemaining()) {
+                spilled += channel.write(buffer, spilled);
+            }
+            count = 0;
+        }
+        buffer.putInt(count * Integer.BYTES, value);
+        count++;
+    }
+
+    /**
+     * Look at the value on top without taking it.
+     *
+     * @return Top value.
+     * @throws IOException if reading spilled values fails.
+     */
+    int peek() throws IOException {
+        if (count == 0) {
+            refill();
+        }
+        return buffer.getInt((count - 1) * Integer.BYTES);
+    }
+
+    /**
+     * Take the value on top.
+     *
+     * @return Value taken.
+     * @throws IOException if reading spilled values fails.
+     */
+    int pop() throws IOException {
+        final int output = peek();
+        count--;
+        return output;
+    }
+
+    /**
+     * Check the stack is empty.
+     *
+     * @return Empty true/false.
+     */
+    boolean isEmpty() {
+        return count == 0 && spilled == 0;
+    }
+
+    /**
+     * Read the last spilled buffer back.
+     *
+     * @throws IOException if reading fails or nothing is spilled.
+     */
+    private void refill() throws IOException {
+        if (spilled == 0) {
+            throw new IllegalStateException("Stack is empty");
+        }
+        spilled -= (long) capacity * Integer.BYTES;
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, spilled + buffer.position()) < 0) {
+                throw new IOException("Spill file truncated");
+            }
+        }
+        count = capacity;
+    }
+
+    /**
+     * Close and delete the spill file.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,398 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Renders square tiles of a maze image at power of two zoom levels, for {@link MazeView}.
+ *
+ * <p>At zoom z each cell is {@code 2^z} pixels square, and below zero each
+ * pixel covers a block of {@code 2^-z} cells a side, showing the most
+ * significant cell in the block: exit, then start, then solution, then open.
+ * With the heatmap on, open cells are coloured by distance from the exit, a
+ * block by its nearest cell.</p>
+ *
+ * <p>A renderer is a snapshot: the maze, distances and solution it is given
+ * must no longer change. It is not thread-safe, use it from one rendering
+ * thread at a time.</p>
+ *
+ * @author derek
+ */
+final class TileRenderer {
+
+    /**
+     * Tile width and height in pixels.
+     */
+    static final int TILE_SIZE = 256;
+    /**
+     * Shift converting pixels to tiles.
+     */
+    static final int TILE_SHIFT = 8;
+    /**
+     * Wall colour.
+     */
+    static final int WALL_RGB = 0x30_30_38;
+    /**
+     * Open cell colour.
+     */
+    static final int PATH_RGB = 0xF4_F4_EE;
+    /**
+     * Exit colour.
+     */
+    static final int EXIT_RGB = 0x2E_A0_43;
+    /**
+     * Start colour.
+     */
+    static final int START_RGB = 0xD0_40_30;
+    /**
+     * Solution path colour.
+     */
+    static final int SOLUTION_RGB = 0xF0_B4_30;
+    /**
+     * Number of heatmap colours.
+     */
+    private static final int HEAT_COLOURS = 256;
+    /**
+     * Hue of cells next to the exit, blue.
+     */
+    private static final float NEAR_HUE = 0.66f;
+    /**
+     * Heatmap saturation.
+     */
+    private static final float HEAT_SATURATION = 0.75f;
+    /**
+     * Heatmap brightness.
+     */
+    private static final float HEAT_BRIGHTNESS = 0.95f;
+    /**
+     * Rank of a wall cell, the lowest.
+     */
+    private static final int WALL_RANK = 0;
+    /**
+     * Rank of an open cell.
+     */
+    private static final int OPEN_RANK = 1;
+    /**
+     * Rank of a solution path cell.
+     */
+    private static final int SOLUTION_RANK = 2;
+    /**
+     * Rank of the start cell.
+     */
+    private static final int START_RANK = 3;
+    /**
+     * Rank of the exit cell, the highest.
+     */
+    private static final int EXIT_RANK = 4;
+    /**
+     * Plain colour of each rank.
+     */
+    private static final int[] RANK_RGB = {WALL_RGB, PATH_RGB, SOLUTION_RGB, START_RGB, EXIT_RGB};
+    /**
+     * Heatmap colours, nearest the exit first.
+     */
+    private static final int[] HEAT_RGB = new int[HEAT_COLOURS];
+
+    static {
+        for (int i = 0; i < HEAT_COLOURS; i++) {
+            HEAT_RGB[i] = Color.HSBtoRGB(NEAR_HUE * (HEAT_COLOURS - 1 - i) / (HEAT_COLOURS - 1), HEAT_SATURATION,
+                    HEAT_BRIGHTNESS);
+        }
+    }
+
+    /**
+     * Maze grid.
+     */
+    private final MazeGrid grid;
+    /**
+     * Maze size.
+     */
+    private final int size;
+    /**
+     * Start cell index.
+     */
+    private final int start;
+    /**
+     * Resolved distances, null for none.
+     */
+    private final DistanceField distances;
+    /**
+     * Solution path cells.
+     */
+    private final BitSet solution;
+    /**
+     * Colour open cells by distance.
+     */
+    private final boolean heatmap;
+    /**
+     * Largest distance, 0 until first needed.
+     */
+    private int maxDistance;
+
+    /**
+     * Parameterised TileRenderer constructor.
+     *
+     * @param maze Maze to render.
+     * @param distancesValue Resolved distances, null for none.
+     * @param solutionValue Solution path cells.
+     * @param heatmapValue Colour open cells by distance, ignored without distances.
+     */
+    TileRenderer(final Maze maze, final DistanceField distancesValue, final BitSet solutionValue,
+            final boolean heatmapValue) {
+        this.grid = maze.getMazeGrid();
+        this.size = maze.getMazeSize();
+        this.start = grid.index(maze.getStart().x(), maze.getStart().y());
+        this.distances = distancesValue;
+        this.solution = solutionValue;
+        this.heatmap = heatmapValue && distancesValue != null;
+    }
+
+    /**
+     * Getter for maze size.
+     *
+     * @return Maze size.
+     */
+    int getMazeSize() {
+        return size;
+    }
+
+    /**
+     * Check open cells are coloured by distance.
+     *
+     * @return Heatmap true/false.
+     */
+    boolean isHeatmap() {
+        return heatmap;
+    }
+
+    /**
+     * Convert a cell coordinate to a pixel coordinate at a zoom level.
+     *
+     * @param cell Cell coordinate, may be one past the last cell.
+     * @param zoom Zoom level.
+     * @return Pixel coordinate, rounded up when a pixel covers several cells.
+     */
+    static int toPixels(final int cell, final int zoom) {
+        final int output;
+        if (zoom >= 0) {
+            output = cell << zoom;
+        } else {
+            output = (cell + (1 << -zoom) - 1) >> -zoom;
+        }
+        return output;
+    }
+
+    /**
+     * Convert a pixel coordinate to the first cell it shows at a zoom level.
+     *
+     * @param pixel Pixel coordinate.
+     * @param zoom Zoom level.
+     * @return Cell coordinate.
+     */
+    static int toCells(final int pixel, final int zoom) {
+        final int output;
+        if (zoom >= 0) {
+            output = pixel >> zoom;
+        } else {
+            output = pixel << -zoom;
+        }
+        return output;
+    }
+
+    /**
+     * Render one tile.
+     *
+     * @param zoom Zoom level.
+     * @param tileX Tile column.
+     * @param tileY Tile row.
+     * @return TILE_SIZE square image, walls beyond the maze.
+     */
+    BufferedImage render(final int zoom, final int tileX, final int tileY) {
+        final BufferedImage output = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+        final int[] pixels = ((DataBufferInt) output.getRaster().getDataBuffer()).getData();
+        Arrays.fill(pixels, WALL_RGB);
+        if (zoom >= 0) {
+            renderCells(pixels, zoom, tileX, tileY);
+        } else {
+            renderBlocks(pixels, -zoom, tileX, tileY);
+        }
+        return output;
+    }
+
+    /**
+     * Render a tile of cells one or more pixels square.
+     *
+     * @param pixels Tile pixels, row-major.
+     * @param zoom Zoom level, 0 or more.
+     * @param tileX Tile column.
+     * @param tileY Tile row.
+     */
+    private void renderCells(final int[] pixels, final int zoom, final int tileX, final int tileY) {
+        final int cellPixels = 1 << zoom;
+        final int cells = TILE_SIZE >> zoom;
+        final int firstX = tileX * cells;
+        final int firstY = tileY * cells;
+        final int columns = Math.min(cells, size - firstX);
+        final int rows = Math.min(cells, size - firstY);
+        int index;
+        int rgb;
+        int pixel;
+        for (int row = 0; row < rows; row++) {
+            index = grid.index(firstX, firstY + row);
+            for (int column = 0; column < columns; column++) {
+                rgb = colour(rank(index + column), distance(index + column));
+                pixel = (row * TILE_SIZE + column) * cellPixels;
+                for (int py = 0; py < cellPixels; py++) {
+                    Arrays.fill(pixels, pixel + py * TILE_SIZE, pixel + py * TILE_SIZE + cellPixels, rgb);
+                }
+            }
+        }
+    }
+
+    /**
+     * Render a tile where each pixel covers a block of cells.
+     *
+     * @param pixels Tile pixels, row-major.
+     * @param shift Block side as a power of two, 1 or more.
+     * @param tileX Tile column.
+     * @param tileY Tile row.
+     */
+    private void renderBlocks(final int[] pixels, final int shift, final int tileX, final int tileY) {
+        final int firstX = tileX * TILE_SIZE << shift;
+        final int firstY = tileY * TILE_SIZE << shift;
+        final int lastX = Math.min(size, firstX + (TILE_SIZE << shift));
+        final int[] ranks = new int[TILE_SIZE];
+        final int[] nearest = new int[TILE_SIZE];
+        int y = firstY;
+        int index;
+        int rank;
+        int column;
+        for (int row = 0; row < TILE_SIZE && y < size; row++) {
+            Arrays.fill(ranks, WALL_RANK);
+            Arrays.fill(nearest, -1);
+            // Merge every cell of this row of blocks into its pixel.
+            for (final int blockEnd = Math.min(size, y + (1 << shift)); y < blockEnd; y++) {
+                index = grid.index(firstX, y);
+                for (int x = firstX; x < lastX; x++, index++) {
+                    rank = rank(index);
+                    if (rank != WALL_RANK) {
+                        column = (x - firstX) >> shift;
+                        ranks[column] = Math.max(ranks[column], rank);
+                        nearest[column] = nearer(nearest[column], distance(index));
+                    }
+                }
+            }
+            for (column = 0; column < TILE_SIZE; column++) {
+                pixels[row * TILE_SIZE + column] = colour(ranks[column], nearest[column]);
+            }
+        }
+    }
+
+    /**
+     * Rank a cell by how much it matters when several share a pixel.
+     *
+     * @param index row-major cell index.
+     * @return Rank, WALL_RANK to EXIT_RANK.
+     */
+    private int rank(final int index) {
+        final int output;
+        final int value = grid.get(index);
+        if (value == Maze.WALL) {
+            output = WALL_RANK;
+        } else if (value == Maze.EXIT) {
+            output = EXIT_RANK;
+        } else if (index == start) {
+            output = START_RANK;
+        } else if (solution.get(index)) {
+            output = SOLUTION_RANK;
+        } else {
+            output = OPEN_RANK;
+        }
+        return output;
+    }
+
+    /**
+     * Get the distance shown for a cell.
+     *
+     * @param index row-major cell index.
+     * @return Distance from the exit, -1 if unreachable or not shown.
+     */
+    private int distance(final int index) {
+        return heatmap ? distances.getDistance(index) : -1;
+    }
+
+    /**
+     * Choose the nearer of two distances.
+     *
+     * @param a Distance, -1 if unreachable.
+     * @param b Distance, -1 if unreachable.
+     * @return Nearer distance, -1 if both unreachable.
+     */
+    private static int nearer(final int a, final int b) {
+        final int output;
+        if (a < 0) {
+            output = b;
+        } else if (b < 0) {
+            output = a;
+        } else {
+            output = Math.min(a, b);
+        }
+        return output;
+    }
+
+    /**
+     * Colour a cell or block.
+     *
+     * @param rank Rank of the cell, or highest rank in the block.
+     * @param distance Distance from the exit, or nearest in the block, -1 if unreachable or not shown.
+     * @return RGB colour.
+     */
+    private int colour(final int rank, final int distance) {
+        final int output;
+        if (rank == OPEN_RANK && distance >= 0) {
+            output = HEAT_RGB[(int) ((long) distance * (HEAT_COLOURS - 1) / getMaxDistance())];
+        } else {
+            output = RANK_RGB[rank];
+        }
+        return output;
+    }
+
+    /**
+     * Get the largest distance from the exit, found on first use.
+     *
+     * @return Largest distance, at least 1.
+     */
+    private int getMaxDistance() {
+        if (maxDistance == 0) {
+            final int cells = size * size;
+            int output = 1;
+            for (int i = 0; i < cells; i++) {
+                output = Math.max(output, distances.getDistance(i));
+            }
+            maxDistance = output;
+        }
+        return maxDistance;
+    }
+}
@@ -0,0 +1,362 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import ie.homelab.mazesolver.model.Maze;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tiled parallel maze generation.
+ *
+ * <p>The lattice is cut into square tiles and a randomized DFS builds a
+ * spanning tree inside each tile concurrently. A randomized DFS over the
+ * tiles then picks a spanning tree of tiles, and one passage is opened across
+ * each boundary on it, so the whole lattice is joined by a single tree and
+ * the maze stays perfect.</p>
+ *
+ * <p>Tree edges are recorded in a byte per lattice cell, written only by the
+ * tile owning that cell, and copied into the grid on the calling thread once
+ * every tile is done; grid storage packs several cells per word, so tiles
+ * cannot safely write it concurrently. Every tile draws from its own seed,
+ * taken in order from the generator's random source before any tile starts,
+ * so the result depends on the seed only and not on the number of
+ * workers.</p>
+ *
+ * @author derek
+ */
+final class TiledGenerator extends LatticeGenerator {
+
+    /**
+     * Tile side in lattice cells.
+     */
+    private static final int TILE = 128;
+    /**
+     * Chunks of tiles per worker thread, for load balance.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+    /**
+     * Lattice cell flag: passage open to the cell on the right.
+     */
+    private static final byte RIGHT = 1;
+    /**
+     * Lattice cell flag: passage open to the cell below.
+     */
+    private static final byte DOWN = 2;
+    /**
+     * Lattice cell flag: visited by its tile's search.
+     */
+    private static final byte VISITED = 4;
+
+    /**
+     * Worker pool.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Tile columns.
+     */
+    private int tilesAcross;
+    /**
+     * Tile rows.
+     */
+    private int tilesDown;
+    /**
+     * Flags per lattice cell, row-major.
+     */
+    private byte[] cells;
+    /**
+     * Seed per tile.
+     */
+    private long[] tileSeeds;
+
+    /**
+     * Parameterised constructor.
+     *
+     * @param poolValue Worker pool.
+     */
+    TiledGenerator(final ForkJoinPool poolValue) {
+        this.pool = poolValue;
+    }
+
+    @Override
+    void carve(final SplittableRandom random) {
+        tilesAcross = (latticeWidth + TILE - 1) / TILE;
+        tilesDown = (latticeHeight + TILE - 1) / TILE;
+        cells = new byte[latticeWidth * latticeHeight];
+        tileSeeds = new long[tilesAcross * tilesDown];
+        for (int i = 0; i < tileSeeds.length; i++) {
+            tileSeeds[i] = random.nextLong();
+        }
+
+        final int chunks = Math.min(tileSeeds.length, Math.max(1, pool.getParallelism() * CHUNKS_PER_WORKER));
+        if (chunks == 1) {
+            processChunk(0, 1);
+        } else {
+            pool.invoke(new Step(0, chunks, chunks));
+        }
+        joinTiles(random);
+        writeGrid();
+        cells = null;
+        tileSeeds = null;
+    }
+
+    /**
+     * Tile holding a lattice cell.
+     *
+     * @param index Lattice index.
+     * @return Row-major tile index.
+     */
+    private int tileOf(final int index) {
+        return index / latticeWidth / TILE * tilesAcross + index % latticeWidth / TILE;
+    }
+
+    /**
+     * Record a tree edge between two neighbouring lattice cells.
+     *
+     * @param from Lattice index.
+     * @param to Neighbouring lattice index.
+     */
+    private void open(final int from, final int to) {
+        final int low = Math.min(from, to);
+        cells[low] |= Math.abs(from - to) == latticeWidth ? DOWN : RIGHT;
+    }
+
+    /**
+     * Build the spanning trees of a contiguous range of tiles.
+     *
+     * @param chunk Chunk number.
+     * @param chunks Number of chunks.
+     */
+    private void processChunk(final int chunk, final int chunks) {
+        final int tiles = tileSeeds.length;
+        final int from = (int) ((long) tiles * chunk / chunks);
+        final int to = (int) ((long) tiles * (chunk + 1) / chunks);
+        final int[] stack = new int[Math.min(TILE * TILE, cells.length)];
+        final int[] candidates = new int[DIRECTION_COUNT];
+        for (int tile = from; tile < to; tile++) {
+            generateTile(tile, stack, candidates);
+        }
+    }
+
+    /**
+     * Build a spanning tree of one tile with randomized DFS backtracking.
+     *
+     * @param tile Row-major tile index.
+     * @param stack Scratch stack, room for one tile.
+     * @param candidates Scratch space for unvisited neighbours.
+     */
+    private void generateTile(final int tile, final int[] stack, final int[] candidates) {
+        final SplittableRandom tileRandom = new SplittableRandom(tileSeeds[tile]);
+        final int x0 = tile % tilesAcross * TILE;
+        final int y0 = tile / tilesAcross * TILE;
+        final int x1 = Math.min(x0 + TILE, latticeWidth);
+        final int y1 = Math.min(y0 + TILE, latticeHeight);
+
+        int top = 0;
+        if (forcedFrom >= 0 && tileOf(forcedFrom) == tile && tileOf(forcedTo) == tile) {
+            // Start on the forced edge so it is the first one taken.
+            cells[forcedFrom] |= VISITED;
+            stack[top++] = forcedFrom;
+            open(forcedFrom, forcedTo);
+            cells[forcedTo] |= VISITED;
+            stack[top++] = forcedTo;
+        } else {
+            final int begin = lattice(x0 + tileRandom.nextInt(x1 - x0), y0 + tileRandom.nextInt(y1 - y0));
+            cells[begin] |= VISITED;
+            stack[top++] = begin;
+        }
+
+        int current;
+        int next;
+        int count;
+        int x;
+        int y;
+        while (top > 0) {
+            current = stack[top - 1];
+            x = current % latticeWidth;
+            y = current / latticeWidth;
+            // below, above, left, right.
+            count = 0;
+            if (y > y0 && (cells[current - latticeWidth] & VISITED) == 0) {
+                candidates[count++] = current - latticeWidth;
+            }
+            if (y < y1 - 1 && (cells[current + latticeWidth] & VISITED) == 0) {
+                candidates[count++] = current + latticeWidth;
+            }
+            if (x > x0 && (cells[current - 1] & VISITED) == 0) {
+                candidates[count++] = current - 1;
+            }
+            if (x < x1 - 1 && (cells[current + 1] & VISITED) == 0) {
+                candidates[count++] = current + 1;
+            }
+
+            if (count > 0) {
+                next = candidates[count == 1 ? 0 : tileRandom.nextInt(count)];
+                open(current, next);
+                cells[next] |= VISITED;
+                stack[top++] = next;
+            } else {
+                top--; // No neighbours to investigate.
+            }
+        }
+    }
+
+    /**
+     * Join the tiles with one passage across each edge of a random spanning tree of tiles.
+     *
+     * @param random Random source.
+     */
+    private void joinTiles(final SplittableRandom random) {
+        final int tiles = tileSeeds.length;
+        final boolean[] joined = new boolean[tiles];
+        final int[] stack = new int[tiles];
+        final int[] candidates = new int[DIRECTION_COUNT];
+        int top = 0;
+        if (forcedFrom >= 0 && tileOf(forcedFrom) != tileOf(forcedTo)) {
+            // Start on the forced edge so it is the first one taken.
+            joined[tileOf(forcedFrom)] = true;
+            stack[top++] = tileOf(forcedFrom);
+            open(forcedFrom, forcedTo);
+            joined[tileOf(forcedTo)] = true;
+            stack[top++] = tileOf(forcedTo);
+        } else {
+            final int begin = random.nextInt(tiles);
+            joined[begin] = true;
+            stack[top++] = begin;
+        }
+
+        int current;
+        int next;
+        int count;
+        int x;
+        int y;
+        while (top > 0) {
+            current = stack[top - 1];
+            x = current % tilesAcross;
+            y = current / tilesAcross;
+            // below, above, left, right.
+            count = 0;
+            if (y > 0 && !joined[current - tilesAcross]) {
+                candidates[count++] = current - tilesAcross;
+            }
+            if (y < tilesDown - 1 && !joined[current + tilesAcross]) {
+                candidates[count++] = current + tilesAcross;
+            }
+            if (x > 0 && !joined[current - 1]) {
+                candidates[count++] = current - 1;
+            }
+            if (x < tilesAcross - 1 && !joined[current + 1]) {
+                candidates[count++] = current + 1;
+            }
+
+            if (count > 0) {
+                next = candidates[count == 1 ? 0 : random.nextInt(count)];
+                openBoundary(Math.min(current, next), Math.abs(current - next) != tilesAcross, random);
+                joined[next] = true;
+                stack[top++] = next;
+            } else {
+                top--; // No neighbours to investigate.
+            }
+        }
+    }
+
+    /**
+     * Open one random passage across the boundary after a tile.
+     *
+     * @param tile Row-major index of the tile left of or above the boundary.
+     * @param across Boundary is on the right of the tile true, below it false.
+     * @param random Random source.
+     */
+    private void openBoundary(final int tile, final boolean across, final SplittableRandom random) {
+        final int x0 = tile % tilesAcross * TILE;
+        final int y0 = tile / tilesAcross * TILE;
+        final int x1 = Math.min(x0 + TILE, latticeWidth);
+        final int y1 = Math.min(y0 + TILE, latticeHeight);
+        if (across) {
+            cells[lattice(x1 - 1, y0 + random.nextInt(y1 - y0))] |= RIGHT;
+        } else {
+            cells[lattice(x0 + random.nextInt(x1 - x0), y1 - 1)] |= DOWN;
+        }
+    }
+
+    /**
+     * Open every lattice cell and tree edge in the grid.
+     */
+    private void writeGrid() {
+        int flags;
+        int index;
+        for (int y = 0; y < latticeHeight; y++) {
+            index = (offsetY + DIST * y) * size + offsetX;
+            for (int x = 0; x < latticeWidth; x++) {
+                flags = cells[lattice(x, y)];
+                grid.set(index, Maze.PATH);
+                if ((flags & RIGHT) != 0) {
+                    grid.set(index + 1, Maze.PATH);
+                }
+                if ((flags & DOWN) != 0) {
+                    grid.set(index + size, Maze.PATH);
+                }
+                index += DIST;
+            }
+        }
+    }
+
+    /**
+     * Fork/join task splitting a range of chunks.
+     */
+    private final class Step extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        /**
+         * First chunk.
+         */
+        private final int low;
+        /**
+         * End chunk, exclusive.
+         */
+        private final int high;
+        /**
+         * Number of chunks.
+         */
+        private final int chunks;
+
+        /**
+         * Step constructor.
+         *
+         * @param lowValue First chunk.
+         * @param highValue End chunk, exclusive.
+         * @param chunksValue Number of chunks.
+         */
+        Step(final int lowValue, final int highValue, final int chunksValue) {
+            this.low = lowValue;
+            this.high = highValue;
+            this.chunks = chunksValue;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low == 1) {
+                processChunk(low, chunks);
+            } else {
+                final int middle = (low + high) >>> 1;
+                invokeAll(new Step(low, middle, chunks), new Step(middle, high, chunks));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.SplittableRandom;
+
+/**
+ * Wilson's algorithm.
+ *
+ * <p>Each cell not yet in the maze starts a random walk that ends on reaching
+ * the maze. Each cell remembers the direction it was last left by, so
+ * retracing the walk from its start follows the loop-erased path, which is
+ * then added to the maze. The result is a uniform spanning tree, with no bias
+ * toward long corridors or short dead ends. Early walks wander far before the
+ * maze is large enough to hit, so this is the slowest algorithm offered.
+ * Memory is a byte per lattice cell.</p>
+ *
+ * @author derek
+ */
+final class WilsonGenerator extends LatticeGenerator {
+
+    /**
+     * Walk direction: up.
+     */
+    private static final byte UP = 0;
+    /**
+     * Walk direction: down.
+     */
+    private static final byte DOWN = 1;
+    /**
+     * Walk direction: left.
+     */
+    private static final byte LEFT = 2;
+    /**
+     * Walk direction: right.
+     */
+    private static final byte RIGHT = 3;
+    /**
+     * Mask selecting the walk direction of a cell.
+     */
+    private static final byte DIRECTION_MASK = 3;
+    /**
+     * Cell flag: in the maze.
+     */
+    private static final byte INSIDE = 4;
+
+    @Override
+    void carve(final SplittableRandom random) {
+        final int cells = latticeWidth * latticeHeight;
+        final byte[] state = new byte[cells];
+        if (forcedFrom >= 0) {
+            state[forcedFrom] = INSIDE;
+            state[forcedTo] = INSIDE;
+            openEdge(forcedFrom, forcedTo);
+        } else {
+            state[random.nextInt(cells)] = INSIDE;
+        }
+
+        final byte[] candidates = new byte[DIRECTION_COUNT];
+        int current;
+        int count;
+        int x;
+        int y;
+        int next;
+        for (int cell = 0; cell < cells; cell++) {
+            // Walk until the maze is reached, recording the way out of each cell.
+            current = cell;
+            while ((state[current] & INSIDE) == 0) {
+                x = current % latticeWidth;
+                y = current / latticeWidth;
+                count = 0;
+                if (y > 0) {
+                    candidates[count++] = UP;
+                }
+                if (y < latticeHeight - 1) {
+                    candidates[count++] = DOWN;
+                }
+                if (x > 0) {
+                    candidates[count++] = LEFT;
+                }
+                if (x < latticeWidth - 1) {
+                    candidates[count++] = RIGHT;
+                }
+                state[current] = candidates[random.nextInt(count)];
+                current = step(current, state[current]);
+            }
+
+            // Retrace the walk, loops were erased when directions were overwritten.
+            current = cell;
+            while ((state[current] & INSIDE) == 0) {
+                next = step(current, state[current] & DIRECTION_MASK);
+                state[current] = INSIDE;
+                openEdge(current, next);
+                current = next;
+            }
+        }
+    }
+
+    /**
+     * Move one cell in a walk direction.
+     *
+     * @param cell Lattice index.
+     * @param direction Walk direction.
+     * @return Neighbouring lattice index.
+     */
+    private int step(final int cell, final int direction) {
+        final int output;
+        switch (direction) {
+            case UP -> output = cell - latticeWidth;
+            case DOWN -> output = cell + latticeWidth;
+            case LEFT -> output = cell - 1;
+            default -> output = cell + 1;
+        }
+        return output;
+    }
+}
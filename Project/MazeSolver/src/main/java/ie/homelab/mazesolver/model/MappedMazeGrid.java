@@ -0,0 +1,115 @@
+package ie.homelab.mazesolver.model;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.nio.MappedByteBuffer;
+
+/**
+ * Maze grid stored in a memory mapped file.
+ *
+ * <p>Uses the same 2 bits per cell, row-major layout as
+ * {@link PackedMazeGrid}, four cells per byte, so cells are read and written
+ * in place without copying the grid onto the heap. Instances are created by
+ * {@link MazeFile}.</p>
+ *
+ * @author derek
+ */
+public class MappedMazeGrid implements MazeGrid {
+
+    /**
+     * Bits per cell.
+     */
+    private static final int BITS = 2;
+    /**
+     * Shift converting a cell index to a byte offset (4 cells per byte).
+     */
+    private static final int BYTE_SHIFT = 2;
+    /**
+     * Mask selecting a cell offset within a byte.
+     */
+    private static final int CELL_MASK = 3;
+    /**
+     * Mask selecting a single cell code.
+     */
+    private static final int CODE_MASK = 3;
+    /**
+     * Wall cell code.
+     */
+    private static final int WALL_CODE = 0;
+
+    /**
+     * Grid size.
+     */
+    private final int size;
+
+    /**
+     * Mapped cell data.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Parameterised MappedMazeGrid constructor.
+     *
+     * @param sizeValue number of cells along one side.
+     * @param bufferValue Mapped cell data, at least size * size / 4 bytes.
+     */
+    MappedMazeGrid(final int sizeValue, final MappedByteBuffer bufferValue) {
+        this.size = sizeValue;
+        this.buffer = bufferValue;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int get(final int index) {
+        return PackedMazeGrid.decode(code(index));
+    }
+
+    @Override
+    public void set(final int index, final int value) {
+        final int shift = (index & CELL_MASK) * BITS;
+        final int position = index >>> BYTE_SHIFT;
+        final int current = buffer.get(position);
+        buffer.put(position, (byte) ((current & ~(CODE_MASK << shift)) | (PackedMazeGrid.encode(value) << shift)));
+    }
+
+    @Override
+    public boolean isOpen(final int index) {
+        return code(index) != WALL_CODE;
+    }
+
+    /**
+     * Write any changed cells back to the file.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Read the raw 2 bit code of a cell.
+     *
+     * @param index row-major cell index.
+     * @return Cell code.
+     */
+    private int code(final int index) {
+        return (buffer.get(index >>> BYTE_SHIFT) >>> ((index & CELL_MASK) * BITS)) & CODE_MASK;
+    }
+}
@@ -17,26 +17,31 @@ package ie.homelab.mazesolver.model;
  * along with this program; if not, write to the Free Software
  * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
  */
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Data object for a maze.
  *
+ * <p>A maze holds no shared state: each instance carries its own size and
+ * grid. Instances are not thread-safe and should be confined to one thread
+ * while being generated or resolved.</p>
+ *
+ * <p>All randomness is drawn from the maze seed, so the same size and seed
+ * always give the same start, exit and generated grid.</p>
+ *
+ * <p>A maze has one exit placed with the start, and may be given more with
+ * {@link #addExit(Point)} once generated. Resolvers measure every cell
+ * against its nearest exit.</p>
+ *
  * @author derek
  */
 public class Maze {
 
-    /**
-     * Half multiplier.
-     */
-    private static final double HALF = 0.5d;
-    /**
-     * Maze size, range 20 - 100.
-     */
-    private static int mazeSize;
-
     /**
      * Default maze size.
      */
@@ -49,45 +54,50 @@ public class Maze {
      * Minimum maze size.
      */
     public static final int MIN_SIZE = 20;
-
     /**
-     * Getter for maze size.
-     *
-     * @return maze size in range MIN_SIZE - MAX_SIZE inclusive.
+     * Largest grid size whose cell count still fits a flat int index.
      */
-    public static int getMazeSize() {
-        return mazeSize;
-    }
+    public static final int MAX_GRID_SIZE = 46340;
+    /**
+     * Wall cell value.
+     */
+    public static final int WALL = '#';
+    /**
+     * Path cell value.
+     */
+    public static final int PATH = '.';
+    /**
+     * Exit cell value.
+     */
+    public static final int EXIT = 'X';
 
     /**
-     * Check given coordinate falls within bounds of maze.
-     *
-     * @param x x coordinate
-     * @param y y coordinate
-     * @return Is in bounds true/false.
+     * Maze size, range 1 - MAX_GRID_SIZE.
      */
-    public static boolean isInBounds(final int x, final int y) {
-        boolean output = false;
+    private final int mazeSize;
 
-        if (x >= 0 && x < (mazeSize) && y >= 0 && y < (mazeSize)) {
-            // coordinate is in bounds
-            output = true;
-        }
-        return output;
-    }
+    /**
+     * Seed for every random choice made for this maze.
+     */
+    private final long seed;
 
     /*
-     * Exit point.
+     * Exit point, the first of exits.
      */
     private Point exit;
 
+    /*
+     * Every exit, the first placed with the start.
+     */
+    private final List<Point> exits = new ArrayList<>();
+
     /*
      * Data structure holding grid data.<br>
      * char '#' for wall <br>
      * char '.' for space<br>
      * char 'X' for exit
      */
-    private int[][] grid = null;
+    private MazeGrid grid = null;
 
     /*
      * Start point.
@@ -99,76 +109,125 @@ public class Maze {
      */
     public Maze() {
         // Default maze size.
-        mazeSize = DEFAULT_SIZE;
-        initGrid();
+        this(DEFAULT_SIZE);
     }
 
     /**
-     * Parameterised Maze constructor.
+     * Parameterised Maze constructor with a random seed.
      *
-     * @param mazeSizeValue int value MIN_SIZE - MAX_SIZE inclusive.
+     * @param mazeSizeValue int value 1 - MAX_GRID_SIZE inclusive, MIN_SIZE - MAX_SIZE for interactive play.
      */
     public Maze(final int mazeSizeValue) {
-        Maze.mazeSize = mazeSizeValue;
+        this(mazeSizeValue, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Parameterised Maze constructor.
+     *
+     * @param mazeSizeValue int value 1 - MAX_GRID_SIZE inclusive, MIN_SIZE - MAX_SIZE for interactive play.
+     * @param seedValue Seed for start, exit and generation choices.
+     */
+    public Maze(final int mazeSizeValue, final long seedValue) {
+        this(new PackedMazeGrid(mazeSizeValue), seedValue);
+    }
+
+    /**
+     * Parameterised Maze constructor placing start and exit on an empty grid.
+     *
+     * @param gridValue Grid storage, full of walls.
+     * @param seedValue Seed for start, exit and generation choices.
+     */
+    public Maze(final MazeGrid gridValue, final long seedValue) {
+        this.mazeSize = gridValue.getSize();
+        this.seed = seedValue;
+        this.grid = gridValue;
         initGrid();
     }
 
+    /**
+     * Parameterised Maze constructor for an existing grid, e.g. one read from a file.
+     *
+     * @param gridValue Grid storage.
+     * @param seedValue Seed the maze was created with.
+     * @param startValue Start point.
+     * @param exitValue Exit point.
+     */
+    public Maze(final MazeGrid gridValue, final long seedValue, final Point startValue, final Point exitValue) {
+        this.mazeSize = gridValue.getSize();
+        this.seed = seedValue;
+        this.grid = gridValue;
+        this.start = startValue;
+        this.exit = exitValue;
+        this.exits.add(exitValue);
+    }
+
     /*
      * Edge Position.
      *
+     * @param mazeSizeValue Maze size.
+     * @param random Random source.
      * @return int value representing a near or far edge on the edge of the
         maze.<br>Chosen by random value.
      */
-    private int edgePosition() {
+    private static int edgePosition(final int mazeSizeValue, final SplittableRandom random) {
         int z;
         // z must be 0 or mazeSize - 1
-        if (Math.random() >= HALF) {
+        if (random.nextBoolean()) {
             z = 0;
         } else {
-            z = mazeSize - 1;
+            z = mazeSizeValue - 1;
         }
         return z;
     }
 
     /*
-     * Initialise grid to be full of 'Walls'.
+     * Place start and exit on a grid full of 'Walls'.
      */
     private void initGrid() {
-        /* Fill grid with 'Walls', Make grid 1 cell wider and taller to
-        facilitate generator algorithm */
-        grid = new int[mazeSize + 1][mazeSize + 1];
-        for (int[] grid1 : grid) {
-            for (int j = 0; j < mazeSize + 1; j++) {
-                grid1[j] = '#';
-            }
-        }
+        final Endpoints endpoints = placeEndpoints(mazeSize, seed);
+        start = endpoints.start();
+        grid.set(start.x, start.y, PATH);
+        exit = endpoints.exit();
+        grid.set(exit.x, exit.y, EXIT);
+        exits.add(exit);
+    }
+
+    /**
+     * Choose start and exit points for a size and seed.
+     *
+     * <p>Gives the points the seeded constructors place, without creating a
+     * grid, e.g. to stream a maze too large to hold in memory.</p>
+     *
+     * @param mazeSizeValue Maze size.
+     * @param seedValue Maze seed.
+     * @return Start and exit points.
+     */
+    public static Endpoints placeEndpoints(final int mazeSizeValue, final long seedValue) {
+        final SplittableRandom random = new SplittableRandom(seedValue);
 
         // Set start point
         // Use actual maze size rather than grid size
-        int x = new Random().nextInt(mazeSize);
-        int y = new Random().nextInt(mazeSize);
-        start = new Point(x, y);
-        grid[start.x][start.y] = '.';
+        int x = random.nextInt(mazeSizeValue);
+        int y = random.nextInt(mazeSizeValue);
+        final Point startPoint = new Point(x, y);
 
         // Set exit point
         // Exit point must be on an edge.
         // Choose x or y axis
-        if (Math.random() > HALF) {
+        if (random.nextBoolean()) {
             // We choose 'x' as primary
             // Use actual maze size rather than grid size
-            x = new Random().nextInt(mazeSize);
+            x = random.nextInt(mazeSizeValue);
             // y must be on maze edge
-            y = edgePosition();
+            y = edgePosition(mazeSizeValue, random);
         } else {
             // We choose 'y' as primary
             // Use actual maze size rather than grid size
-            y = new Random().nextInt(mazeSize);
+            y = random.nextInt(mazeSizeValue);
             // x must be on maze edge
-            x = edgePosition();
+            x = edgePosition(mazeSizeValue, random);
         }
-
-        exit = new Point(x, y);
-        grid[exit.x][exit.y] = 'X';
+        return new Endpoints(startPoint, new Point(x, y));
     }
 
     /**
@@ -188,15 +247,50 @@ public class Maze {
             output = false;
         } else {
             final Maze other = (Maze) obj;
-            if (!Arrays.deepEquals(grid, other.grid)) {
-                output = false;
-            } else if (mazeSize != Maze.getMazeSize()) {
+            if (!Objects.equals(grid, other.grid)) {
                 output = false;
+            } else {
+                output = mazeSize == other.mazeSize;
             }
         }
         return output;
     }
 
+    /**
+     * Getter for maze size.
+     *
+     * @return maze size in range 1 - MAX_GRID_SIZE inclusive.
+     */
+    public int getMazeSize() {
+        return mazeSize;
+    }
+
+    /**
+     * Getter for maze seed.
+     *
+     * @return Seed for every random choice made for this maze.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Check given coordinate falls within bounds of maze.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Is in bounds true/false.
+     */
+    public boolean isInBounds(final int x, final int y) {
+        boolean output = false;
+
+        if (x >= 0 && x < (mazeSize) && y >= 0 && y < (mazeSize)) {
+            // coordinate is in bounds
+            output = true;
+        }
+        return output;
+    }
+
     /**
      * Getter for exit Point.
      *
@@ -206,12 +300,110 @@ public class Maze {
         return exit;
     }
 
+    /**
+     * Getter for every exit.
+     *
+     * @return Unmodifiable list of exits, the first being {@link #getExit()}. An exit's position is its exit ID.
+     */
+    public List<Point> getExits() {
+        return Collections.unmodifiableList(exits);
+    }
+
+    /**
+     * Add an exit to a generated maze.
+     *
+     * <p>The cell becomes an exit. If none of its neighbours is open it is
+     * joined to the maze by opening cells in a straight line towards the
+     * middle of the maze, along the axis of its nearest edge, until an open
+     * cell is reached, usually a cell or two in a generated maze. Exits must
+     * be added after generating, as generators only keep the first exit.</p>
+     *
+     * @param p Exit point, in bounds.
+     * @return Exit ID, the position of the exit in {@link #getExits()}.
+     */
+    public int addExit(final Point p) {
+        if (!isInBounds(p.x, p.y)) {
+            throw new IllegalArgumentException("Exit out of bounds: " + p);
+        }
+        int output = exits.indexOf(p);
+        if (output < 0) {
+            grid.set(p.x, p.y, EXIT);
+            joinExit(p);
+            output = exits.size();
+            exits.add(p);
+        }
+        return output;
+    }
+
+    /*
+     * Open cells in a straight line from an exit towards the middle of the maze until one has an open neighbour.
+     *
+     * @param p Exit point.
+     */
+    private void joinExit(final Point p) {
+        final int last = mazeSize - 1;
+        int dx = 0;
+        int dy = 0;
+        if (Math.min(p.x, last - p.x) < Math.min(p.y, last - p.y)) {
+            dx = p.x * 2 < last ? 1 : -1;
+        } else {
+            dy = p.y * 2 < last ? 1 : -1;
+        }
+        int x = p.x;
+        int y = p.y;
+        // Cells behind are already open, only the other three neighbours count.
+        boolean joined = isOpenAt(x - dx, y - dy);
+        while (!joined && isInBounds(x + dx, y + dy)) {
+            joined = isOpenAt(x + dx, y + dy) || isOpenAt(x + dy, y + dx) || isOpenAt(x - dy, y - dx);
+            if (!joined) {
+                x += dx;
+                y += dy;
+                grid.set(x, y, PATH);
+            }
+        }
+    }
+
+    /*
+     * Check a coordinate is in bounds and open.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Open true/false.
+     */
+    private boolean isOpenAt(final int x, final int y) {
+        return isInBounds(x, y) && grid.isOpen(x, y);
+    }
+
     /**
      * Getter for grid data.
      *
+     * <p>Compatibility view: returns a copy of the cells as an {@code int[][]}
+     * indexed {@code [x][y]}, one cell wider and taller than the maze and
+     * padded with walls. Changes to the copy are only applied through
+     * {@link #setGrid(int[][])}. Use {@link #getMazeGrid()} for direct access.</p>
+     *
      * @return Grid data.
      */
     public int[][] getGrid() {
+        final int[][] output = new int[mazeSize + 1][mazeSize + 1];
+        for (int x = 0; x < mazeSize + 1; x++) {
+            for (int y = 0; y < mazeSize + 1; y++) {
+                if (x < mazeSize && y < mazeSize) {
+                    output[x][y] = grid.get(x, y);
+                } else {
+                    output[x][y] = WALL;
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Getter for the grid storage backing this maze.
+     *
+     * @return MazeGrid storage.
+     */
+    public MazeGrid getMazeGrid() {
         return grid;
     }
 
@@ -233,7 +425,7 @@ public class Maze {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.deepHashCode(grid);
+        result = prime * result + Objects.hashCode(grid);
         result = prime * result + mazeSize;
         return result;
     }
@@ -241,9 +433,27 @@ public class Maze {
     /**
      * Set grid data.
      *
-     * @param gridData Grid data.
+     * @param gridData Grid data indexed {@code [x][y]}, at least mazeSize cells along each side.
      */
     public void setGrid(final int[][] gridData) {
+        final MazeGrid output = new PackedMazeGrid(mazeSize);
+        for (int x = 0; x < mazeSize; x++) {
+            for (int y = 0; y < mazeSize; y++) {
+                output.set(x, y, gridData[x][y]);
+            }
+        }
+        this.grid = output;
+    }
+
+    /**
+     * Set grid storage.
+     *
+     * @param gridData Grid storage, mazeSize cells along each side.
+     */
+    public void setMazeGrid(final MazeGrid gridData) {
+        if (gridData.getSize() != mazeSize) {
+            throw new IllegalArgumentException("Grid size does not match maze size: " + gridData.getSize());
+        }
         this.grid = gridData;
     }
 
@@ -255,7 +465,7 @@ public class Maze {
     @Override
     public String toString() {
         final StringBuilder output = new StringBuilder();
-        output.append("Maze [ mazeSize=").append(mazeSize).append("]\n");
+        output.append("Maze [ mazeSize=").append(mazeSize).append(", seed=").append(seed).append("]\n");
         // Top line
         output.append("+");
         for (int i = 0; i < mazeSize; i++) {
@@ -265,7 +475,7 @@ public class Maze {
         for (int i = 0; i < mazeSize; i++) {
             output.append("|"); // Left edge
             for (int j = 0; j < mazeSize; j++) {
-                output.append((char) grid[j][i]);
+                output.append((char) grid.get(j, i));
             }
             output.append("|\n"); // Right edge
         }
@@ -283,6 +493,15 @@ public class Maze {
         return output.toString();
     }
 
+    /**
+     * Start and exit points of a maze.
+     *
+     * @param start Start point.
+     * @param exit Exit point.
+     */
+    public record Endpoints(Point start, Point exit) {
+    }
+
     /**
      * A Point record.
      *
@@ -0,0 +1,426 @@
+package ie.homelab.mazesolver.model;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary maze file format.
+ *
+ * <p>A file is a fixed size little-endian header followed by the cells,
+ * packed 2 bits per cell in row-major order:</p>
+ * <pre>
+ *  offset  size  field
+ *       0     4  magic "MAZE"
+ *       4     4  format version
+ *       8     4  maze size
+ *      12     4  bits per cell
+ *      16     8  seed
+ *      24     4  start x
+ *      28     4  start y
+ *      32     4  exit x
+ *      36     4  exit y
+ *      40    24  reserved, zero
+ *      64        cells, ceil(size * size / 4) bytes
+ * </pre>
+ *
+ * <p>Mazes opened or created here are backed by a {@link MappedMazeGrid}, so
+ * they can be generated and resolved without loading the grid onto the heap.</p>
+ *
+ * @author derek
+ */
+public final class MazeFile {
+
+    /**
+     * File magic, "MAZE" in ASCII.
+     */
+    public static final int MAGIC = 0x4D415A45;
+    /**
+     * File format version.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Header size in bytes.
+     */
+    public static final int HEADER_SIZE = 64;
+    /**
+     * Header offset of the format version.
+     */
+    private static final int VERSION_OFFSET = 4;
+    /**
+     * Header offset of the maze size.
+     */
+    private static final int SIZE_OFFSET = 8;
+    /**
+     * Header offset of the bits per cell.
+     */
+    private static final int BITS_OFFSET = 12;
+    /**
+     * Header offset of the seed.
+     */
+    private static final int SEED_OFFSET = 16;
+    /**
+     * Header offset of the start x coordinate.
+     */
+    private static final int START_X_OFFSET = 24;
+    /**
+     * Header offset of the start y coordinate.
+     */
+    private static final int START_Y_OFFSET = 28;
+    /**
+     * Header offset of the exit x coordinate.
+     */
+    private static final int EXIT_X_OFFSET = 32;
+    /**
+     * Header offset of the exit y coordinate.
+     */
+    private static final int EXIT_Y_OFFSET = 36;
+    /**
+     * Bits per cell.
+     */
+    private static final int BITS_PER_CELL = 2;
+    /**
+     * Cells per byte.
+     */
+    private static final int CELLS_PER_BYTE = 4;
+
+    /**
+     * Utility class constructor.
+     */
+    private MazeFile() {
+        // Static methods only.
+    }
+
+    /**
+     * Create a maze file full of walls and place start and exit.
+     *
+     * <p>The returned maze can be generated in place. Call
+     * {@link MappedMazeGrid#force()} on its grid to make sure the cells have
+     * reached the file.</p>
+     *
+     * @param path File to create or replace.
+     * @param mazeSize Maze size, 1 - Maze.MAX_GRID_SIZE inclusive.
+     * @param seed Maze seed.
+     * @return Maze backed by the mapped file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static Maze create(final Path path, final int mazeSize, final long seed) throws IOException {
+        if (mazeSize < 1 || mazeSize > Maze.MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Maze size out of range: " + mazeSize);
+        }
+        final Maze output;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final MappedByteBuffer cells = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE,
+                    dataSize(mazeSize));
+            output = new Maze(new MappedMazeGrid(mazeSize, cells), seed);
+            writeHeader(channel, output);
+        }
+        return output;
+    }
+
+    /**
+     * Open a maze file read-only.
+     *
+     * @param path Maze file.
+     * @return Maze backed by the mapped file.
+     * @throws IOException if the file cannot be read or is not a maze file.
+     */
+    public static Maze open(final Path path) throws IOException {
+        final Maze output;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = readHeader(channel);
+            final int mazeSize = header.getInt(SIZE_OFFSET);
+            final MappedByteBuffer cells = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE,
+                    dataSize(mazeSize));
+            output = new Maze(new MappedMazeGrid(mazeSize, cells), header.getLong(SEED_OFFSET),
+                    new Maze.Point(header.getInt(START_X_OFFSET), header.getInt(START_Y_OFFSET)),
+                    new Maze.Point(header.getInt(EXIT_X_OFFSET), header.getInt(EXIT_Y_OFFSET)));
+        }
+        return output;
+    }
+
+    /**
+     * Write a maze to a file.
+     *
+     * @param maze Maze to write.
+     * @param path File to create or replace.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(final Maze maze, final Path path) throws IOException {
+        final int mazeSize = maze.getMazeSize();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long bytes = dataSize(mazeSize);
+            final MappedByteBuffer cells = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, bytes);
+            if (maze.getMazeGrid() instanceof PackedMazeGrid packed) {
+                // Same bit layout, copy whole words.
+                cells.order(ByteOrder.LITTLE_ENDIAN);
+                final long[] words = packed.getWords();
+                int word = 0;
+                while (cells.remaining() >= Long.BYTES) {
+                    cells.putLong(words[word++]);
+                }
+                for (int shift = 0; cells.hasRemaining(); shift += Byte.SIZE) {
+                    cells.put((byte) (words[word] >>> shift));
+                }
+            } else {
+                final MazeGrid source = maze.getMazeGrid();
+                final MappedMazeGrid target = new MappedMazeGrid(mazeSize, cells);
+                final int count = mazeSize * mazeSize;
+                for (int i = 0; i < count; i++) {
+                    if (source.isOpen(i)) {
+                        target.set(i, source.get(i));
+                    }
+                }
+            }
+            cells.force();
+            writeHeader(channel, maze);
+        }
+    }
+
+    /**
+     * Create a maze file to be written one row at a time.
+     *
+     * <p>Only a small buffer is held in memory, so mazes far larger than the
+     * heap can be written. The header is written when the writer is closed
+     * after the last row.</p>
+     *
+     * @param path File to create or replace.
+     * @param mazeSize Maze size, 1 - Maze.MAX_GRID_SIZE inclusive.
+     * @param seed Maze seed.
+     * @param start Start point.
+     * @param exit Exit point.
+     * @return Row writer, to be closed once every row is written.
+     * @throws IOException if the file cannot be created.
+     */
+    public static RowWriter writer(final Path path, final int mazeSize, final long seed, final Maze.Point start,
+            final Maze.Point exit) throws IOException {
+        if (mazeSize < 1 || mazeSize > Maze.MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Maze size out of range: " + mazeSize);
+        }
+        return new RowWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), mazeSize, seed, start, exit);
+    }
+
+    /**
+     * Number of bytes holding the cells of a maze.
+     *
+     * @param mazeSize Maze size.
+     * @return Cell data size in bytes.
+     */
+    public static long dataSize(final int mazeSize) {
+        return ((long) mazeSize * mazeSize + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE;
+    }
+
+    /**
+     * Write the file header.
+     *
+     * @param channel Open file.
+     * @param maze Maze described by the header.
+     * @throws IOException if the header cannot be written.
+     */
+    private static void writeHeader(final FileChannel channel, final Maze maze) throws IOException {
+        writeHeader(channel, maze.getMazeSize(), maze.getSeed(), maze.getStart(), maze.getExit());
+    }
+
+    /**
+     * Write the file header.
+     *
+     * @param channel Open file.
+     * @param mazeSize Maze size.
+     * @param seed Maze seed.
+     * @param start Start point.
+     * @param exit Exit point.
+     * @throws IOException if the header cannot be written.
+     */
+    private static void writeHeader(final FileChannel channel, final int mazeSize, final long seed,
+            final Maze.Point start, final Maze.Point exit) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(mazeSize).putInt(BITS_PER_CELL);
+        header.putLong(seed);
+        header.putInt(start.x()).putInt(start.y());
+        header.putInt(exit.x()).putInt(exit.y());
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Read and validate the file header.
+     *
+     * @param channel Open file.
+     * @return Header bytes.
+     * @throws IOException if the header cannot be read or is not a maze header.
+     */
+    private static ByteBuffer readHeader(final FileChannel channel) throws IOException {
+        final ByteBuffer output = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (output.hasRemaining()) {
+            if (channel.read(output, output.position()) < 0) {
+                throw new IOException("Truncated maze file header");
+            }
+        }
+        if (output.getInt(0) != MAGIC) {
+            throw new IOException("Not a maze file");
+        }
+        if (output.getInt(VERSION_OFFSET) != VERSION || output.getInt(BITS_OFFSET) != BITS_PER_CELL) {
+            throw new IOException("Unsupported maze file version " + output.getInt(VERSION_OFFSET));
+        }
+        final int mazeSize = output.getInt(SIZE_OFFSET);
+        if (mazeSize < 1 || mazeSize > Maze.MAX_GRID_SIZE || channel.size() < HEADER_SIZE + dataSize(mazeSize)) {
+            throw new IOException("Corrupt maze file, size " + mazeSize);
+        }
+        return output;
+    }
+
+    /**
+     * Sequential writer packing rows of cells into a maze file.
+     */
+    public static final class RowWriter implements RowSink, Closeable {
+
+        /**
+         * Output buffer size in bytes.
+         */
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        /**
+         * Open file.
+         */
+        private final FileChannel channel;
+        /**
+         * Maze size.
+         */
+        private final int mazeSize;
+        /**
+         * Maze seed.
+         */
+        private final long seed;
+        /**
+         * Start point.
+         */
+        private final Maze.Point start;
+        /**
+         * Exit point.
+         */
+        private final Maze.Point exit;
+        /**
+         * Packed cells waiting to be written.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        /**
+         * Cell codes of the partly filled byte, low bits first.
+         */
+        private int pending;
+        /**
+         * Cells in the partly filled byte.
+         */
+        private int pendingCells;
+        /**
+         * Rows accepted so far.
+         */
+        private int rows;
+
+        /**
+         * Parameterised constructor.
+         *
+         * @param channelValue Open file.
+         * @param mazeSizeValue Maze size.
+         * @param seedValue Maze seed.
+         * @param startValue Start point.
+         * @param exitValue Exit point.
+         * @throws IOException if the file cannot be positioned.
+         */
+        private RowWriter(final FileChannel channelValue, final int mazeSizeValue, final long seedValue,
+                final Maze.Point startValue, final Maze.Point exitValue) throws IOException {
+            this.channel = channelValue;
+            this.mazeSize = mazeSizeValue;
+            this.seed = seedValue;
+            this.start = startValue;
+            this.exit = exitValue;
+            channel.position(HEADER_SIZE);
+        }
+
+        @Override
+        public void accept(final byte[] cells) throws IOException {
+            if (rows == mazeSize) {
+                throw new IllegalStateException("Maze already has " + mazeSize + " rows");
+            }
+            for (int x = 0; x < mazeSize; x++) {
+                pending |= PackedMazeGrid.encode(cells[x]) << (pendingCells * BITS_PER_CELL);
+                if (++pendingCells == CELLS_PER_BYTE) {
+                    put();
+                }
+            }
+            rows++;
+        }
+
+        /**
+         * Write the last cells and the header, then close the file.
+         *
+         * @throws IOException if writing fails or rows are missing.
+         */
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                if (rows != mazeSize) {
+                    throw new IOException("Incomplete maze, " + rows + " of " + mazeSize + " rows written");
+                }
+                if (pendingCells > 0) {
+                    put();
+                }
+                flush();
+                writeHeader(channel, mazeSize, seed, start, exit);
+            }
+        }
+
+        /**
+         * Move the partly filled byte into the buffer.
+         *
+         * @throws IOException if the buffer cannot be flushed.
+         */
+        private void put() throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) pending);
+            pending = 0;
+            pendingCells = 0;
+        }
+
+        /**
+         * Write the buffer to the file.
+         *
+         * @throws IOException if writing fails.
+         */
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ie.homelab.mazesolver.model;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.Arrays;
+
+/**
+ * Storage abstraction for the cells of a square maze.
+ *
+ * <p>Cells are addressed either by coordinate or by a flat row-major index,
+ * {@code index = y * size + x}. Cell values are the display characters
+ * {@link Maze#WALL}, {@link Maze#PATH} and {@link Maze#EXIT}.</p>
+ *
+ * @author derek
+ */
+public interface MazeGrid {
+
+    /**
+     * Getter for grid size.
+     *
+     * @return Number of cells along one side of the grid.
+     */
+    int getSize();
+
+    /**
+     * Get cell value at a flat index.
+     *
+     * @param index row-major cell index.
+     * @return Cell value.
+     */
+    int get(int index);
+
+    /**
+     * Set cell value at a flat index.
+     *
+     * @param index row-major cell index.
+     * @param value Cell value.
+     */
+    void set(int index, int value);
+
+    /**
+     * Check cell at a flat index can be walked through.
+     *
+     * @param index row-major cell index.
+     * @return Is open true/false.
+     */
+    default boolean isOpen(final int index) {
+        return get(index) != Maze.WALL;
+    }
+
+    /**
+     * Count the cells that can be walked through.
+     *
+     * @return Open cells.
+     */
+    default long countOpen() {
+        final int cells = getSize() * getSize();
+        long output = 0;
+        for (int i = 0; i < cells; i++) {
+            if (isOpen(i)) {
+                output++;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Write one row's open cells as bits, cell x of the row in bit {@code x % 64} of word {@code offset + x / 64}.
+     *
+     * @param y Row.
+     * @param bits Output words, {@code (size + 63) / 64} of them from offset are overwritten.
+     * @param offset First output word.
+     */
+    default void openBits(final int y, final long[] bits, final int offset) {
+        final int size = getSize();
+        final int first = index(0, y);
+        Arrays.fill(bits, offset, offset + (size + Long.SIZE - 1) / Long.SIZE, 0L);
+        for (int x = 0; x < size; x++) {
+            if (isOpen(first + x)) {
+                bits[offset + x / Long.SIZE] |= 1L << x;
+            }
+        }
+    }
+
+    /**
+     * Convert a coordinate to a flat index.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return row-major cell index.
+     */
+    default int index(final int x, final int y) {
+        return y * getSize() + x;
+    }
+
+    /**
+     * Get cell value at a coordinate.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Cell value.
+     */
+    default int get(final int x, final int y) {
+        return get(index(x, y));
+    }
+
+    /**
+     * Set cell value at a coordinate.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param value Cell value.
+     */
+    default void set(final int x, final int y, final int value) {
+        set(index(x, y), value);
+    }
+
+    /**
+     * Check cell at a coordinate can be walked through.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return Is open true/false.
+     */
+    default boolean isOpen(final int x, final int y) {
+        return isOpen(index(x, y));
+    }
+}
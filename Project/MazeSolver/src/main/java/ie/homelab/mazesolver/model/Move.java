@@ -0,0 +1,113 @@
+package ie.homelab.mazesolver.model;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+/**
+ * A single step through the maze, keyed as in the specification.
+ *
+ * @author derek
+ */
+public enum Move {
+
+    /**
+     * Up, key 'w'.
+     */
+    UP('w', 0, -1),
+    /**
+     * Left, key 'a'.
+     */
+    LEFT('a', -1, 0),
+    /**
+     * Down, key 's'.
+     */
+    DOWN('s', 0, 1),
+    /**
+     * Right, key 'd'.
+     */
+    RIGHT('d', 1, 0);
+
+    /**
+     * Keyboard key.
+     */
+    private final char key;
+    /**
+     * Change in x.
+     */
+    private final int dx;
+    /**
+     * Change in y.
+     */
+    private final int dy;
+
+    /**
+     * Move constructor.
+     *
+     * @param keyValue Keyboard key.
+     * @param dxValue Change in x.
+     * @param dyValue Change in y.
+     */
+    Move(final char keyValue, final int dxValue, final int dyValue) {
+        this.key = keyValue;
+        this.dx = dxValue;
+        this.dy = dyValue;
+    }
+
+    /**
+     * Find the move for a key.
+     *
+     * @param keyValue Keyboard key, case insensitive.
+     * @return Move, or null if the key is not a move.
+     */
+    public static Move fromKey(final char keyValue) {
+        Move output = null;
+        final char lower = Character.toLowerCase(keyValue);
+        for (Move move : values()) {
+            if (move.key == lower) {
+                output = move;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Getter for key.
+     *
+     * @return Keyboard key.
+     */
+    public char getKey() {
+        return key;
+    }
+
+    /**
+     * Getter for change in x.
+     *
+     * @return Change in x.
+     */
+    public int getDx() {
+        return dx;
+    }
+
+    /**
+     * Getter for change in y.
+     *
+     * @return Change in y.
+     */
+    public int getDy() {
+        return dy;
+    }
+}
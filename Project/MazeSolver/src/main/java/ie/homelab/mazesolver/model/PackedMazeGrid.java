@@ -0,0 +1,248 @@
+package ie.homelab.mazesolver.model;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.util.Arrays;
+
+/**
+ * Compact maze grid storing each cell in 2 bits of a flat {@code long[]}.
+ *
+ * <p>A 10,000 x 10,000 maze needs 25MB rather than the 400MB of an
+ * {@code int[][]}. A new grid is entirely walls.</p>
+ *
+ * @author derek
+ */
+public class PackedMazeGrid implements MazeGrid {
+
+    /**
+     * Bits per cell.
+     */
+    private static final int BITS = 2;
+    /**
+     * Shift converting a cell index to a word index (32 cells per word).
+     */
+    private static final int WORD_SHIFT = 5;
+    /**
+     * Mask selecting a cell offset within a word.
+     */
+    private static final int CELL_MASK = 31;
+    /**
+     * Mask selecting a single cell code.
+     */
+    private static final long CODE_MASK = 3L;
+    /**
+     * Mask selecting the low bit of every cell code in a word.
+     */
+    private static final long LOW_BITS = 0x5555_5555_5555_5555L;
+    /**
+     * Wall cell code.
+     */
+    private static final int WALL_CODE = 0;
+    /**
+     * Path cell code.
+     */
+    private static final int PATH_CODE = 1;
+    /**
+     * Exit cell code.
+     */
+    private static final int EXIT_CODE = 2;
+    /**
+     * Cell values indexed by cell code. Code 3 is unused.
+     */
+    private static final int[] VALUES = {Maze.WALL, Maze.PATH, Maze.EXIT, Maze.WALL};
+
+    /**
+     * Encode a cell value.
+     *
+     * @param value Cell value.
+     * @return 2 bit cell code.
+     */
+    static int encode(final int value) {
+        final int output;
+        switch (value) {
+            case Maze.WALL -> output = WALL_CODE;
+            case Maze.PATH -> output = PATH_CODE;
+            case Maze.EXIT -> output = EXIT_CODE;
+            default -> throw new IllegalArgumentException("Unknown cell value: " + value);
+        }
+        return output;
+    }
+
+    /**
+     * Decode a cell code.
+     *
+     * @param code 2 bit cell code.
+     * @return Cell value.
+     */
+    static int decode(final int code) {
+        return VALUES[code];
+    }
+
+    /**
+     * Grid size.
+     */
+    private final int size;
+
+    /**
+     * Packed cell codes, 32 cells per word.
+     */
+    private final long[] words;
+
+    /**
+     * Parameterised PackedMazeGrid constructor.
+     *
+     * @param sizeValue number of cells along one side, 1 - Maze.MAX_GRID_SIZE inclusive.
+     */
+    public PackedMazeGrid(final int sizeValue) {
+        if (sizeValue < 1 || sizeValue > Maze.MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Grid size out of range: " + sizeValue);
+        }
+        this.size = sizeValue;
+        final long cells = (long) sizeValue * sizeValue;
+        this.words = new long[(int) ((cells + CELL_MASK) >>> WORD_SHIFT)];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int get(final int index) {
+        return decode(code(index));
+    }
+
+    @Override
+    public void set(final int index, final int value) {
+        final int shift = (index & CELL_MASK) * BITS;
+        final int word = index >>> WORD_SHIFT;
+        words[word] = (words[word] & ~(CODE_MASK << shift)) | ((long) encode(value) << shift);
+    }
+
+    @Override
+    public boolean isOpen(final int index) {
+        return code(index) != WALL_CODE;
+    }
+
+    /**
+     * Count open cells a word at a time, a cell being open if either bit of its code is set.
+     *
+     * @return Open cells.
+     */
+    @Override
+    public long countOpen() {
+        long output = 0;
+        // Cells past the end of the grid are walls, code 0, so whole words can be counted.
+        for (long word : words) {
+            output += Long.bitCount((word | word >>> 1) & LOW_BITS);
+        }
+        return output;
+    }
+
+    /**
+     * Write one row's open cells as bits, 32 cells at a time with {@link Long#compress(long, long)}.
+     *
+     * @param y Row.
+     * @param bits Output words.
+     * @param offset First output word.
+     */
+    @Override
+    public void openBits(final int y, final long[] bits, final int offset) {
+        final int first = y * size;
+        int word = offset;
+        long low;
+        long high;
+        for (int x = 0; x < size; x += Long.SIZE) {
+            low = openBits32(first + x);
+            high = x + Integer.SIZE < size ? openBits32(first + x + Integer.SIZE) : 0L;
+            bits[word++] = low | high << Integer.SIZE;
+        }
+        final int tail = size % Long.SIZE;
+        if (tail != 0) {
+            // Clear cells of the next row picked up after the end of this one.
+            bits[word - 1] &= (1L << tail) - 1;
+        }
+    }
+
+    /**
+     * Gather the open flags of 32 cells from any cell index.
+     *
+     * @param index row-major index of the first cell.
+     * @return Open flags in the low 32 bits, cells past the end of the grid closed.
+     */
+    private long openBits32(final int index) {
+        final int word = index >>> WORD_SHIFT;
+        final int shift = (index & CELL_MASK) * BITS;
+        long codes = words[word] >>> shift;
+        if (shift != 0 && word + 1 < words.length) {
+            codes |= words[word + 1] << (Long.SIZE - shift);
+        }
+        return Long.compress(codes | codes >>> 1, LOW_BITS);
+    }
+
+    /**
+     * Getter for the packed cell words, 32 cells per word in little-endian bit order.
+     *
+     * @return Backing array, not a copy.
+     */
+    long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Read the raw 2 bit code of a cell.
+     *
+     * @param index row-major cell index.
+     * @return Cell code.
+     */
+    private int code(final int index) {
+        return (int) ((words[index >>> WORD_SHIFT] >>> ((index & CELL_MASK) * BITS)) & CODE_MASK);
+    }
+
+    /**
+     * Overrides equals.
+     *
+     * @param obj Object to test equality against.
+     * @return True or false
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        boolean output = false;
+        if (this == obj) {
+            output = true;
+        } else if (obj != null && getClass() == obj.getClass()) {
+            final PackedMazeGrid other = (PackedMazeGrid) obj;
+            output = size == other.size && Arrays.equals(words, other.words);
+        }
+        return output;
+    }
+
+    /**
+     * Overrides hashCode().
+     *
+     * @return Object hashcode.
+     */
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Arrays.hashCode(words);
+        result = prime * result + size;
+        return result;
+    }
+}
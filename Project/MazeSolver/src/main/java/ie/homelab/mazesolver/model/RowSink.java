@@ -0,0 +1,41 @@
+package ie.homelab.mazesolver.model;
+
+/*
+ * Copyright (C) 2026 derek
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import java.io.IOException;
+
+/**
+ * Consumer of maze cells one row at a time.
+ *
+ * <p>Rows arrive in order from the top, so a maze can be written out while
+ * it is generated without ever holding the whole grid.</p>
+ *
+ * @author derek
+ */
+@FunctionalInterface
+public interface RowSink {
+
+    /**
+     * Accept the next row.
+     *
+     * @param cells Cell values {@link Maze#WALL}, {@link Maze#PATH} or {@link Maze#EXIT}, one per column.
+     *        Only valid until the call returns.
+     * @throws IOException if the row cannot be written.
+     */
+    void accept(byte[] cells) throws IOException;
+}
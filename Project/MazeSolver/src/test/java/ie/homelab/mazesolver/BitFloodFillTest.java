@@ -0,0 +1,152 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static ie.homelab.mazesolver.ResolveAssertions.addBorderExits;
+import static ie.homelab.mazesolver.ResolveAssertions.assertNearestExitIds;
+import static ie.homelab.mazesolver.ResolveAssertions.assertSameDistances;
+import static ie.homelab.mazesolver.ResolveAssertions.braid;
+import static ie.homelab.mazesolver.ResolveAssertions.generate;
+import static ie.homelab.mazesolver.ResolveAssertions.resolve;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BitFloodFill}, directly and through {@link MazeResolver.Mode#BIT_PARALLEL}, comparing with the
+ * sequential BFS.
+ *
+ * <p>Sizes either side of multiples of 64 check the shifts that carry the
+ * frontier across words and stop it at the end of a row.</p>
+ *
+ * @author derek
+ */
+class BitFloodFillTest {
+
+    /**
+     * Maze sizes resolved for each seed.
+     */
+    private static final int[] SIZES = {1, 2, 63, 64, 65, 127, 128, 129, 300};
+    /**
+     * Seeds generated for each size.
+     */
+    private static final long[] SEEDS = {20L, 2020L};
+    /**
+     * Openings tried per cell to braid a maze.
+     */
+    private static final double BRAID_OPENINGS = 0.2;
+
+    /**
+     * Perfect single exit mazes get the sequential distances.
+     */
+    @Test
+    void perfectMazesMatchBfs() {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                final Maze maze = generate(size, seed);
+                assertSameDistances(resolve(maze, MazeResolver.Mode.BFS), resolve(maze, MazeResolver.Mode.BIT_PARALLEL),
+                        "size " + size + " seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * Braided mazes with several exits get the sequential distances and a nearest exit for every cell.
+     */
+    @Test
+    void braidedMultiExitMazesMatchBfs() {
+        final SplittableRandom random = new SplittableRandom(20);
+        for (int size : SIZES) {
+            final Maze maze = generate(size, random.nextLong());
+            braid(maze, random, BRAID_OPENINGS);
+            addBorderExits(maze, random, 1 + size / 64);
+            final MazeResolver bits = resolve(maze, MazeResolver.Mode.BIT_PARALLEL);
+            assertSameDistances(resolve(maze, MazeResolver.Mode.BFS), bits, "braided size " + size);
+            assertNearestExitIds(maze, bits, "braided size " + size);
+        }
+    }
+
+    /**
+     * Fills and connectivity checks agree with the cells a BFS reaches, and passages are counted as pairs of open
+     * neighbours.
+     */
+    @Test
+    void fillAndConnectivityMatchBfs() {
+        final SplittableRandom random = new SplittableRandom(2020);
+        for (int size : SIZES) {
+            final Maze maze = generate(size, random.nextLong());
+            braid(maze, random, BRAID_OPENINGS);
+            final MazeResolver expected = resolve(maze, MazeResolver.Mode.BFS);
+            final BitFloodFill fill = new BitFloodFill(maze.getMazeGrid());
+            final Point exit = maze.getExit();
+            final String context = "size " + size;
+
+            assertEquals(expected.getVisitedCount(), fill.fill(exit.x(), exit.y()), context + " fill");
+            for (int cell = 0; cell < size * size; cell++) {
+                assertEquals(expected.getDistance(cell) >= 0, fill.isFilled(cell % size, cell / size),
+                        context + " filled cell " + cell);
+            }
+            final Point start = maze.getStart();
+            assertEquals(expected.getPointDistance(start) >= 0, fill.isConnected(exit, start), context + " connected");
+            assertEquals(countPassages(maze.getMazeGrid()), fill.countPassages(), context + " passages");
+        }
+    }
+
+    /**
+     * Filling from a wall reaches nothing.
+     */
+    @Test
+    void fillFromWallIsEmpty() {
+        final Maze maze = generate(65, 3L);
+        final MazeGrid grid = maze.getMazeGrid();
+        int wall = 0;
+        while (grid.isOpen(wall)) {
+            wall++;
+        }
+        final BitFloodFill fill = new BitFloodFill(grid);
+        assertEquals(0, fill.fill(wall % 65, wall / 65));
+    }
+
+    /**
+     * Count pairs of neighbouring open cells one cell at a time.
+     *
+     * @param grid Grid data.
+     * @return Passages.
+     */
+    private static long countPassages(final MazeGrid grid) {
+        final int size = grid.getSize();
+        long output = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (grid.isOpen(x, y)) {
+                    if (x < size - 1 && grid.isOpen(x + 1, y)) {
+                        output++;
+                    }
+                    if (y < size - 1 && grid.isOpen(x, y + 1)) {
+                        output++;
+                    }
+                }
+            }
+        }
+        return output;
+    }
+}
@@ -0,0 +1,274 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.PackedMazeGrid;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the incremental distance updates of {@link MazeResolver#openWall(Point)} and
+ * {@link MazeResolver#closeWall(Point)}, checked after every edit against a full resolve.
+ *
+ * <p>Random edits open loops, cut off parts of the maze and join them back,
+ * so the repaired distances are compared on cyclic mazes and on unreachable
+ * cells as well as on perfect mazes.</p>
+ *
+ * @author derek
+ */
+class DistanceRepairTest {
+
+    /**
+     * Mazes edited per test.
+     */
+    private static final int MAZES = 40;
+    /**
+     * Random wall edits per maze.
+     */
+    private static final int EDITS = 150;
+    /**
+     * Smallest maze size drawn.
+     */
+    private static final int MIN_SIZE = 2;
+    /**
+     * Largest maze size drawn.
+     */
+    private static final int MAX_SIZE = 48;
+    /**
+     * Most exits added to a multi-exit maze.
+     */
+    private static final int MAX_EXTRA_EXITS = 3;
+    /**
+     * Extra random openings per cell of a braided maze before editing.
+     */
+    private static final double BRAID_OPENINGS = 0.2;
+
+    /**
+     * Random edits on single exit mazes keep the distances and visited count of a full resolve.
+     */
+    @Test
+    void singleExitEditsMatchFullResolve() {
+        editAndCompare(new SplittableRandom(19), false, false);
+    }
+
+    /**
+     * Random edits on mazes with extra exits keep the distances and visited count of a full resolve,
+     * and label every reachable cell with a nearest exit.
+     */
+    @Test
+    void multiExitEditsMatchFullResolve() {
+        editAndCompare(new SplittableRandom(1919), true, false);
+    }
+
+    /**
+     * Random edits on mazes braided with many loops, so a closed cell's subtree is reseeded from several distances,
+     * keep the distances and visited count of a full resolve.
+     */
+    @Test
+    void braidedEditsMatchFullResolve() {
+        editAndCompare(new SplittableRandom(191919), true, true);
+    }
+
+    /**
+     * Opening a cell with no open neighbour leaves it unreachable, and closing it again changes nothing.
+     */
+    @Test
+    void isolatedCellStaysUnreachable() {
+        final MazeGrid grid = new PackedMazeGrid(5);
+        final Point exit = new Point(0, 0);
+        grid.set(exit.x(), exit.y(), Maze.EXIT);
+        final MazeResolver resolver = new MazeResolver(new Maze(grid, 0L, exit, exit));
+        resolver.resolveMaze();
+        final Point isolated = new Point(3, 3);
+
+        assertEquals(0, resolver.openWall(isolated));
+        assertTrue(grid.isOpen(isolated.x(), isolated.y()));
+        assertEquals(-1, resolver.getPointDistance(isolated));
+        assertEquals(1, resolver.getVisitedCount());
+        assertEquals(0, resolver.closeWall(isolated));
+        assertEquals(1, resolver.getVisitedCount());
+    }
+
+    /**
+     * An exit cannot be closed, and a maze must be resolved before it is edited.
+     */
+    @Test
+    void rejectsClosingExitAndEditingUnresolved() {
+        final Maze maze = new Maze(8, 3L);
+        new MazeGenerator(maze);
+        final MazeResolver resolver = new MazeResolver(maze);
+
+        assertThrows(IllegalStateException.class, () -> resolver.openWall(new Point(1, 1)));
+        resolver.resolveMaze();
+        assertThrows(IllegalArgumentException.class, () -> resolver.closeWall(maze.getExit()));
+    }
+
+    /**
+     * Edit random cells of random mazes, comparing with a full resolve after every edit.
+     *
+     * @param random Source of sizes, seeds and edits.
+     * @param multiExit Add exits on the maze border before resolving.
+     * @param braid Open many random walls, checking each, before the random edits.
+     */
+    private static void editAndCompare(final SplittableRandom random, final boolean multiExit,
+            final boolean braid) {
+        for (int m = 0; m < MAZES; m++) {
+            final int size = random.nextInt(MIN_SIZE, MAX_SIZE + 1);
+            final Maze maze = new Maze(size, random.nextLong());
+            new MazeGenerator(maze);
+            if (multiExit) {
+                final int extra = random.nextInt(1, MAX_EXTRA_EXITS + 1);
+                for (int i = 0; i < extra; i++) {
+                    maze.addExit(borderPoint(random, size));
+                }
+            }
+            final MazeResolver resolver = new MazeResolver(maze);
+            resolver.resolveMaze();
+            final MazeGrid grid = maze.getMazeGrid();
+            int[] before = distances(resolver, size);
+            final int openings = braid ? (int) (size * size * BRAID_OPENINGS) : 0;
+            for (int e = 0; e < openings + EDITS; e++) {
+                final Point p = new Point(random.nextInt(size), random.nextInt(size));
+                if (!maze.getExits().contains(p) && (e >= openings || !grid.isOpen(p.x(), p.y()))) {
+                    final boolean open = grid.isOpen(p.x(), p.y());
+                    final String context = "maze " + m + " size " + size + " seed " + maze.getSeed() + " edit " + e
+                            + (open ? " close " : " open ") + p;
+                    final int changed = open ? resolver.closeWall(p) : resolver.openWall(p);
+                    final int[] after = distances(resolver, size);
+                    assertMatchesFullResolve(maze, resolver, context);
+                    assertEquals(countDifferences(before, after), changed, context + " changed count");
+                    before = after;
+                }
+            }
+        }
+    }
+
+    /**
+     * Assert a resolver's distances and visited count equal a fresh breadth first resolve of its maze, and its exit
+     * IDs name a nearest exit.
+     *
+     * <p>Exits tied for nearest may be labelled either way, so a label is
+     * checked by following it: each reached cell must share its exit ID with
+     * a neighbour one step closer, and each exit must carry its own.</p>
+     *
+     * @param maze Edited maze.
+     * @param repaired Resolver updated incrementally.
+     * @param context Failure message prefix.
+     */
+    private static void assertMatchesFullResolve(final Maze maze, final MazeResolver repaired, final String context) {
+        final MazeResolver full = new MazeResolver(maze);
+        full.resolveMaze();
+        final int size = maze.getMazeSize();
+        for (int cell = 0; cell < size * size; cell++) {
+            assertEquals(full.getDistance(cell), repaired.getDistance(cell), context + " cell " + cell);
+        }
+        assertEquals(full.getVisitedCount(), repaired.getVisitedCount(), context + " visited");
+
+        final MazeGrid grid = maze.getMazeGrid();
+        for (int id = 0; id < maze.getExits().size(); id++) {
+            final Point exit = maze.getExits().get(id);
+            assertEquals(id, repaired.getExitId(grid.index(exit.x(), exit.y())), context + " exit " + exit);
+        }
+        int distance;
+        int id;
+        for (int cell = 0; cell < size * size; cell++) {
+            distance = repaired.getDistance(cell);
+            id = repaired.getExitId(cell);
+            if (distance < 0) {
+                assertEquals(-1, id, context + " exit ID of unreachable cell " + cell);
+            } else if (distance > 0) {
+                assertTrue(closerWithId(repaired, size, cell, id), context + " exit ID of cell " + cell);
+            }
+        }
+    }
+
+    /**
+     * Check a cell has a neighbour one step closer to the exit labelled with the given exit ID.
+     *
+     * @param resolver Resolved distances and exit IDs.
+     * @param size Maze size.
+     * @param cell row-major cell index.
+     * @param id Exit ID of the cell.
+     * @return true if such a neighbour exists.
+     */
+    private static boolean closerWithId(final MazeResolver resolver, final int size, final int cell, final int id) {
+        final int target = resolver.getDistance(cell) - 1;
+        final int x = cell % size;
+        final int y = cell / size;
+        final int[] neighbours = {y > 0 ? cell - size : -1, y < size - 1 ? cell + size : -1,
+            x > 0 ? cell - 1 : -1, x < size - 1 ? cell + 1 : -1};
+        boolean output = false;
+        for (int neighbour : neighbours) {
+            output |= neighbour >= 0 && resolver.getDistance(neighbour) == target
+                    && resolver.getExitId(neighbour) == id;
+        }
+        return output;
+    }
+
+    /**
+     * Copy every distance of a resolver.
+     *
+     * @param resolver Resolved distances.
+     * @param size Maze size.
+     * @return Distances by row-major cell index.
+     */
+    private static int[] distances(final MazeResolver resolver, final int size) {
+        final int[] output = new int[size * size];
+        for (int cell = 0; cell < output.length; cell++) {
+            output[cell] = resolver.getDistance(cell);
+        }
+        return output;
+    }
+
+    /**
+     * Count the cells whose distance differs.
+     *
+     * @param before Distances before an edit.
+     * @param after Distances after it.
+     * @return Number of differing cells.
+     */
+    private static int countDifferences(final int[] before, final int[] after) {
+        int output = 0;
+        for (int cell = 0; cell < before.length; cell++) {
+            if (before[cell] != after[cell]) {
+                output++;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Pick a random cell on the maze border.
+     *
+     * @param random Random source.
+     * @param size Maze size.
+     * @return Border point.
+     */
+    private static Point borderPoint(final SplittableRandom random, final int size) {
+        final int along = random.nextInt(size);
+        final int edge = random.nextBoolean() ? 0 : size - 1;
+        return random.nextBoolean() ? new Point(along, edge) : new Point(edge, along);
+    }
+}
@@ -0,0 +1,184 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeFile;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.PackedMazeGrid;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ExternalResolver}, comparing its distance files with an in-memory breadth first resolve.
+ *
+ * <p>Every resolve runs at the least memory accepted for its maze, so larger
+ * mazes are split into many bands and the search crosses band edges in both
+ * directions through the spill stacks.</p>
+ *
+ * @author derek
+ */
+class ExternalResolverTest {
+
+    /**
+     * Maze sizes resolved for each seed.
+     */
+    private static final int[] SIZES = {1, 2, 17, 64, 150, 301};
+    /**
+     * Seeds generated for each size.
+     */
+    private static final long[] SEEDS = {1L, 15L, 1515L};
+    /**
+     * Share of cells opened at random to braid a maze with loops.
+     */
+    private static final double BRAID_OPENINGS = 0.15;
+    /**
+     * Name of the distance file in the temporary directory.
+     */
+    private static final String DISTANCE_FILE = "maze.dist";
+
+    /**
+     * Temporary directory for distance and spill files.
+     */
+    @TempDir
+    private Path directory;
+
+    /**
+     * Generated mazes resolve to the in-memory distances at minimum memory, leaving no spill file behind.
+     *
+     * @throws IOException if the distance file cannot be written.
+     */
+    @Test
+    void generatedMazesMatchInMemoryResolve() throws IOException {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                final Maze maze = new Maze(size, seed);
+                new MazeGenerator(maze);
+                resolveAndCompare(maze, "size " + size + " seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * Braided mazes, where cells are reached again by shorter routes from other bands, match the in-memory
+     * distances.
+     *
+     * @throws IOException if the distance file cannot be written.
+     */
+    @Test
+    void braidedMazesMatchInMemoryResolve() throws IOException {
+        final SplittableRandom random = new SplittableRandom(15);
+        for (int size : SIZES) {
+            final Maze maze = new Maze(size, random.nextLong());
+            new MazeGenerator(maze);
+            final MazeGrid grid = maze.getMazeGrid();
+            for (int i = 0; i < size * size * BRAID_OPENINGS; i++) {
+                final int x = random.nextInt(size);
+                final int y = random.nextInt(size);
+                if (!grid.isOpen(x, y)) {
+                    grid.set(x, y, Maze.PATH);
+                }
+            }
+            resolveAndCompare(maze, "braided size " + size);
+        }
+    }
+
+    /**
+     * An open grid, the widest frontier per row, matches the in-memory distances over many bands.
+     *
+     * @throws IOException if the distance file cannot be written.
+     */
+    @Test
+    void openGridMatchesInMemoryResolve() throws IOException {
+        final int size = 200;
+        final MazeGrid grid = new PackedMazeGrid(size);
+        for (int cell = 0; cell < size * size; cell++) {
+            grid.set(cell, Maze.PATH);
+        }
+        final Point exit = new Point(size / 2, size - 1);
+        grid.set(exit.x(), exit.y(), Maze.EXIT);
+        final ExternalResolver resolver = resolveAndCompare(new Maze(grid, 0L, new Point(0, 0), exit), "open grid");
+        assertTrue(resolver.getBandLoads() > 1, "bands loaded " + resolver.getBandLoads());
+    }
+
+    /**
+     * A maze mapped from a maze file, as solve mode resolves it, matches the in-memory distances.
+     *
+     * @throws IOException if the maze or distance file cannot be written.
+     */
+    @Test
+    void mappedMazeMatchesInMemoryResolve() throws IOException {
+        final Maze generated = new Maze(120, 7L);
+        new MazeGenerator(generated);
+        final Path mazeFile = directory.resolve("maze.maze");
+        MazeFile.write(generated, mazeFile);
+        resolveAndCompare(MazeFile.open(mazeFile), "mapped");
+        Files.delete(mazeFile);
+    }
+
+    /**
+     * Memory below the minimum for the maze is rejected.
+     */
+    @Test
+    void rejectsTooLittleMemory() {
+        final Maze maze = new Maze(10, 1L);
+        final long memory = ExternalResolver.minimumMemory(10) - 1;
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalResolver(maze, directory.resolve(DISTANCE_FILE), memory));
+    }
+
+    /**
+     * Resolve a maze at minimum memory and assert the distance file equals a breadth first resolve in memory.
+     *
+     * @param maze Maze to resolve.
+     * @param context Failure message prefix.
+     * @return Resolver used, for its statistics.
+     * @throws IOException if the distance file cannot be written.
+     */
+    private ExternalResolver resolveAndCompare(final Maze maze, final String context) throws IOException {
+        final int size = maze.getMazeSize();
+        final MazeResolver expected = new MazeResolver(maze);
+        expected.resolveMaze();
+        final Path file = directory.resolve(DISTANCE_FILE);
+        final ExternalResolver resolver = new ExternalResolver(maze, file, ExternalResolver.minimumMemory(size));
+        try (DistanceFile distances = resolver.resolve()) {
+            assertEquals(size, distances.getMazeSize(), context);
+            assertEquals(maze.getExit(), distances.getExit(), context);
+            for (int cell = 0; cell < size * size; cell++) {
+                assertEquals(expected.getDistance(cell), distances.getDistance(cell), context + " cell " + cell);
+            }
+        }
+        assertEquals(expected.getVisitedCount(), resolver.getVisitedCount(), context + " visited");
+        try (Stream<Path> files = Files.list(directory)) {
+            final List<Path> left = files.filter(p -> !p.getFileName().toString().endsWith(".maze")).toList();
+            assertEquals(List.of(file), left, context + " spill files left");
+        }
+        return resolver;
+    }
+}
@@ -0,0 +1,106 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.model.Maze;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Tests for the {@link GenerationStrategy} modes of {@link MazeGenerator}.
+ *
+ * @author derek
+ */
+class GenerationStrategyTest {
+
+    /**
+     * Maze sizes generated, odd, even and degenerate.
+     */
+    private static final int[] SIZES = {1, 2, 3, 4, 5, 16, 31, 64, 97, 128, 129, 200};
+    /**
+     * Seeds generated for each size.
+     */
+    private static final long[] SEEDS = {3L, 7919L};
+
+    /**
+     * Every size gives a perfect maze.
+     *
+     * @param mode Generation mode.
+     */
+    @ParameterizedTest
+    @EnumSource(value = MazeGenerator.Mode.class, names = {"KRUSKAL", "PRIM", "ELLER", "WILSON", "BINARY_TREE"})
+    void generatesPerfectMazes(final MazeGenerator.Mode mode) {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                final Maze maze = generate(size, seed, mode);
+                final String context = mode + " size " + size + " seed " + seed;
+                assertTrue(MazeValidator.isFullyConnected(maze), context + " connected");
+                assertTrue(MazeValidator.isPerfect(maze), context + " perfect");
+            }
+        }
+    }
+
+    /**
+     * A size and seed always give the same maze.
+     *
+     * @param mode Generation mode.
+     */
+    @ParameterizedTest
+    @EnumSource(value = MazeGenerator.Mode.class, names = {"KRUSKAL", "PRIM", "ELLER", "WILSON", "BINARY_TREE"})
+    void sameSeedSameMaze(final MazeGenerator.Mode mode) {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                final Maze first = generate(size, seed, mode);
+                final Maze second = generate(size, seed, mode);
+                final String context = mode + " size " + size + " seed " + seed;
+                assertEquals(first, second, context);
+                assertEquals(first.getStart(), second.getStart(), context + " start");
+                assertEquals(first.getExit(), second.getExit(), context + " exit");
+            }
+        }
+    }
+
+    /**
+     * Different seeds give different mazes once there is room for a choice.
+     *
+     * @param mode Generation mode.
+     */
+    @ParameterizedTest
+    @EnumSource(value = MazeGenerator.Mode.class, names = {"KRUSKAL", "PRIM", "ELLER", "WILSON", "BINARY_TREE"})
+    void differentSeedsDifferentMazes(final MazeGenerator.Mode mode) {
+        assertNotEquals(generate(31, SEEDS[0], mode), generate(31, SEEDS[1], mode), mode.toString());
+    }
+
+    /**
+     * Generate a maze in a mode.
+     *
+     * @param size Maze size.
+     * @param seed Maze seed.
+     * @param mode Generation mode.
+     * @return Generated maze.
+     */
+    private static Maze generate(final int size, final long seed, final MazeGenerator.Mode mode) {
+        final Maze output = new Maze(size, seed);
+        new MazeGenerator(output, mode);
+        return output;
+    }
+}
@@ -0,0 +1,90 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ie.homelab.mazesolver.model.Maze;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Stress test for {@link MazeBatch}, checking mazes generated and resolved in parallel are isolated.
+ *
+ * <p>Mixed sizes on many workers once exposed a generator hang, an exit on the
+ * DFS lattice pushed again every time a neighbour was revisited, so the test
+ * runs under a timeout on a separate thread: a batch caller helps run
+ * tasks, so a hung task would never see an interrupt.</p>
+ *
+ * @author derek
+ */
+class MazeBatchTest {
+
+    /**
+     * Number of mazes in the batch.
+     */
+    private static final int COUNT = 400;
+    /**
+     * Worker threads, more than cores so tasks interleave.
+     */
+    private static final int PARALLELISM = 16;
+    /**
+     * Largest maze size drawn.
+     */
+    private static final int MAX_SIZE = 120;
+
+    /**
+     * Each parallel result matches a fresh resolve of the same size and seed on the test thread.
+     *
+     * @throws InterruptedException if interrupted while waiting for the batch.
+     */
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void parallelResultsMatchSingleThreadedResolve() throws InterruptedException {
+        final SplittableRandom random = new SplittableRandom(2);
+        final int[] sizes = new int[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            sizes[i] = random.nextInt(1, MAX_SIZE + 1);
+        }
+
+        final List<MazeBatch.Result> results = MazeBatch.run(sizes, PARALLELISM);
+
+        assertEquals(COUNT, results.size());
+        for (int i = 0; i < COUNT; i++) {
+            final MazeBatch.Result result = results.get(i);
+            assertEquals(i, result.index());
+            assertEquals(sizes[i], result.maze().getMazeSize());
+
+            final Maze expected = new Maze(sizes[i], result.maze().getSeed());
+            new MazeGenerator(expected);
+            final MazeResolver resolver = new MazeResolver(expected);
+            resolver.resolveMaze();
+
+            assertEquals(expected, result.maze(), "maze " + i);
+            assertEquals(expected.getStart(), result.maze().getStart(), "start " + i);
+            assertEquals(expected.getExit(), result.maze().getExit(), "exit " + i);
+            for (int cell = 0; cell < sizes[i] * sizes[i]; cell++) {
+                assertEquals(resolver.getDistance(cell), result.resolver().getDistance(cell),
+                        "maze " + i + " cell " + cell);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.MazeListener.Kind;
+import ie.homelab.mazesolver.model.Maze;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MazeEventBuffer}.
+ *
+ * <p>Events are written as cell index = sequence number so the order drained
+ * can be checked directly.</p>
+ *
+ * @author derek
+ */
+class MazeEventBufferTest {
+
+    /**
+     * Smallest ring allowed.
+     */
+    private static final int CAPACITY = MazeEventBuffer.BATCH;
+
+    /**
+     * Kind, index and value survive packing, up to the largest grid and distance.
+     */
+    @Test
+    void packsEvents() {
+        final MazeEventBuffer buffer = new MazeEventBuffer(CAPACITY);
+        final int lastIndex = Maze.MAX_GRID_SIZE * Maze.MAX_GRID_SIZE - 1;
+        buffer.cellChanged(Kind.CARVED, 0, Maze.EXIT);
+        buffer.cellChanged(Kind.VISITED, lastIndex, Integer.MAX_VALUE);
+        buffer.cellChanged(Kind.VISITED, 12345, 0);
+        buffer.finished(Kind.VISITED);
+
+        final long[] events = new long[CAPACITY];
+        assertEquals(3, buffer.drain(events, events.length));
+        assertEquals(Kind.CARVED, MazeEventBuffer.kind(events[0]));
+        assertEquals(0, MazeEventBuffer.index(events[0]));
+        assertEquals(Maze.EXIT, MazeEventBuffer.value(events[0]));
+        assertEquals(Kind.VISITED, MazeEventBuffer.kind(events[1]));
+        assertEquals(lastIndex, MazeEventBuffer.index(events[1]));
+        assertEquals(Integer.MAX_VALUE, MazeEventBuffer.value(events[1]));
+        assertEquals(Kind.VISITED, MazeEventBuffer.kind(events[2]));
+        assertEquals(12345, MazeEventBuffer.index(events[2]));
+        assertEquals(0, MazeEventBuffer.value(events[2]));
+    }
+
+    /**
+     * Events are only visible to the consumer a batch at a time, or when a phase finishes.
+     */
+    @Test
+    void publishesInBatches() {
+        final MazeEventBuffer buffer = new MazeEventBuffer(CAPACITY * 4);
+        final long[] events = new long[CAPACITY * 4];
+        write(buffer, 0, MazeEventBuffer.BATCH - 1);
+        assertEquals(0, buffer.drain(events, events.length));
+        write(buffer, MazeEventBuffer.BATCH - 1, 1);
+        assertEquals(MazeEventBuffer.BATCH, buffer.drain(events, events.length));
+        assertInOrder(events, 0, MazeEventBuffer.BATCH);
+
+        write(buffer, MazeEventBuffer.BATCH, 5);
+        assertEquals(0, buffer.drain(events, events.length));
+        assertFalse(buffer.isFinished(Kind.CARVED));
+        buffer.finished(Kind.CARVED);
+        assertFalse(buffer.isFinished(Kind.CARVED), "events still to drain");
+        assertEquals(2, buffer.drain(events, 2));
+        assertInOrder(events, MazeEventBuffer.BATCH, 2);
+        assertEquals(3, buffer.drain(events, events.length));
+        assertInOrder(events, MazeEventBuffer.BATCH + 2, 3);
+        assertTrue(buffer.isFinished(Kind.CARVED));
+        assertFalse(buffer.isFinished(Kind.VISITED));
+    }
+
+    /**
+     * Slots freed by the consumer are reused once the engine wraps round, oldest events drained first.
+     */
+    @Test
+    void wrapsRound() {
+        final MazeEventBuffer buffer = new MazeEventBuffer(CAPACITY);
+        final long[] events = new long[CAPACITY];
+        int next = 0;
+        for (int round = 0; round < 5; round++) {
+            write(buffer, next, CAPACITY);
+            buffer.finished(Kind.VISITED);
+            assertEquals(CAPACITY - 24, buffer.drain(events, CAPACITY - 24), "round " + round);
+            assertInOrder(events, next, CAPACITY - 24);
+            // Refill the freed slots, wrapping past the end of the ring.
+            write(buffer, next + CAPACITY, CAPACITY - 24);
+            buffer.finished(Kind.VISITED);
+            assertEquals(CAPACITY, buffer.drain(events, events.length), "round " + round);
+            assertInOrder(events, next + CAPACITY - 24, CAPACITY);
+            next += 2 * CAPACITY - 24;
+        }
+        assertEquals(0, buffer.getDropped());
+        assertTrue(buffer.isFinished(Kind.VISITED));
+    }
+
+    /**
+     * Events arriving while the ring is full are dropped and counted, and the ring keeps the oldest.
+     */
+    @Test
+    void dropsWhenFull() {
+        final MazeEventBuffer buffer = new MazeEventBuffer(CAPACITY);
+        final long[] events = new long[CAPACITY];
+        write(buffer, 0, CAPACITY + 10);
+        assertEquals(10, buffer.getDropped());
+        buffer.finished(Kind.CARVED);
+        assertEquals(CAPACITY, buffer.drain(events, events.length));
+        assertInOrder(events, 0, CAPACITY);
+        assertTrue(buffer.isFinished(Kind.CARVED));
+
+        // Space again once drained.
+        write(buffer, 1000, 3);
+        buffer.finished(Kind.VISITED);
+        assertEquals(3, buffer.drain(events, events.length));
+        assertInOrder(events, 1000, 3);
+        assertEquals(10, buffer.getDropped());
+    }
+
+    /**
+     * Capacity must be a power of two of at least a batch.
+     */
+    @Test
+    void rejectsBadCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new MazeEventBuffer(MazeEventBuffer.BATCH / 2));
+        assertThrows(IllegalArgumentException.class, () -> new MazeEventBuffer(100));
+        assertEquals(MazeEventBuffer.DEFAULT_CAPACITY, new MazeEventBuffer().getCapacity());
+    }
+
+    /**
+     * Write carve events with consecutive cell indexes.
+     *
+     * @param buffer Buffer written.
+     * @param first Index of the first event.
+     * @param count Events to write.
+     */
+    private static void write(final MazeEventBuffer buffer, final int first, final int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.cellChanged(Kind.CARVED, first + i, Maze.PATH);
+        }
+    }
+
+    /**
+     * Assert drained events have consecutive cell indexes.
+     *
+     * @param events Drained events.
+     * @param first Expected index of the first event.
+     * @param count Events to check.
+     */
+    private static void assertInOrder(final long[] events, final int first, final int count) {
+        for (int i = 0; i < count; i++) {
+            assertEquals(first + i, MazeEventBuffer.index(events[i]), "event " + i);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.MazePlayer.Outcome;
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.Move;
+import ie.homelab.mazesolver.model.PackedMazeGrid;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MazePlayer}.
+ *
+ * <p>The hand built maze is a corridor along row 2 from (0, 2) to the exit
+ * at (4, 2), with a dead end at (2, 1) above the start at (2, 2).</p>
+ *
+ * @author derek
+ */
+class MazePlayerTest {
+
+    /**
+     * Hand built maze size.
+     */
+    private static final int SIZE = 5;
+
+    /**
+     * Walking the corridor: detours, blocked moves into walls and off the edge, closer moves and the exit.
+     */
+    @Test
+    void scoresEachMove() {
+        final Maze maze = corridor(new Point(2, 2));
+        final MazePlayer player = new MazePlayer(maze, resolve(maze));
+        assertEquals(2, player.getOptimal());
+        assertEquals(Move.RIGHT, player.hint());
+
+        assertMove(player, Move.UP, Outcome.DETOUR, 2, 1);
+        assertEquals(Move.DOWN, player.hint());
+        assertMove(player, Move.UP, Outcome.BLOCKED, 2, 1);
+        assertMove(player, Move.DOWN, Outcome.CLOSER, 2, 2);
+        assertMove(player, Move.LEFT, Outcome.DETOUR, 1, 2);
+        assertMove(player, Move.LEFT, Outcome.DETOUR, 0, 2);
+        assertMove(player, Move.LEFT, Outcome.BLOCKED, 0, 2);
+        assertMove(player, Move.DOWN, Outcome.BLOCKED, 0, 2);
+        assertEquals(4, player.getDistance());
+        assertEquals(Move.RIGHT, player.hint());
+        assertMove(player, Move.RIGHT, Outcome.CLOSER, 1, 2);
+        assertMove(player, Move.RIGHT, Outcome.CLOSER, 2, 2);
+        assertMove(player, Move.RIGHT, Outcome.CLOSER, 3, 2);
+        assertFalse(player.isFinished());
+        assertMove(player, Move.RIGHT, Outcome.EXITED, 4, 2);
+
+        assertTrue(player.isFinished());
+        assertEquals(8, player.getSteps());
+        assertEquals(3, player.getDetours());
+        assertEquals(3, player.getBlocked());
+        assertEquals("You took 6 extra steps.", player.getComparison());
+        assertNull(player.hint());
+        assertMove(player, Move.LEFT, Outcome.IGNORED, 4, 2);
+        assertEquals(8, player.getSteps());
+    }
+
+    /**
+     * Following the hints reaches the exit in the fewest steps, in perfect and braided mazes.
+     */
+    @Test
+    void hintsFollowShortestPath() {
+        for (int size : new int[] {1, 2, 3, 31, 100}) {
+            for (double share : new double[] {0.0, 0.2}) {
+                final String context = "size " + size + " share " + share;
+                final Maze maze = new Maze(size, size);
+                new MazeGenerator(maze, MazeGenerator.Mode.ELLER);
+                ResolveAssertions.braid(maze, new SplittableRandom(size), share);
+                final MazePlayer player = new MazePlayer(maze, resolve(maze));
+                assertTrue(player.getOptimal() >= 0, context);
+                while (!player.isFinished()) {
+                    final Outcome outcome = player.move(player.hint());
+                    assertTrue(outcome == Outcome.CLOSER || outcome == Outcome.EXITED, context + " " + outcome);
+                }
+                assertEquals(maze.getExit(), new Point(player.getX(), player.getY()), context);
+                assertEquals(player.getOptimal(), player.getSteps(), context);
+                assertEquals(0, player.getDetours(), context);
+                assertEquals(0, player.getBlocked(), context);
+                assertEquals("You found the optimal path!", player.getComparison(), context);
+            }
+        }
+    }
+
+    /**
+     * A player cut off from the exit gets no hint and every move is a detour.
+     */
+    @Test
+    void unreachableExit() {
+        final Maze maze = corridor(new Point(0, 4));
+        maze.getMazeGrid().set(0, 4, Maze.PATH);
+        maze.getMazeGrid().set(1, 4, Maze.PATH);
+        final MazePlayer player = new MazePlayer(maze, resolve(maze));
+        assertEquals(-1, player.getOptimal());
+        assertNull(player.hint());
+        assertMove(player, Move.RIGHT, Outcome.DETOUR, 1, 4);
+        assertMove(player, Move.UP, Outcome.BLOCKED, 1, 4);
+        assertFalse(player.isFinished());
+        assertEquals("The exit cannot be reached.", player.getComparison());
+    }
+
+    /**
+     * Distances of another size are rejected.
+     */
+    @Test
+    void rejectsMismatchedDistances() {
+        final Maze other = new Maze(SIZE + 1, 1L);
+        new MazeGenerator(other, MazeGenerator.Mode.ELLER);
+        final MazeResolver distances = resolve(other);
+        assertThrows(IllegalArgumentException.class, () -> new MazePlayer(corridor(new Point(2, 2)), distances));
+    }
+
+    /**
+     * Build the corridor maze.
+     *
+     * @param start Start cell.
+     * @return Corridor maze.
+     */
+    private static Maze corridor(final Point start) {
+        final MazeGrid grid = new PackedMazeGrid(SIZE);
+        final Point exit = new Point(SIZE - 1, 2);
+        for (int x = 0; x < SIZE; x++) {
+            grid.set(x, 2, Maze.PATH);
+        }
+        grid.set(2, 1, Maze.PATH);
+        grid.set(exit.x(), exit.y(), Maze.EXIT);
+        return new Maze(grid, 0L, start, exit);
+    }
+
+    /**
+     * Resolve a maze breadth first.
+     *
+     * @param maze Maze to resolve.
+     * @return Resolved distances.
+     */
+    private static MazeResolver resolve(final Maze maze) {
+        return ResolveAssertions.resolve(maze, MazeResolver.Mode.BFS);
+    }
+
+    /**
+     * Make a move and check its outcome and where the player ends up.
+     *
+     * @param player Player moved.
+     * @param move Move made.
+     * @param expected Expected outcome.
+     * @param x Expected column afterwards.
+     * @param y Expected row afterwards.
+     */
+    private static void assertMove(final MazePlayer player, final Move move, final Outcome expected, final int x,
+            final int y) {
+        final String context = move + " to (" + x + ", " + y + ")";
+        assertEquals(expected, player.move(move), context);
+        assertEquals(x, player.getX(), context);
+        assertEquals(y, player.getY(), context);
+    }
+}
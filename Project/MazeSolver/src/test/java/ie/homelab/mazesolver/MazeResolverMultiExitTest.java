@@ -0,0 +1,169 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static ie.homelab.mazesolver.ResolveAssertions.addBorderExits;
+import static ie.homelab.mazesolver.ResolveAssertions.assertNearestExitIds;
+import static ie.homelab.mazesolver.ResolveAssertions.braid;
+import static ie.homelab.mazesolver.ResolveAssertions.generate;
+import static ie.homelab.mazesolver.ResolveAssertions.resolve;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for mazes with several exits, resolved in one multi-source search to nearest exit distances and exit IDs.
+ *
+ * <p>Every breadth first mode is checked against a separate resolve from
+ * each exit alone: a cell's distance must be the least of those, and its
+ * exit ID must name an exit at that distance.</p>
+ *
+ * @author derek
+ */
+class MazeResolverMultiExitTest {
+
+    /**
+     * Modes giving shortest distances with several exits.
+     */
+    private static final MazeResolver.Mode[] MODES = {
+        MazeResolver.Mode.BFS, MazeResolver.Mode.PARALLEL, MazeResolver.Mode.BIT_PARALLEL};
+    /**
+     * Maze sizes resolved.
+     */
+    private static final int[] SIZES = {3, 31, 100, 180};
+    /**
+     * Exits tried per maze, dozens as in an evacuation plan.
+     */
+    private static final int EXITS = 24;
+    /**
+     * Openings tried per cell to braid a maze.
+     */
+    private static final double BRAID_OPENINGS = 0.2;
+
+    /**
+     * Perfect mazes with dozens of border exits get nearest exit distances and IDs in every mode.
+     */
+    @Test
+    void perfectMazesGetNearestExit() {
+        final SplittableRandom random = new SplittableRandom(25);
+        for (int size : SIZES) {
+            final Maze maze = generate(size, random.nextLong());
+            addBorderExits(maze, random, EXITS);
+            for (MazeResolver.Mode mode : MODES) {
+                assertNearestExitIds(maze, resolve(maze, mode), "size " + size + " " + mode);
+            }
+        }
+    }
+
+    /**
+     * Braided mazes with exits inside as well as on the border get nearest exit distances and IDs in every mode.
+     */
+    @Test
+    void braidedMazesGetNearestExit() {
+        final SplittableRandom random = new SplittableRandom(2525);
+        for (int size : SIZES) {
+            final Maze maze = generate(size, random.nextLong());
+            braid(maze, random, BRAID_OPENINGS);
+            addBorderExits(maze, random, EXITS / 2);
+            for (int i = 0; i < EXITS / 2; i++) {
+                maze.addExit(new Point(random.nextInt(size), random.nextInt(size)));
+            }
+            for (MazeResolver.Mode mode : MODES) {
+                assertNearestExitIds(maze, resolve(maze, mode), "braided size " + size + " " + mode);
+            }
+        }
+    }
+
+    /**
+     * Exit IDs are positions in the exit list, an exit added twice keeps its ID, and each exit is labelled with its
+     * own.
+     */
+    @Test
+    void exitIdsArePositions() {
+        final Maze maze = generate(41, 7L);
+        final Point corner = new Point(0, 0);
+        final Point edge = new Point(40, 20);
+        final int cornerId = maze.addExit(corner);
+        final int edgeId = maze.addExit(edge);
+
+        assertEquals(maze.getExits().indexOf(corner), cornerId);
+        assertEquals(maze.getExits().indexOf(edge), edgeId);
+        assertEquals(cornerId, maze.addExit(corner));
+        assertEquals(3, maze.getExits().size());
+        assertEquals(maze.getExit(), maze.getExits().get(0));
+        assertThrows(IllegalArgumentException.class, () -> maze.addExit(new Point(41, 0)));
+
+        final MazeResolver resolver = resolve(maze, MazeResolver.Mode.BFS);
+        for (int id = 0; id < maze.getExits().size(); id++) {
+            final Point exit = maze.getExits().get(id);
+            assertEquals(0, resolver.getPointDistance(exit));
+            assertEquals(exit, resolver.getNearestExit(exit));
+        }
+    }
+
+    /**
+     * An exit added on a walled border cell is joined to a cell of the maze that was already open.
+     */
+    @Test
+    void addedExitIsJoined() {
+        final Maze maze = generate(40, 9L);
+        final MazeGrid grid = maze.getMazeGrid();
+        final int size = maze.getMazeSize();
+        for (int along = 0; along < size; along++) {
+            for (Point p : new Point[] {new Point(along, 0), new Point(0, along), new Point(size - 1, along)}) {
+                if (!grid.isOpen(p.x(), p.y())) {
+                    final BitSet before = new BitSet(size * size);
+                    for (int cell = 0; cell < size * size; cell++) {
+                        before.set(cell, grid.isOpen(cell));
+                    }
+                    maze.addExit(p);
+                    final BitFloodFill fill = new BitFloodFill(grid);
+                    fill.fill(p.x(), p.y());
+                    boolean joined = false;
+                    for (int cell = before.nextSetBit(0); cell >= 0 && !joined; cell = before.nextSetBit(cell + 1)) {
+                        joined = fill.isFilled(cell % size, cell / size);
+                    }
+                    assertTrue(joined, "exit " + p + " joined");
+                }
+            }
+        }
+    }
+
+    /**
+     * With one exit every reached cell has exit ID 0, unreachable cells -1, and an unresolved maze none.
+     */
+    @Test
+    void singleExitIds() {
+        final Maze maze = generate(30, 4L);
+        final MazeResolver resolver = new MazeResolver(maze);
+        assertEquals(-1, resolver.getExitId(0));
+        assertNull(resolver.getNearestExit(maze.getStart()));
+        resolver.resolveMaze();
+        for (int cell = 0; cell < 30 * 30; cell++) {
+            assertEquals(resolver.getDistance(cell) >= 0 ? 0 : -1, resolver.getExitId(cell), "cell " + cell);
+        }
+    }
+}
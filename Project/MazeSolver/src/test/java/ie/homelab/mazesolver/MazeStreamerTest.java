@@ -0,0 +1,116 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.MazeFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link MazeStreamer}.
+ *
+ * @author derek
+ */
+class MazeStreamerTest {
+
+    /**
+     * Maze sizes streamed, odd, even and degenerate.
+     */
+    private static final int[] SIZES = {1, 2, 3, 4, 5, 6, 33, 64, 257, 500};
+    /**
+     * Seeds streamed for each size.
+     */
+    private static final long[] SEEDS = {0L, 42L, -7L};
+
+    /**
+     * Directory for the maze files.
+     */
+    @TempDir
+    private Path dir;
+
+    /**
+     * A streamed file is byte for byte the file written from the same maze generated in memory in ELLER mode.
+     *
+     * @throws IOException if a file cannot be written.
+     */
+    @Test
+    void streamedFileMatchesWrittenMaze() throws IOException {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                final String context = "size " + size + " seed " + seed;
+                final Maze maze = new Maze(size, seed);
+                new MazeGenerator(maze, MazeGenerator.Mode.ELLER);
+                final Path written = dir.resolve("written.maze");
+                MazeFile.write(maze, written);
+
+                final MazeStreamer streamer = new MazeStreamer(size, seed);
+                assertEquals(maze.getStart(), streamer.getStart(), context + " start");
+                assertEquals(maze.getExit(), streamer.getExit(), context + " exit");
+                final Path streamed = dir.resolve("streamed.maze");
+                try (MazeFile.RowWriter writer = MazeFile.writer(streamed, size, seed, streamer.getStart(),
+                        streamer.getExit())) {
+                    streamer.stream(writer);
+                }
+
+                assertArrayEquals(Files.readAllBytes(written), Files.readAllBytes(streamed), context);
+                Files.delete(written);
+                Files.delete(streamed);
+            }
+        }
+    }
+
+    /**
+     * Rows arrive once each, top to bottom, one cell per column.
+     *
+     * @throws IOException never, rows are kept in memory.
+     */
+    @Test
+    void streamsEveryRowInOrder() throws IOException {
+        final int size = 41;
+        final Maze maze = new Maze(size, 5L);
+        new MazeGenerator(maze, MazeGenerator.Mode.ELLER);
+        final List<byte[]> rows = new ArrayList<>();
+        new MazeStreamer(size, 5L).stream(cells -> rows.add(cells.clone()));
+        assertEquals(size, rows.size());
+        for (int y = 0; y < size; y++) {
+            assertEquals(size, rows.get(y).length, "row " + y);
+            for (int x = 0; x < size; x++) {
+                assertEquals(maze.getMazeGrid().get(x, y), rows.get(y)[x], "(" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    /**
+     * Sizes outside the grid range are rejected.
+     */
+    @Test
+    void rejectsBadSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MazeStreamer(0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new MazeStreamer(Maze.MAX_GRID_SIZE + 1, 1L));
+    }
+}
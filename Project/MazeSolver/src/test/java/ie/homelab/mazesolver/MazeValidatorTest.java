@@ -0,0 +1,98 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.PackedMazeGrid;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MazeValidator}, and a pin on the default generator's known imperfect mazes.
+ *
+ * @author derek
+ */
+class MazeValidatorTest {
+
+    /**
+     * Seed of the pinned PRIMITIVE mazes.
+     */
+    private static final long PINNED_SEED = 42L;
+    /**
+     * Largest size of the pinned PRIMITIVE mazes.
+     */
+    private static final int PINNED_MAX_SIZE = 90;
+
+    /**
+     * A single corridor is perfect; a loop, or a cell cut off from the exit, is not.
+     */
+    @Test
+    void detectsLoopsAndUnreachableCells() {
+        final MazeGrid grid = new PackedMazeGrid(3);
+        final Point exit = new Point(0, 0);
+        final Maze maze = new Maze(grid, 0L, new Point(0, 2), exit);
+        // An L shaped corridor from (0, 2) up to the exit and along the top.
+        for (Point p : List.of(new Point(0, 1), new Point(0, 2), new Point(1, 0), new Point(2, 0))) {
+            grid.set(p.x(), p.y(), Maze.PATH);
+        }
+        grid.set(exit.x(), exit.y(), Maze.EXIT);
+        assertTrue(MazeValidator.isFullyConnected(maze));
+        assertTrue(MazeValidator.isPerfect(maze));
+
+        grid.set(1, 1, Maze.PATH);
+        assertTrue(MazeValidator.isFullyConnected(maze));
+        assertFalse(MazeValidator.isPerfect(maze), "loop around (0, 0) - (1, 1)");
+
+        grid.set(1, 1, Maze.WALL);
+        grid.set(2, 2, Maze.PATH);
+        assertFalse(MazeValidator.isFullyConnected(maze), "(2, 2) cut off");
+        assertFalse(MazeValidator.isPerfect(maze), "(2, 2) cut off");
+    }
+
+    /**
+     * Pins the default PRIMITIVE generator's inherited defect: for some sizes the exit is not joined to the maze,
+     * so the start cannot reach it.
+     *
+     * <p>This predates the other generation modes, which are all checked
+     * perfect. Code must not assume a PRIMITIVE or STACK maze is solvable.
+     * Once the exit is always joined this test fails with an empty list;
+     * replace it with a check that every PRIMITIVE maze is perfect.</p>
+     */
+    @Test
+    void primitiveModeCanLeaveExitUnreachable() {
+        final List<Integer> unreachable = new ArrayList<>();
+        for (int size = 1; size <= PINNED_MAX_SIZE; size++) {
+            final Maze maze = new Maze(size, PINNED_SEED);
+            new MazeGenerator(maze);
+            final MazeResolver resolver = new MazeResolver(maze);
+            resolver.resolveMaze();
+            if (resolver.getPointDistance(maze.getStart()) < 0) {
+                unreachable.add(size);
+                assertFalse(MazeValidator.isFullyConnected(maze), "size " + size);
+            }
+        }
+        assertEquals(List.of(31, 33, 43, 49, 83), unreachable);
+    }
+}
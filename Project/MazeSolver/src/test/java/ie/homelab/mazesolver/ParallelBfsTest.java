@@ -0,0 +1,193 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static ie.homelab.mazesolver.ResolveAssertions.addBorderExits;
+import static ie.homelab.mazesolver.ResolveAssertions.assertExitIdsFollowDistances;
+import static ie.homelab.mazesolver.ResolveAssertions.assertNearestExitIds;
+import static ie.homelab.mazesolver.ResolveAssertions.assertSameDistances;
+import static ie.homelab.mazesolver.ResolveAssertions.braid;
+import static ie.homelab.mazesolver.ResolveAssertions.generate;
+import static ie.homelab.mazesolver.ResolveAssertions.openGrid;
+import static ie.homelab.mazesolver.ResolveAssertions.resolve;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ParallelBfs} through {@link MazeResolver.Mode#PARALLEL}, comparing with the sequential BFS.
+ *
+ * <p>Perfect mazes keep the frontier narrow, so the levels are expanded on
+ * the calling thread; thousands of scattered exits start it past the
+ * sequential limit, forking top-down and then switching to bottom-up.</p>
+ *
+ * @author derek
+ */
+class ParallelBfsTest {
+
+    /**
+     * Maze sizes resolved for each seed.
+     */
+    private static final int[] SIZES = {1, 2, 3, 50, 257, 600};
+    /**
+     * Seeds generated for each size.
+     */
+    private static final long[] SEEDS = {11L, 1111L};
+    /**
+     * Openings tried per cell to braid a maze.
+     */
+    private static final double BRAID_OPENINGS = 0.2;
+    /**
+     * Size of the mazes seeded from many exits.
+     */
+    private static final int WIDE_SIZE = 400;
+    /**
+     * Exits scattered over a wide maze, more than the sequential frontier limit.
+     */
+    private static final int WIDE_EXITS = 6000;
+    /**
+     * Worker counts of the pools tried.
+     */
+    private static final int[] PARALLELISM = {1, 2, 4};
+
+    /**
+     * Pools of each parallelism.
+     */
+    private static ForkJoinPool[] pools;
+
+    /**
+     * Create the pools.
+     */
+    @BeforeAll
+    static void createPools() {
+        pools = new ForkJoinPool[PARALLELISM.length];
+        for (int i = 0; i < pools.length; i++) {
+            pools[i] = new ForkJoinPool(PARALLELISM[i]);
+        }
+    }
+
+    /**
+     * Shut the pools down.
+     */
+    @AfterAll
+    static void shutDownPools() {
+        for (ForkJoinPool pool : pools) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Perfect single exit mazes get the sequential distances on every pool.
+     */
+    @Test
+    void perfectMazesMatchBfs() {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                compareOnEveryPool(generate(size, seed), "size " + size + " seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * Braided mazes with several exits get the sequential distances and a nearest exit for every cell.
+     */
+    @Test
+    void braidedMultiExitMazesMatchBfs() {
+        final SplittableRandom random = new SplittableRandom(11);
+        for (int size : SIZES) {
+            final Maze maze = generate(size, random.nextLong());
+            braid(maze, random, BRAID_OPENINGS);
+            addBorderExits(maze, random, 1 + size / 100);
+            compareOnEveryPool(maze, "braided size " + size);
+        }
+    }
+
+    /**
+     * Mazes seeded from thousands of exits, whose frontiers are forked across the pool and then searched bottom-up,
+     * get the sequential distances and exit IDs that follow them.
+     */
+    @Test
+    void wideFrontiersMatchBfs() {
+        final SplittableRandom random = new SplittableRandom(1111);
+        final Maze open = openGrid(WIDE_SIZE, List.of(new Point(0, 0)));
+        scatterExits(open, random);
+        compareOnEveryPool(open, "open grid");
+        final Maze braided = generate(WIDE_SIZE, random.nextLong());
+        braid(braided, random, BRAID_OPENINGS);
+        scatterExits(braided, random);
+        compareOnEveryPool(braided, "braided maze");
+    }
+
+    /**
+     * A resolver reused for a second resolve, after its maze changed, gets the sequential distances again.
+     */
+    @Test
+    void reusedResolverMatchesBfs() {
+        final Maze maze = generate(300, 5L);
+        final MazeResolver parallel = new MazeResolver(maze, pools[pools.length - 1]);
+        parallel.resolveMaze();
+        braid(maze, new SplittableRandom(5), BRAID_OPENINGS);
+        parallel.resolveMaze();
+        assertSameDistances(resolve(maze, MazeResolver.Mode.BFS), parallel, "reused");
+    }
+
+    /**
+     * Add exits at random open cells.
+     *
+     * @param maze Maze to change.
+     * @param random Random source.
+     */
+    private static void scatterExits(final Maze maze, final SplittableRandom random) {
+        int added = 0;
+        while (added < WIDE_EXITS) {
+            final Point p = new Point(random.nextInt(WIDE_SIZE), random.nextInt(WIDE_SIZE));
+            if (maze.getMazeGrid().isOpen(p.x(), p.y()) && !maze.getExits().contains(p)) {
+                maze.addExit(p);
+                added++;
+            }
+        }
+    }
+
+    /**
+     * Resolve a maze in PARALLEL mode on every pool and compare with BFS, distances and exit IDs.
+     *
+     * @param maze Maze to resolve.
+     * @param context Failure message prefix.
+     */
+    private static void compareOnEveryPool(final Maze maze, final String context) {
+        final MazeResolver expected = resolve(maze, MazeResolver.Mode.BFS);
+        for (int i = 0; i < pools.length; i++) {
+            final MazeResolver parallel = new MazeResolver(maze, pools[i]);
+            parallel.resolveMaze();
+            final String where = context + " on " + PARALLELISM[i] + " workers";
+            assertSameDistances(expected, parallel, where);
+            if (maze.getExits().size() > WIDE_EXITS / 2) {
+                // Too many exits to resolve from each alone.
+                assertExitIdsFollowDistances(parallel, where);
+            } else if (maze.getExits().size() > 1) {
+                assertNearestExitIds(maze, parallel, where);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.model.Maze;
+import ie.homelab.mazesolver.model.Maze.Point;
+import ie.homelab.mazesolver.model.MazeGrid;
+import ie.homelab.mazesolver.model.PackedMazeGrid;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Maze builders and assertions shared by the resolver tests.
+ *
+ * @author derek
+ */
+final class ResolveAssertions {
+
+    /**
+     * Static helpers only.
+     */
+    private ResolveAssertions() {
+    }
+
+    /**
+     * Generate a maze with the default generator.
+     *
+     * @param size Maze size.
+     * @param seed Maze seed.
+     * @return Generated maze.
+     */
+    static Maze generate(final int size, final long seed) {
+        final Maze output = new Maze(size, seed);
+        new MazeGenerator(output);
+        return output;
+    }
+
+    /**
+     * Open random walls, adding loops to a maze.
+     *
+     * @param maze Maze to change.
+     * @param random Random source.
+     * @param share Openings tried per cell.
+     */
+    static void braid(final Maze maze, final SplittableRandom random, final double share) {
+        final MazeGrid grid = maze.getMazeGrid();
+        final int size = maze.getMazeSize();
+        for (int i = 0; i < size * size * share; i++) {
+            final int x = random.nextInt(size);
+            final int y = random.nextInt(size);
+            if (!grid.isOpen(x, y)) {
+                grid.set(x, y, Maze.PATH);
+            }
+        }
+    }
+
+    /**
+     * Add exits at random cells on the maze border.
+     *
+     * @param maze Generated maze.
+     * @param random Random source.
+     * @param count Exits to try, a cell already an exit is not added twice.
+     */
+    static void addBorderExits(final Maze maze, final SplittableRandom random, final int count) {
+        final int size = maze.getMazeSize();
+        for (int i = 0; i < count; i++) {
+            final int along = random.nextInt(size);
+            final int edge = random.nextBoolean() ? 0 : size - 1;
+            maze.addExit(random.nextBoolean() ? new Point(along, edge) : new Point(edge, along));
+        }
+    }
+
+    /**
+     * Build a maze with every cell open, the widest frontiers a search can meet.
+     *
+     * @param size Maze size.
+     * @param exits Exits, the first being the maze exit.
+     * @return Open maze.
+     */
+    static Maze openGrid(final int size, final List<Point> exits) {
+        final MazeGrid grid = new PackedMazeGrid(size);
+        for (int cell = 0; cell < size * size; cell++) {
+            grid.set(cell, Maze.PATH);
+        }
+        final Maze output = new Maze(grid, 0L, new Point(0, 0), exits.get(0));
+        for (Point exit : exits) {
+            grid.set(exit.x(), exit.y(), Maze.EXIT);
+            output.addExit(exit);
+        }
+        return output;
+    }
+
+    /**
+     * Resolve a maze with a new resolver.
+     *
+     * @param maze Maze to resolve.
+     * @param mode Search mode.
+     * @return Resolved resolver.
+     */
+    static MazeResolver resolve(final Maze maze, final MazeResolver.Mode mode) {
+        final MazeResolver output = new MazeResolver(maze, mode);
+        output.resolveMaze();
+        return output;
+    }
+
+    /**
+     * Assert two resolves of the same maze give the same distance for every cell and visit as many cells.
+     *
+     * @param expected Reference resolve.
+     * @param actual Resolve under test.
+     * @param context Failure message prefix.
+     */
+    static void assertSameDistances(final MazeResolver expected, final MazeResolver actual, final String context) {
+        final int cells = expected.getMazeSize() * expected.getMazeSize();
+        for (int cell = 0; cell < cells; cell++) {
+            assertEquals(expected.getDistance(cell), actual.getDistance(cell), context + " cell " + cell);
+        }
+        assertEquals(expected.getVisitedCount(), actual.getVisitedCount(), context + " visited");
+    }
+
+    /**
+     * Assert every cell's exit ID names a nearest exit, checked against a separate resolve from each exit alone.
+     *
+     * <p>Exits tied for nearest may be labelled either way, so the label is
+     * checked by its distance rather than compared with another mode.</p>
+     *
+     * @param maze Resolved maze.
+     * @param actual Resolve under test.
+     * @param context Failure message prefix.
+     */
+    static void assertNearestExitIds(final Maze maze, final MazeResolver actual, final String context) {
+        final List<Point> exits = maze.getExits();
+        final MazeResolver[] single = new MazeResolver[exits.size()];
+        for (int id = 0; id < single.length; id++) {
+            single[id] = resolve(new Maze(maze.getMazeGrid(), maze.getSeed(), maze.getStart(), exits.get(id)),
+                    MazeResolver.Mode.BFS);
+        }
+        final int size = maze.getMazeSize();
+        int nearest;
+        int id;
+        for (int cell = 0; cell < size * size; cell++) {
+            nearest = -1;
+            for (MazeResolver resolver : single) {
+                final int d = resolver.getDistance(cell);
+                if (d >= 0 && (nearest < 0 || d < nearest)) {
+                    nearest = d;
+                }
+            }
+            assertEquals(nearest, actual.getDistance(cell), context + " distance of cell " + cell);
+            id = actual.getExitId(cell);
+            final Point p = new Point(cell % size, cell / size);
+            if (nearest < 0) {
+                assertEquals(-1, id, context + " exit ID of unreachable cell " + cell);
+                assertNull(actual.getNearestExit(p), context + " nearest exit of unreachable cell " + cell);
+            } else {
+                assertEquals(nearest, single[id].getDistance(cell), context + " exit ID " + id + " of cell " + cell);
+                assertEquals(exits.get(id), actual.getNearestExit(p), context + " nearest exit of cell " + cell);
+            }
+        }
+    }
+
+    /**
+     * Assert every reached cell shares its exit ID with a neighbour one step closer, and every exit has its own.
+     *
+     * <p>Shows each label names a nearest exit without resolving from each
+     * exit, for mazes with too many exits to do so.</p>
+     *
+     * @param actual Resolve under test.
+     * @param context Failure message prefix.
+     */
+    static void assertExitIdsFollowDistances(final MazeResolver actual, final String context) {
+        final int size = actual.getMazeSize();
+        int distance;
+        int id;
+        boolean followed;
+        for (int cell = 0; cell < size * size; cell++) {
+            distance = actual.getDistance(cell);
+            id = actual.getExitId(cell);
+            if (distance < 0) {
+                assertEquals(-1, id, context + " exit ID of unreachable cell " + cell);
+            } else if (distance > 0) {
+                final int x = cell % size;
+                final int y = cell / size;
+                final int[] neighbours = {y > 0 ? cell - size : -1, y < size - 1 ? cell + size : -1,
+                    x > 0 ? cell - 1 : -1, x < size - 1 ? cell + 1 : -1};
+                followed = false;
+                for (int neighbour : neighbours) {
+                    followed |= neighbour >= 0 && actual.getDistance(neighbour) == distance - 1
+                            && actual.getExitId(neighbour) == id;
+                }
+                assertTrue(followed, context + " exit ID " + id + " of cell " + cell);
+            }
+        }
+    }
+}
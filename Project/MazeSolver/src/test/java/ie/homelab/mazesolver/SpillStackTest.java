@@ -0,0 +1,111 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link SpillStack}, across spills to and refills from its file.
+ *
+ * @author derek
+ */
+class SpillStackTest {
+
+    /**
+     * Values held in memory, small so a few hundred values spill several times.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * Temporary directory for the spill file.
+     */
+    @TempDir
+    private Path directory;
+
+    /**
+     * Values pushed past several spills pop back in reverse order, and the spill file is deleted on close.
+     *
+     * @throws IOException if spilling fails.
+     */
+    @Test
+    void popsInReverseAcrossSpillsAndDeletesFile() throws IOException {
+        final int count = CAPACITY * 7 + 3;
+        try (SpillStack stack = new SpillStack(directory, CAPACITY)) {
+            assertTrue(stack.isEmpty());
+            for (int i = 0; i < count; i++) {
+                stack.push(i);
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                assertFalse(stack.isEmpty());
+                assertEquals(i, stack.peek());
+                assertEquals(i, stack.pop());
+            }
+            assertTrue(stack.isEmpty());
+            assertThrows(IllegalStateException.class, stack::pop);
+        }
+        assertEquals(0, countFiles());
+    }
+
+    /**
+     * Pushes after popping into spilled values are popped first, then the spilled values beneath them.
+     *
+     * @throws IOException if spilling fails.
+     */
+    @Test
+    void interleavedPushAndPopKeepsOrder() throws IOException {
+        try (SpillStack stack = new SpillStack(directory, CAPACITY)) {
+            for (int i = 0; i < CAPACITY * 3; i++) {
+                stack.push(i);
+            }
+            for (int i = CAPACITY * 3 - 1; i >= CAPACITY; i--) {
+                assertEquals(i, stack.pop());
+            }
+            stack.push(-1);
+            stack.push(-2);
+            assertEquals(-2, stack.pop());
+            assertEquals(-1, stack.pop());
+            for (int i = CAPACITY - 1; i >= 0; i--) {
+                assertEquals(i, stack.pop());
+            }
+            assertTrue(stack.isEmpty());
+        }
+        assertEquals(0, countFiles());
+    }
+
+    /**
+     * Count the files in the temporary directory.
+     *
+     * @return Number of files.
+     * @throws IOException if the directory cannot be listed.
+     */
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
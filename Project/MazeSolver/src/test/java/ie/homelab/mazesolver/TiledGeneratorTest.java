@@ -0,0 +1,133 @@
+package ie.homelab.mazesolver;
+
+/*
+ * Copyright (C) 2025 Derek Fitzsimons
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ie.homelab.mazesolver.model.Maze;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TiledGenerator} through {@link MazeGenerator.Mode#TILED}.
+ *
+ * <p>A tile spans 128 lattice cells, about 256 maze cells, so the sizes
+ * include single tiles, exact and ragged multiples, and several tiles each
+ * way.</p>
+ *
+ * @author derek
+ */
+class TiledGeneratorTest {
+
+    /**
+     * Maze sizes generated, around one and several tiles.
+     */
+    private static final int[] SIZES = {1, 2, 3, 4, 5, 127, 128, 255, 256, 257, 258, 300, 513, 700};
+    /**
+     * Seeds generated for each size.
+     */
+    private static final long[] SEEDS = {12L, 1212L};
+
+    /**
+     * Single worker pool.
+     */
+    private static ForkJoinPool single;
+    /**
+     * Four worker pool.
+     */
+    private static ForkJoinPool quad;
+
+    /**
+     * Create the pools.
+     */
+    @BeforeAll
+    static void createPools() {
+        single = new ForkJoinPool(1);
+        quad = new ForkJoinPool(4);
+    }
+
+    /**
+     * Shut the pools down.
+     */
+    @AfterAll
+    static void shutDownPools() {
+        single.shutdown();
+        quad.shutdown();
+    }
+
+    /**
+     * Every size gives a perfect maze, with every open cell reachable from the exit.
+     */
+    @Test
+    void generatesPerfectMazes() {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                final Maze maze = generate(size, seed, quad);
+                assertTrue(MazeValidator.isFullyConnected(maze), "size " + size + " seed " + seed + " connected");
+                assertTrue(MazeValidator.isPerfect(maze), "size " + size + " seed " + seed + " perfect");
+            }
+        }
+    }
+
+    /**
+     * A size and seed give the same maze whatever the number of workers, and on the common pool.
+     */
+    @Test
+    void sameSeedSameMazeOnAnyPool() {
+        for (int size : SIZES) {
+            for (long seed : SEEDS) {
+                final Maze expected = generate(size, seed, single);
+                final String context = "size " + size + " seed " + seed;
+                assertEquals(expected, generate(size, seed, quad), context + " on four workers");
+                final Maze common = new Maze(size, seed);
+                new MazeGenerator(common, MazeGenerator.Mode.TILED);
+                assertEquals(expected, common, context + " on the common pool");
+                assertEquals(expected.getStart(), common.getStart(), context + " start");
+                assertEquals(expected.getExit(), common.getExit(), context + " exit");
+            }
+        }
+    }
+
+    /**
+     * Different seeds give different mazes once there is room for a choice.
+     */
+    @Test
+    void differentSeedsDifferentMazes() {
+        for (int size : new int[] {31, 300}) {
+            assertNotEquals(generate(size, SEEDS[0], quad), generate(size, SEEDS[1], quad), "size " + size);
+        }
+    }
+
+    /**
+     * Generate a maze in TILED mode on a pool.
+     *
+     * @param size Maze size.
+     * @param seed Maze seed.
+     * @param pool Worker pool.
+     * @return Generated maze.
+     */
+    private static Maze generate(final int size, final long seed, final ForkJoinPool pool) {
+        final Maze output = new Maze(size, seed);
+        new MazeGenerator(output, pool);
+        return output;
+    }
+}